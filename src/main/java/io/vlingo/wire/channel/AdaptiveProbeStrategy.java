@@ -0,0 +1,132 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code ProbeStrategy} that probes again at once while probes find
+ * activity, and for {@code spinProbes} idle probes after the last that
+ * did, and then waits between probes, starting at {@code minDelay} and
+ * doubling after each idle probe up to {@code maxDelay}. The first probe
+ * that finds activity returns to probing at once.
+ * <p>
+ * My state is written only by my prober, and my metrics may be read from
+ * any thread.
+ */
+public class AdaptiveProbeStrategy implements ProbeStrategy {
+  private static final long RateWindow = TimeUnit.SECONDS.toNanos(1);
+
+  private volatile long activeProbes;
+  private volatile long currentDelay;
+  private final List<AdaptiveProbeStrategy> derived;
+  private volatile long idleProbes;
+  private final long maxDelay;
+  private final long minDelay;
+  private final String name;
+  private volatile long parkedProbes;
+  private volatile long probes;
+  private volatile long probesPerSecond;
+  private volatile long spunProbes;
+  private final int spinProbes;
+  private long windowProbes;
+  private long windowStart;
+
+  /**
+   * Constructs my state.
+   * @param spinProbes the int number of idle probes that are still followed at once by another
+   * @param minDelay the long milliseconds of the first delay after spinning
+   * @param maxDelay the long milliseconds of the longest delay
+   * @throws IllegalArgumentException when a setting is out of range
+   */
+  public AdaptiveProbeStrategy(final int spinProbes, final long minDelay, final long maxDelay) {
+    this("adaptive", spinProbes, minDelay, maxDelay);
+  }
+
+  @Override
+  public ProbeStrategy forProber(final String name) {
+    final AdaptiveProbeStrategy strategy = new AdaptiveProbeStrategy(name, spinProbes, minDelay, maxDelay);
+    derived.add(strategy);
+    return strategy;
+  }
+
+  @Override
+  public List<ProbeMetrics> metrics() {
+    final List<ProbeMetrics> metrics = new ArrayList<>(derived.size() + 1);
+    if (probes > 0) {
+      metrics.add(snapshot());
+    }
+    for (final AdaptiveProbeStrategy strategy : derived) {
+      metrics.addAll(strategy.metrics());
+    }
+    return metrics;
+  }
+
+  @Override
+  public long nextProbeDelay(final boolean active) {
+    ++probes;
+    measureRate();
+
+    if (active) {
+      ++activeProbes;
+      idleProbes = 0;
+      currentDelay = 0;
+    } else if (++idleProbes > spinProbes) {
+      currentDelay = currentDelay == 0 ? minDelay : Math.min(currentDelay * 2, maxDelay);
+    }
+
+    if (currentDelay == 0) {
+      ++spunProbes;
+    } else {
+      ++parkedProbes;
+    }
+
+    return currentDelay;
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private AdaptiveProbeStrategy(final String name, final int spinProbes, final long minDelay, final long maxDelay) {
+    if (spinProbes < 0) {
+      throw new IllegalArgumentException("The number of spin probes must not be negative.");
+    }
+
+    if (minDelay <= 0 || maxDelay < minDelay) {
+      throw new IllegalArgumentException("The delays must be positive and the maximum at least the minimum.");
+    }
+
+    this.name = name;
+    this.spinProbes = spinProbes;
+    this.minDelay = minDelay;
+    this.maxDelay = maxDelay;
+    this.derived = new CopyOnWriteArrayList<>();
+    this.windowStart = System.nanoTime();
+  }
+
+  private void measureRate() {
+    ++windowProbes;
+
+    final long now = System.nanoTime();
+    final long elapsed = now - windowStart;
+
+    if (elapsed >= RateWindow) {
+      probesPerSecond = windowProbes * RateWindow / elapsed;
+      windowProbes = 0;
+      windowStart = now;
+    }
+  }
+
+  private ProbeMetrics snapshot() {
+    return new ProbeMetrics(name, probes, activeProbes, spunProbes, parkedProbes, idleProbes, currentDelay, probesPerSecond);
+  }
+}
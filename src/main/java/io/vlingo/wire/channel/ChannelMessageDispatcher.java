@@ -7,9 +7,12 @@
 
 package io.vlingo.wire.channel;
 
+import java.util.List;
+
 import io.vlingo.actors.Logger;
 import io.vlingo.wire.message.RawMessage;
 import io.vlingo.wire.message.RawMessageBuilder;
+import io.vlingo.wire.message.RawMessageView;
 
 public interface ChannelMessageDispatcher {
   ChannelReaderConsumer consumer();
@@ -21,12 +24,75 @@ public interface ChannelMessageDispatcher {
       return;
     }
 
-    builder.prepareContent().sync();
+    builder.prepareContent();
+
+    while (true) {
+      final List<RawMessageView> views = builder.nextViews();
+
+      // whole messages are delivered in batches between any fragments,
+      // messages with invalid checksums are dropped from the batch, and
+      // sequence gaps and reorderings are logged but delivered
+      int first = 0;
+      for (int index = 0; index < views.size(); ) {
+        final RawMessageView view = views.get(index);
+
+        if (!view.isChecksumValid()) {
+          logger().error("Dropped message with invalid checksum for: '" + name() + "': " + view);
+          views.remove(index);
+          continue;
+        }
+
+        if (view.isSequenced()) {
+          followSequence(builder, view.sequence());
+        }
+
+        if (!view.isFragment()) {
+          ++index;
+        } else {
+          dispatchViews(views.subList(first, index));
+          try {
+            final RawMessage reassembled = builder.reassembler().reassemble(view);
+            if (reassembled != null) {
+              consumer().consume(reassembled);
+            }
+          } catch (Exception e) {
+            logger().error("Cannot dispatch message for: '" + name() + "'", e);
+          }
+          first = ++index;
+        }
+      }
+
+      dispatchViews(views.subList(first, views.size()));
+
+      // any partial message is completed by the next read in place
+      if (builder.slide()) {
+        return;
+      }
+
+      // the next message does not fit the work buffer
+      builder.sync();
+
+      if (!builder.isCurrentMessageComplete()) {
+        return;
+      }
 
-    while (builder.isCurrentMessageComplete()) {
       try {
         final RawMessage message = builder.currentRawMessage();
-        consumer().consume(message);
+        if (!message.isChecksumValid()) {
+          logger().error("Dropped message with invalid checksum for: '" + name() + "': " + message);
+        } else {
+          if (message.header().isSequenced()) {
+            followSequence(builder, message.header().sequence());
+          }
+          if (message.header().isFragment()) {
+            final RawMessage reassembled = builder.reassembler().reassemble(message);
+            if (reassembled != null) {
+              consumer().consume(reassembled);
+            }
+          } else {
+            consumer().consume(builder.currentDecompressedMessage());
+          }
+        }
       } catch (Exception e) {
         // TODO: deal with this
         logger().error("Cannot dispatch message for: '" + name() + "'", e);
@@ -34,9 +100,30 @@ public interface ChannelMessageDispatcher {
 
       builder.prepareForNextMessage();
 
-      if (builder.hasContent()) {
-        builder.sync();
+      if (!builder.hasContent()) {
+        return;
+      }
+    }
+  }
+
+  default void followSequence(final RawMessageBuilder builder, final int sequence) {
+    final int skipped = builder.followSequence(sequence);
+    if (skipped > 0) {
+      logger().warn("Missed " + skipped + " message(s) before sequence " + sequence + " for: '" + name() + "'");
+    } else if (skipped < 0) {
+      logger().warn("Received message out of order with sequence " + sequence + " for: '" + name() + "'");
+    }
+  }
+
+  default void dispatchViews(final List<RawMessageView> views) {
+    try {
+      if (views.size() == 1) {
+        consumer().consume(views.get(0));
+      } else if (views.size() > 1) {
+        consumer().consumeAll(views);
       }
+    } catch (Exception e) {
+      logger().error("Cannot dispatch message for: '" + name() + "'", e);
     }
   }
 }
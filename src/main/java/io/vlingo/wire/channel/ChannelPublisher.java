@@ -12,6 +12,19 @@ import io.vlingo.wire.message.RawMessage;
 public interface ChannelPublisher {
   void close();
   void processChannel();
+
+  /**
+   * Answers whether my channels are selected by a {@code SelectorEventLoop}
+   * of my own, which runs {@code processRequester} whenever they are ready,
+   * and which must cause {@code processChannel()} to be called; or
+   * {@code false} when I do not select my channels.
+   * @param processRequester the Runnable that requests processChannel()
+   * @return boolean
+   */
+  default boolean processWhenReady(final Runnable processRequester) {
+    return false;
+  }
+
   void sendAvailability();
   void send(final RawMessage message);
 }
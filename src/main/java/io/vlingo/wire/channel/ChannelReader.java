@@ -14,4 +14,16 @@ public interface ChannelReader {
   String name();
   void openFor(final ChannelReaderConsumer consumer) throws IOException;
   void probeChannel();
+
+  /**
+   * Answers whether my channel is selected by a {@code SelectorEventLoop}
+   * of my own once opened, which runs {@code probeRequester} whenever it is
+   * ready, and which must cause {@code probeChannel()} to be called; or
+   * {@code false} when I do not select my channel.
+   * @param probeRequester the Runnable that requests probeChannel()
+   * @return boolean
+   */
+  default boolean probeWhenReady(final Runnable probeRequester) {
+    return false;
+  }
 }
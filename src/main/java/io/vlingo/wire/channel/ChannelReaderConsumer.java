@@ -7,8 +7,33 @@
 
 package io.vlingo.wire.channel;
 
+import java.util.List;
+
 import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageView;
 
 public interface ChannelReaderConsumer {
   void consume(final RawMessage message);
+
+  /**
+   * Consumes a message that is viewed in place in the receive buffer, which
+   * is valid only for the duration of this call. By default the view is
+   * copied and consumed as a {@code RawMessage}.
+   * @param view the RawMessageView to consume
+   */
+  default void consume(final RawMessageView view) {
+    consume(view.toRawMessage());
+  }
+
+  /**
+   * Consumes every whole message of one read as a batch of views that are
+   * valid only for the duration of this call. By default each view is
+   * consumed in turn.
+   * @param views the List of RawMessageView to consume, which must not be kept
+   */
+  default void consumeAll(final List<RawMessageView> views) {
+    for (final RawMessageView view : views) {
+      consume(view);
+    }
+  }
 }
@@ -7,6 +7,8 @@
 
 package io.vlingo.wire.channel;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 import io.vlingo.actors.Actor;
@@ -14,6 +16,7 @@ import io.vlingo.actors.DeadLetter;
 import io.vlingo.actors.LocalMessage;
 import io.vlingo.actors.Mailbox;
 import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageView;
 
 public class ChannelReaderConsumer__Proxy implements ChannelReaderConsumer {
   private final Actor actor;
@@ -33,4 +36,18 @@ public class ChannelReaderConsumer__Proxy implements ChannelReaderConsumer {
       actor.deadLetters().failedDelivery(new DeadLetter(actor, "consume(RawMessage)"));
     }
   }
+
+  @Override
+  public void consumeAll(final List<RawMessageView> views) {
+    if (!actor.isStopped()) {
+      final List<RawMessage> messages = new ArrayList<>(views.size());
+      for (final RawMessageView view : views) {
+        messages.add(view.toRawMessage());
+      }
+      final Consumer<ChannelReaderConsumer> consumer = (actor) -> { for (final RawMessage message : messages) actor.consume(message); };
+      mailbox.send(new LocalMessage<ChannelReaderConsumer>(actor, ChannelReaderConsumer.class, consumer, "consumeAll(List<RawMessageView>)"));
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, "consumeAll(List<RawMessageView>)"));
+    }
+  }
 }
@@ -0,0 +1,202 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.channel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import io.vlingo.wire.message.ConsumerByteBuffer;
+
+/**
+ * A bounded backlog of the bytes still to be written to one non-blocking
+ * channel. My {@code write(channel)} writes as much of me as the channel
+ * accepts without blocking and keeps the remainder, which is to be written
+ * when the channel is next writable, rather than spinning until the peer
+ * reads it. A backlog that would grow beyond my {@code maxSize()} refuses
+ * more bytes, which detects a peer that reads too slowly.
+ * <p>
+ * I am not thread-safe, and am used by the owner of my channel only.
+ */
+public class OutboundBacklog {
+  public static final long Unbounded = Long.MAX_VALUE;
+
+  private final Queue<Entry> entries;
+  private ByteBuffer[] gathered;   // reused by each write, grown to the number of views
+  private final long maxSize;
+  private long size;
+  private int viewCount;
+
+  /**
+   * Constructs my default state.
+   * @param maxSize the long maximum number of bytes I hold, or Unbounded
+   * @throws IllegalArgumentException when maxSize is not positive
+   */
+  public OutboundBacklog(final long maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("The maximum backlog size must be positive.");
+    }
+
+    this.maxSize = maxSize;
+    this.entries = new LinkedList<>();
+    this.gathered = new ByteBuffer[16];
+  }
+
+  /**
+   * Answers whether the remaining bytes of {@code buffer} were added to me,
+   * after which I release it once written, or when cleared. A {@code buffer}
+   * without remaining bytes is released at once. When adding it would exceed
+   * my {@code maxSize()}, {@code buffer} is neither added nor released.
+   * @param buffer the ConsumerByteBuffer to write
+   * @return boolean
+   */
+  public boolean add(final ConsumerByteBuffer buffer) {
+    final int remaining = buffer.remaining();
+
+    if (remaining > maxSize - size) return false;
+
+    if (remaining == 0) {
+      buffer.release();
+      return true;
+    }
+
+    add(new Entry(buffer, buffer.asByteBuffers()));
+    size += remaining;
+
+    return true;
+  }
+
+  /**
+   * Answers whether the remaining bytes of {@code buffer} were added to me,
+   * as a copy, so that {@code buffer} may be reused once I answer. When
+   * adding them would exceed my {@code maxSize()}, nothing is added.
+   * @param buffer the ByteBuffer to write
+   * @return boolean
+   */
+  public boolean add(final ByteBuffer buffer) {
+    final int remaining = buffer.remaining();
+
+    if (remaining > maxSize - size) return false;
+
+    if (remaining == 0) return true;
+
+    final ByteBuffer copy = ByteBuffer.allocate(remaining);
+    copy.put(buffer).flip();
+
+    add(new Entry(null, new ByteBuffer[] { copy }));
+    size += remaining;
+
+    return true;
+  }
+
+  /**
+   * Releases all my buffers without writing them.
+   */
+  public void clear() {
+    for (Entry entry = entries.poll(); entry != null; entry = entries.poll()) {
+      entry.release();
+    }
+    size = 0;
+    viewCount = 0;
+  }
+
+  public boolean hasRemaining() {
+    return size > 0;
+  }
+
+  public long maxSize() {
+    return maxSize;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Answers the number of my bytes written to {@code channel} by gathering
+   * writes of all my buffers, until all are written or {@code channel}
+   * accepts no more without blocking. Each buffer written in full is
+   * released, and the remainder is kept for the next write.
+   * @param channel the GatheringByteChannel to write to
+   * @return long
+   * @throws IOException when the write fails
+   */
+  public long write(final GatheringByteChannel channel) throws IOException {
+    if (size == 0) return 0;
+
+    if (gathered.length < viewCount) {
+      gathered = new ByteBuffer[Math.max(viewCount, gathered.length * 2)];
+    }
+
+    final int gatheredCount = viewCount;
+    int index = 0;
+    for (final Entry entry : entries) {
+      for (final ByteBuffer view : entry.views) {
+        gathered[index++] = view;
+      }
+    }
+
+    long totalBytesWritten = 0;
+
+    try {
+      long bytesWritten;
+      do {
+        bytesWritten = channel.write(gathered, 0, gatheredCount);
+        totalBytesWritten += bytesWritten;
+      } while (bytesWritten > 0 && totalBytesWritten < size);
+    } finally {
+      // the views of released buffers must not be held until the next write
+      Arrays.fill(gathered, 0, gatheredCount, null);
+
+      size -= totalBytesWritten;
+
+      while (!entries.isEmpty() && entries.peek().isWritten()) {
+        final Entry entry = entries.poll();
+        viewCount -= entry.views.length;
+        entry.release();
+      }
+    }
+
+    return totalBytesWritten;
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private void add(final Entry entry) {
+    entries.add(entry);
+    viewCount += entry.views.length;
+  }
+
+  private static final class Entry {
+    private final ConsumerByteBuffer buffer;
+    private final ByteBuffer[] views;
+
+    Entry(final ConsumerByteBuffer buffer, final ByteBuffer[] views) {
+      this.buffer = buffer;
+      this.views = views;
+    }
+
+    boolean isWritten() {
+      for (final ByteBuffer view : views) {
+        if (view.hasRemaining()) return false;
+      }
+      return true;
+    }
+
+    void release() {
+      if (buffer != null) {
+        buffer.release();
+      }
+    }
+  }
+}
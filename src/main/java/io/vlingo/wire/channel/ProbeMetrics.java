@@ -0,0 +1,59 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.channel;
+
+/**
+ * A snapshot of the probes of one prober of a {@code ProbeStrategy}.
+ */
+public final class ProbeMetrics {
+  public final long activeProbes;
+  public final long currentDelay;
+  public final long idleProbes;
+  public final String name;
+  public final long parkedProbes;
+  public final long probes;
+  public final long probesPerSecond;
+  public final long spunProbes;
+
+  /**
+   * Constructs my state.
+   * @param name the String name of the prober
+   * @param probes the long number of probes
+   * @param activeProbes the long number of probes that found activity
+   * @param spunProbes the long number of probes followed at once by another
+   * @param parkedProbes the long number of probes followed by a delay
+   * @param idleProbes the long number of probes without activity since the last with it
+   * @param currentDelay the long milliseconds of the current delay between probes
+   * @param probesPerSecond the long rate of probes during the last second measured
+   */
+  public ProbeMetrics(
+          final String name,
+          final long probes,
+          final long activeProbes,
+          final long spunProbes,
+          final long parkedProbes,
+          final long idleProbes,
+          final long currentDelay,
+          final long probesPerSecond) {
+    this.name = name;
+    this.probes = probes;
+    this.activeProbes = activeProbes;
+    this.spunProbes = spunProbes;
+    this.parkedProbes = parkedProbes;
+    this.idleProbes = idleProbes;
+    this.currentDelay = currentDelay;
+    this.probesPerSecond = probesPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "ProbeMetrics[name=" + name + " probes=" + probes + " active=" + activeProbes +
+            " spun=" + spunProbes + " parked=" + parkedProbes + " idle=" + idleProbes +
+            " delay=" + currentDelay + " rate=" + probesPerSecond + "]";
+  }
+}
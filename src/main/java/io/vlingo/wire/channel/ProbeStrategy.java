@@ -0,0 +1,66 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.channel;
+
+import java.util.List;
+
+import io.vlingo.common.Cancellable;
+import io.vlingo.common.Scheduled;
+import io.vlingo.common.Scheduler;
+
+/**
+ * Decides when a channel is probed next, after each probe, rather than on
+ * a fixed interval. Each prober, such as an actor that calls
+ * {@code probeChannel()}, uses a strategy of its own answered by
+ * {@code forProber(name)}, as a strategy holds the state of its prober.
+ */
+public interface ProbeStrategy {
+  /**
+   * Answers a new strategy of my kind and settings, with state of its own,
+   * for the prober named {@code name}, whose metrics I answer with my own.
+   * @param name the String name of the prober
+   * @return ProbeStrategy
+   */
+  ProbeStrategy forProber(final String name);
+
+  /**
+   * Answers the metrics of my probes and of those of the strategies
+   * answered by my {@code forProber(name)}.
+   * @return {@code List<ProbeMetrics>}
+   */
+  List<ProbeMetrics> metrics();
+
+  /**
+   * Answers the milliseconds to wait before the next probe, where zero
+   * probes again at once, given whether the last probe found any activity.
+   * @param active the boolean indicating whether the last probe found activity
+   * @return long
+   */
+  long nextProbeDelay(final boolean active);
+
+  /**
+   * Signals {@code probe} after {@code nextProbeDelay(active)}, which is
+   * immediately through its mailbox when zero, answering the
+   * {@code Cancellable} of the scheduled signal, or {@code null} when none
+   * was scheduled.
+   * @param scheduler the Scheduler of the delayed signals
+   * @param probe the {@code Scheduled<Object>} to signal
+   * @param active the boolean indicating whether the last probe found activity
+   * @return Cancellable
+   */
+  default Cancellable scheduleNextProbe(final Scheduler scheduler, final Scheduled<Object> probe, final boolean active) {
+    final long delay = nextProbeDelay(active);
+
+    if (delay <= 0) {
+      probe.intervalSignal(null, null);
+      return null;
+    }
+
+    return scheduler.scheduleOnce(probe, null, 0, delay);
+  }
+}
@@ -0,0 +1,128 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.channel;
+
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.Selector;
+import java.util.concurrent.locks.LockSupport;
+
+import io.vlingo.actors.Logger;
+
+/**
+ * Blocks a thread of my own in {@code select()} of a {@code Selector} until
+ * any of its channels is ready, or I am woken up, and then hands the
+ * readiness to the owner of the channels by running its {@code probe}. The
+ * probe is expected to process the selected keys on the owner's thread,
+ * such as by sending a message to its actor, and to {@code resume()} me when
+ * done. I do not select again until resumed, so the selected keys are never
+ * processed on two threads at once. Work queued by the owner that changes
+ * the interest of its channels, such as a response to write or a newly
+ * accepted channel, must {@code wakeup()} me for it to be selected.
+ * <p>
+ * Channels are event-driven by me when their owner is given a probe
+ * interval of {@code EventDriven}, or less, rather than probed on that
+ * interval with {@code selectNow()}.
+ */
+public class SelectorEventLoop {
+  public static final long EventDriven = 0;
+
+  private volatile boolean closed;
+  private final Logger logger;
+  private final String name;
+  private final Runnable probe;
+  private volatile boolean probing;
+  private final Selector selector;
+  private final Thread thread;
+
+  /**
+   * Answers whether {@code probeInterval} requests that channels be
+   * event-driven rather than probed on an interval.
+   * @param probeInterval the long interval at which channels would be probed
+   * @return boolean
+   */
+  public static boolean isEventDriven(final long probeInterval) {
+    return probeInterval <= EventDriven;
+  }
+
+  public SelectorEventLoop(final String name, final Selector selector, final Runnable probe, final Logger logger) {
+    this.name = name;
+    this.selector = selector;
+    this.probe = probe;
+    this.logger = logger;
+    this.thread = new Thread(this::run, name + "-selector");
+    this.thread.setDaemon(true);
+  }
+
+  public void close() {
+    if (closed) return;
+
+    closed = true;
+
+    selector.wakeup();
+    LockSupport.unpark(thread);
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Resumes selecting once the probe has processed the selected keys.
+   */
+  public void resume() {
+    probing = false;
+    LockSupport.unpark(thread);
+  }
+
+  public SelectorEventLoop start() {
+    thread.start();
+    return this;
+  }
+
+  /**
+   * Ends a {@code select()} in progress, or the next one when none is, so
+   * that work queued by the owner of the channels is selected.
+   */
+  public void wakeup() {
+    selector.wakeup();
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private void run() {
+    while (!closed) {
+      try {
+        selector.select();
+      } catch (ClosedSelectorException e) {
+        break;
+      } catch (Exception e) {
+        logger.error("Failed to select channels for: '" + name + "' because: " + e.getMessage(), e);
+        break;
+      }
+
+      if (closed) break;
+
+      probing = true;
+
+      try {
+        probe.run();
+      } catch (Exception e) {
+        logger.error("Failed to probe channels for: '" + name + "' because: " + e.getMessage(), e);
+        break;
+      }
+
+      while (probing && !closed) {
+        LockSupport.park(this);
+      }
+    }
+
+    closed = true;
+  }
+}
@@ -13,6 +13,7 @@ import io.vlingo.actors.Stoppable;
 import io.vlingo.common.Cancellable;
 import io.vlingo.common.Scheduled;
 import io.vlingo.wire.message.BasicConsumerByteBuffer;
+import io.vlingo.wire.message.ByteBufferPool;
 import io.vlingo.wire.message.ConsumerByteBuffer;
 
 import java.io.IOException;
@@ -21,39 +22,151 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.List;
 
 public class SocketChannelSelectionProcessorActor extends Actor
     implements SocketChannelSelectionProcessor, ResponseSenderChannel, Scheduled<Object>, Stoppable {
 
+  private static final Object ReadBufferReleased = new Object();
+  private static final long ReadBufferWaitTimeout = 1000L;
+
+  private boolean awaitingReadBuffer;
   private int bufferId;
-  private final Cancellable cancellable;
+  private Cancellable cancellable;
   private int contextId;
+  private final SelectorEventLoop eventLoop;
+  private final long maxBacklogSize;
   private final int messageBufferSize;
   //private final int maxBufferPoolSize;
   private final String name;
+  private final List<SelectionKey> parkedReaders;
+  private final Scheduled<Object> probe;
+  private final ProbeStrategy probeStrategy;
   private final RequestChannelConsumerProvider provider;
+  private final ByteBufferPool readBufferPool;
   private final ResponseSenderChannel responder;
   private final Selector selector;
 
-  @SuppressWarnings("unchecked")
+  /**
+   * Constructs my default state, where my channels are probed every
+   * {@code probeInterval}, or are event-driven by a {@code SelectorEventLoop}
+   * when {@code probeInterval} is {@code SelectorEventLoop.EventDriven}.
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param name the String name of this processor
+   * @param maxBufferPoolSize the int maximum number of buffers of the pool
+   * @param messageBufferSize the int size of each request buffer
+   * @param probeInterval the long interval at which my channels are probed, or EventDriven
+   */
   public SocketChannelSelectionProcessorActor(
           final RequestChannelConsumerProvider provider,
           final String name,
           final int maxBufferPoolSize,
           final int messageBufferSize,
           final long probeInterval) {
+    this(provider, name, maxBufferPoolSize, messageBufferSize, probeInterval, null);
+  }
+
+  /**
+   * Constructs my default state, where my channels are probed when
+   * {@code probeStrategy} decides after each probe, or as given by
+   * {@code probeInterval} when it is {@code null}.
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param name the String name of this processor
+   * @param maxBufferPoolSize the int maximum number of buffers of the pool
+   * @param messageBufferSize the int size of each request buffer
+   * @param probeInterval the long interval at which my channels are probed, or EventDriven
+   * @param probeStrategy the ProbeStrategy of this processor, or null
+   */
+  public SocketChannelSelectionProcessorActor(
+          final RequestChannelConsumerProvider provider,
+          final String name,
+          final int maxBufferPoolSize,
+          final int messageBufferSize,
+          final long probeInterval,
+          final ProbeStrategy probeStrategy) {
+    this(provider, name, maxBufferPoolSize, messageBufferSize, probeInterval, probeStrategy, OutboundBacklog.Unbounded);
+  }
+
+  /**
+   * Constructs my default state, where my channels are probed as given by
+   * {@code probeStrategy} or {@code probeInterval}, and where responses that
+   * a client channel does not accept at once are kept in an
+   * {@code OutboundBacklog} of the channel until it is writable again. A
+   * client channel whose backlog would exceed {@code maxBacklogSize} is
+   * reading too slowly, and is closed.
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param name the String name of this processor
+   * @param maxBufferPoolSize the int maximum number of buffers of the pool
+   * @param messageBufferSize the int size of each request buffer
+   * @param probeInterval the long interval at which my channels are probed, or EventDriven
+   * @param probeStrategy the ProbeStrategy of this processor, or null
+   * @param maxBacklogSize the long maximum number of response bytes kept for each client channel
+   */
+  public SocketChannelSelectionProcessorActor(
+          final RequestChannelConsumerProvider provider,
+          final String name,
+          final int maxBufferPoolSize,
+          final int messageBufferSize,
+          final long probeInterval,
+          final ProbeStrategy probeStrategy,
+          final long maxBacklogSize) {
+    this(provider, name, maxBufferPoolSize, messageBufferSize, probeInterval, probeStrategy, maxBacklogSize, null);
+  }
+
+  /**
+   * Constructs my default state, where my channels are probed as given by
+   * {@code probeStrategy} or {@code probeInterval}, and where each request
+   * is read into a buffer leased from {@code readBufferPool}, when given,
+   * rather than into a buffer held by each client channel for its life.
+   * The leased buffer is released by the consumer of the request, as is any
+   * buffer it consumes, so only the channels being read hold a buffer, and
+   * the remainder of a partial request is kept by the consumer in its
+   * {@code consumerData()}. A channel that is readable while no buffer is
+   * available is read when one is.
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param name the String name of this processor
+   * @param maxBufferPoolSize the int maximum number of buffers of the pool
+   * @param messageBufferSize the int size of each request buffer
+   * @param probeInterval the long interval at which my channels are probed, or EventDriven
+   * @param probeStrategy the ProbeStrategy of this processor, or null
+   * @param maxBacklogSize the long maximum number of response bytes kept for each client channel
+   * @param readBufferPool the ByteBufferPool of the request buffers, or null for a buffer of each client channel
+   */
+  @SuppressWarnings("unchecked")
+  public SocketChannelSelectionProcessorActor(
+          final RequestChannelConsumerProvider provider,
+          final String name,
+          final int maxBufferPoolSize,
+          final int messageBufferSize,
+          final long probeInterval,
+          final ProbeStrategy probeStrategy,
+          final long maxBacklogSize,
+          final ByteBufferPool readBufferPool) {
 
     this.provider = provider;
     this.name = name;
     this.messageBufferSize = messageBufferSize;
+    this.maxBacklogSize = maxBacklogSize;
+    this.readBufferPool = readBufferPool;
+    this.parkedReaders = new ArrayList<>();
     this.selector = open();
     //this.maxBufferPoolSize = maxBufferPoolSize;
     this.responder = selfAs(ResponseSenderChannel.class);
-
-    this.cancellable = stage().scheduler().schedule(selfAs(Scheduled.class), null, 100, probeInterval);
+    this.probe = selfAs(Scheduled.class);
+    this.probeStrategy = probeStrategy;
+
+    if (probeStrategy != null) {
+      this.cancellable = stage().scheduler().scheduleOnce(probe, null, 100, 0);
+      this.eventLoop = null;
+    } else if (SelectorEventLoop.isEventDriven(probeInterval)) {
+      this.cancellable = null;
+      this.eventLoop = new SelectorEventLoop(name, selector, () -> probe.intervalSignal(null, null), logger()).start();
+    } else {
+      this.cancellable = stage().scheduler().schedule(probe, null, 100, probeInterval);
+      this.eventLoop = null;
+    }
   }
 
 
@@ -75,7 +188,23 @@ public class SocketChannelSelectionProcessorActor extends Actor
 
   @Override
   public void respondWith(final RequestResponseContext<?> context, final ConsumerByteBuffer buffer) {
-    ((Context) context).queueWritable(buffer);
+    final Context responseContext = (Context) context;
+
+    if (!responseContext.queueWritable(buffer)) {
+      logger().warn("Closing client channel for " + name + " because its backlog of " +
+              responseContext.backlog.size() + " bytes exceeds " + maxBacklogSize + " with the response.");
+      buffer.release();
+      responseContext.close();
+      return;
+    }
+
+    interestInWrites(responseContext.clientChannel.keyFor(selector), true);
+
+    if (eventLoop != null) {
+      eventLoop.wakeup();
+    } else if (probeStrategy != null) {
+      probeNow();
+    }
   }
 
 
@@ -94,7 +223,13 @@ public class SocketChannelSelectionProcessorActor extends Actor
         if (clientChannel != null) {
           clientChannel.configureBlocking(false);
 
-          clientChannel.register(selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE, new Context(clientChannel));
+          if (eventLoop != null) {
+            // a channel registered while selecting is not selected until the next select
+            eventLoop.wakeup();
+          }
+
+          // interest in writes is registered only while responses are queued
+          clientChannel.register(selector, SelectionKey.OP_READ, new Context(clientChannel));
         }
       }
     } catch (Exception e) {
@@ -111,7 +246,16 @@ public class SocketChannelSelectionProcessorActor extends Actor
 
   @Override
   public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
-    probeChannel();
+    if (data == ReadBufferReleased) {
+      resumeParkedReaders();
+      return;
+    }
+
+    final boolean active = probeChannel();
+
+    if (probeStrategy != null && !isStopped()) {
+      cancellable = probeStrategy.scheduleNextProbe(stage().scheduler(), probe, active);
+    }
   }
 
 
@@ -121,7 +265,13 @@ public class SocketChannelSelectionProcessorActor extends Actor
 
   @Override
   public void stop() {
-    cancellable.cancel();
+    if (cancellable != null) {
+      cancellable.cancel();
+    }
+
+    if (eventLoop != null) {
+      eventLoop.close();
+    }
 
     try {
       selector.close();
@@ -136,6 +286,8 @@ public class SocketChannelSelectionProcessorActor extends Actor
   //=========================================
 
   private void close(final SocketChannel channel, final SelectionKey key) {
+    ((Context) key.attachment()).backlog.clear();
+
     try {
       channel.close();
     } catch (Exception e) {
@@ -148,6 +300,14 @@ public class SocketChannelSelectionProcessorActor extends Actor
     }
   }
 
+  private void interestInWrites(final SelectionKey key, final boolean interested) {
+    if (key != null && key.isValid()) {
+      // interest in reads is kept as is, as it is cleared while a reader is parked
+      final int ops = key.interestOps();
+      key.interestOps(interested ? ops | SelectionKey.OP_WRITE : ops & ~SelectionKey.OP_WRITE);
+    }
+  }
+
   private Selector open() {
     try {
       return Selector.open();
@@ -158,41 +318,104 @@ public class SocketChannelSelectionProcessorActor extends Actor
     }
   }
 
-  private void probeChannel() {
-    if (isStopped()) return;
+  private boolean probeChannel() {
+    if (isStopped()) return false;
+
+    boolean active = false;
 
     try {
-      if (selector.selectNow() > 0) {
+      // keys selected by the event loop are still to be processed
+      if (selector.selectNow() > 0 || !selector.selectedKeys().isEmpty()) {
         final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
 
         while (iterator.hasNext()) {
           final SelectionKey key = iterator.next();
           iterator.remove();
 
-          if (key.isValid()) {
-            if (key.isReadable()) {
-              read(key);
-            } else if (key.isWritable()) {
-              write(key);
-            }
+          if (key.isValid() && key.isReadable()) {
+            active |= read(key);
+          }
+
+          if (key.isValid() && key.isWritable()) {
+            active |= write(key);
           }
         }
       }
     } catch (Exception e) {
       logger().error("Failed client channel processing for " + name + " because: " + e.getMessage(), e);
+    } finally {
+      if (eventLoop != null) {
+        eventLoop.resume();
+      }
+    }
+
+    return active;
+  }
+
+  private void parkReader(final SelectionKey key) {
+    // a readable channel without a buffer would be selected again at once,
+    // so it is not selected for reads until a buffer is released
+    key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+    parkedReaders.add(key);
+
+    if (awaitingReadBuffer) return;
+
+    awaitingReadBuffer = true;
+
+    // a released buffer is handed back at once, and the parked readers resumed
+    // by my mailbox, as is done after the timeout should none be released
+    readBufferPool
+      .accessAsync("request", 1, stage().scheduler(), ReadBufferWaitTimeout)
+      .andThenConsume(released -> {
+        released.release();
+        probe.intervalSignal(null, ReadBufferReleased);
+      })
+      .otherwiseConsume(none -> probe.intervalSignal(null, ReadBufferReleased));
+  }
+
+  private void probeNow() {
+    // a probe signaled at once is already queued when there is nothing to cancel
+    if (cancellable != null && cancellable.cancel()) {
+      cancellable = null;
+      probe.intervalSignal(null, null);
     }
   }
 
-  private void read(final SelectionKey key) throws IOException {
+  private void resumeParkedReaders() {
+    awaitingReadBuffer = false;
+
+    if (isStopped()) return;
+
+    for (final SelectionKey key : parkedReaders) {
+      if (key.isValid()) {
+        key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+      }
+    }
+    parkedReaders.clear();
+
+    if (eventLoop != null) {
+      eventLoop.wakeup();
+    } else if (probeStrategy != null) {
+      probeNow();
+    }
+  }
+
+  private boolean read(final SelectionKey key) throws IOException {
     final SocketChannel channel = (SocketChannel) key.channel();
 
     if (!channel.isOpen()) {
       key.cancel();
-      return;
+      return false;
     }
 
     final Context context = (Context) key.attachment();
-    final ConsumerByteBuffer buffer = context.requestBuffer().clear();
+    final ConsumerByteBuffer buffer = context.requestBuffer();
+
+    if (buffer == null) {
+      parkReader(key);
+      return false;
+    }
+
     final ByteBuffer readBuffer = buffer.asByteBuffer();
 
     int totalBytesRead = 0;
@@ -215,42 +438,42 @@ public class SocketChannelSelectionProcessorActor extends Actor
 
     if (totalBytesRead > 0) {
       context.consumer().consume(context, buffer.flip());
-    } else {
-      buffer.release();
+      return true;
     }
+
+    buffer.release();
+
+    return bytesRead == -1;
   }
 
-  private void write(final SelectionKey key) throws Exception {
+  private boolean write(final SelectionKey key) throws Exception {
     final SocketChannel channel = (SocketChannel) key.channel();
 
     if (!channel.isOpen()) {
       key.cancel();
-      return;
+      return false;
     }
 
     final Context context = (Context) key.attachment();
+    final boolean writing = context.hasNextWritable();
 
-    if (context.hasNextWritable()) {
+    if (writing) {
       writeWithCachedData(context, channel);
     }
-  }
 
-  private void writeWithCachedData(final Context context, final SocketChannel channel) throws Exception {
-    for (ConsumerByteBuffer buffer = context.nextWritable() ; buffer != null; buffer = context.nextWritable()) {
-      writeWithCachedData(context, channel, buffer);
-    }
+    // a remainder not accepted by the channel is written when it is next writable
+    interestInWrites(key, context.hasNextWritable());
+
+    return writing;
   }
 
-  private void writeWithCachedData(final Context context, final SocketChannel clientChannel, ConsumerByteBuffer buffer) throws Exception {
+  private void writeWithCachedData(final Context context, final SocketChannel clientChannel) throws Exception {
     try {
-      final ByteBuffer responseBuffer = buffer.asByteBuffer();
-      while (responseBuffer.hasRemaining()) {
-        clientChannel.write(responseBuffer);
-      }
+      // all queued responses are written by gathering writes
+      context.backlog.write(clientChannel);
     } catch (Exception e) {
       logger().error("Failed to write buffer for " + name + " with channel " + clientChannel.getRemoteAddress() + " because: " + e.getMessage(), e);
-    } finally {
-      buffer.release();
+      context.backlog.clear();
     }
   }
 
@@ -265,8 +488,8 @@ public class SocketChannelSelectionProcessorActor extends Actor
     private Object closingData;
     private final RequestChannelConsumer consumer;
     private Object consumerData;
+    private final OutboundBacklog backlog;
     private final String id;
-    private final Queue<ConsumerByteBuffer> writables;
 
     @Override
     @SuppressWarnings("unchecked")
@@ -303,12 +526,14 @@ public class SocketChannelSelectionProcessorActor extends Actor
     Context(final SocketChannel clientChannel) {
       this.clientChannel = clientChannel;
       this.consumer = provider.requestChannelConsumer();
-      this.buffer = BasicConsumerByteBuffer.allocate(++bufferId, messageBufferSize);
+      this.buffer = readBufferPool == null ? BasicConsumerByteBuffer.allocate(++bufferId, messageBufferSize) : null;
       this.id = "" + (++contextId);
-      this.writables = new LinkedList<>();
+      this.backlog = new OutboundBacklog(maxBacklogSize);
     }
 
     void close() {
+      backlog.clear();
+
       if (!clientChannel.isOpen()) return;
 
       try {
@@ -324,19 +549,15 @@ public class SocketChannelSelectionProcessorActor extends Actor
     }
 
     boolean hasNextWritable() {
-      return writables.peek() != null;
-    }
-
-    ConsumerByteBuffer nextWritable() {
-      return writables.poll();
+      return backlog.hasRemaining();
     }
 
-    void queueWritable(final ConsumerByteBuffer buffer) {
-      writables.add(buffer);
+    boolean queueWritable(final ConsumerByteBuffer buffer) {
+      return backlog.add(buffer);
     }
 
     ConsumerByteBuffer requestBuffer() {
-      return buffer;
+      return buffer == null ? readBufferPool.accessFor("request", 1) : buffer.clear();
     }
   }
 }
@@ -8,7 +8,9 @@
 package io.vlingo.wire.channel;
 
 import io.vlingo.actors.Logger;
+import io.vlingo.wire.message.ConsumerByteBuffer;
 import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageSequencer;
 import io.vlingo.wire.node.Address;
 
 import java.net.InetSocketAddress;
@@ -19,10 +21,23 @@ public class SocketChannelWriter {
   private SocketChannel channel;
   private final Address address;
   private final Logger logger;
+  private final RawMessageSequencer sequencer;
 
   public SocketChannelWriter(final Address address, final Logger logger) {
+    this(address, logger, null);
+  }
+
+  /**
+   * Constructs my default state, where each {@code RawMessage} written is
+   * stamped by {@code sequencer} with a version 2 header, when given.
+   * @param address the Address to connect to
+   * @param logger the Logger of failures
+   * @param sequencer the RawMessageSequencer of this channel, or null for version 1 headers
+   */
+  public SocketChannelWriter(final Address address, final Logger logger, final RawMessageSequencer sequencer) {
     this.address = address;
     this.logger = logger;
+    this.sequencer = sequencer;
     this.channel = null;
   }
 
@@ -39,11 +54,46 @@ public class SocketChannelWriter {
 
   public int write(final RawMessage message, final ByteBuffer buffer) {
     buffer.clear();
-    message.copyBytesTo(buffer);
+    sequenced(message).copyBytesTo(buffer);
     buffer.flip();
     return write(buffer);
   }
 
+  /**
+   * Writes {@code message} with a gathering write of its header and its
+   * bytes, without copying the bytes into a buffer first.
+   * @param message the RawMessage to write
+   * @return int the number of bytes written
+   */
+  public int write(final RawMessage message) {
+    return write(sequenced(message).asCompositeByteBuffer());
+  }
+
+  public int write(final ConsumerByteBuffer buffer) {
+    try {
+      return write(buffer.asByteBuffers(), buffer.remaining());
+    } finally {
+      buffer.release();
+    }
+  }
+
+  public int write(final ByteBuffer[] buffers, final long length) {
+    final SocketChannel preparedChannel = prepareChannel();
+    int totalBytesWritten = 0;
+
+    if (preparedChannel != null) {
+      try {
+        while (totalBytesWritten < length) {
+          totalBytesWritten += preparedChannel.write(buffers);
+        }
+      } catch (Exception e) {
+        logger.error("Write to channel failed because: " + e.getMessage(), e);
+        close();
+      }
+    }
+    return totalBytesWritten;
+  }
+
   public int write(final ByteBuffer buffer) {
     final SocketChannel preparedChannel = prepareChannel();
     int totalBytesWritten = 0;
@@ -66,6 +116,10 @@ public class SocketChannelWriter {
     return "SocketChannelWriter[address=" + address + ", channel=" + channel + "]";
   }
 
+  private RawMessage sequenced(final RawMessage message) {
+    return sequencer == null ? message : sequencer.stamp(message);
+  }
+
   private SocketChannel prepareChannel() {
     try {
       if (channel != null) {
@@ -13,12 +13,14 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 
 import io.vlingo.actors.Logger;
+import io.vlingo.wire.channel.OutboundBacklog;
 import io.vlingo.wire.channel.ResponseChannelConsumer;
 import io.vlingo.wire.message.ByteBufferPool;
 import io.vlingo.wire.node.Address;
 
 public class BasicClientRequestResponseChannel implements ClientRequestResponseChannel {
   private final Address address;
+  private final OutboundBacklog backlog;
   private final ResponseChannelConsumer consumer;
   private final Logger logger;
   private final ByteBufferPool readBufferPool;
@@ -32,11 +34,45 @@ public class BasicClientRequestResponseChannel implements ClientRequestResponseC
           final int maxBufferPoolSize,
           final int maxMessageSize,
           final Logger logger)
+  throws Exception {
+    this(address, consumer, new ByteBufferPool(1, maxBufferPoolSize, maxMessageSize), logger);
+  }
+
+  public BasicClientRequestResponseChannel(
+          final Address address,
+          final ResponseChannelConsumer consumer,
+          final ByteBufferPool readBufferPool,
+          final Logger logger)
+  throws Exception {
+    this(address, consumer, readBufferPool, OutboundBacklog.Unbounded, logger);
+  }
+
+  /**
+   * Constructs my default state, where the bytes of a request that the
+   * channel does not accept at once are kept in an {@code OutboundBacklog}
+   * and written by the next request or probe, rather than spinning until
+   * the server reads them. When the backlog would exceed
+   * {@code maxBacklogSize} the server is reading too slowly, and the channel
+   * is closed.
+   * @param address the Address of the server
+   * @param consumer the ResponseChannelConsumer of the responses
+   * @param readBufferPool the ByteBufferPool of the response buffers
+   * @param maxBacklogSize the long maximum number of request bytes kept
+   * @param logger the Logger of failures
+   * @throws IllegalArgumentException when maxBacklogSize is not positive
+   */
+  public BasicClientRequestResponseChannel(
+          final Address address,
+          final ResponseChannelConsumer consumer,
+          final ByteBufferPool readBufferPool,
+          final long maxBacklogSize,
+          final Logger logger)
   throws Exception {
     this.address = address;
     this.consumer = consumer;
     this.logger = logger;
-    this.readBufferPool = new ByteBufferPool(maxBufferPoolSize, maxMessageSize);
+    this.readBufferPool = readBufferPool;
+    this.backlog = new OutboundBacklog(maxBacklogSize);
     this.previousPrepareFailures = 0;
   }
 
@@ -46,6 +82,8 @@ public class BasicClientRequestResponseChannel implements ClientRequestResponseC
 
   @Override
   public void close() {
+    backlog.clear();
+
     if (channel != null) {
       try {
         channel.close();
@@ -62,9 +100,18 @@ public class BasicClientRequestResponseChannel implements ClientRequestResponseC
 
     if (preparedChannel != null) {
       try {
-        while (buffer.hasRemaining()) {
+        // earlier requests are written first, and a remainder is kept for later
+        backlog.write(preparedChannel);
+
+        if (!backlog.hasRemaining()) {
           preparedChannel.write(buffer);
         }
+
+        if (buffer.hasRemaining() && !backlog.add(buffer)) {
+          logger.error("Closing channel to " + address + " because its backlog of " + backlog.size() +
+                  " bytes exceeds " + backlog.maxSize() + " with the request.");
+          close();
+        }
       } catch (Exception e) {
         logger.error("Write to socket failed because: " + e.getMessage(), e);
         close();
@@ -82,6 +129,7 @@ public class BasicClientRequestResponseChannel implements ClientRequestResponseC
     try {
       final SocketChannel channel = preparedChannel();
       if (channel != null) {
+        backlog.write(channel);
         readConsume(channel);
       }
     } catch (IOException e) {
@@ -122,18 +170,38 @@ public class BasicClientRequestResponseChannel implements ClientRequestResponseC
     return null;
   }
 
+  private ByteBufferPool.PooledByteBuffer grow(final ByteBufferPool.PooledByteBuffer pooledBuffer) {
+    final ByteBufferPool.PooledByteBuffer larger =
+            readBufferPool.accessFitting("client-response", pooledBuffer.capacity() + 1, 25);
+
+    if (larger == null) {
+      return pooledBuffer;
+    }
+
+    larger.put(pooledBuffer.flip().asByteBuffer());
+    pooledBuffer.release();
+
+    return larger;
+  }
+
   private void readConsume(final SocketChannel channel) throws IOException {
     ByteBufferPool.PooledByteBuffer pooledBuffer = null;
     ByteBuffer readBuffer = null;
     int totalBytesRead = 0;
     int bytesRead = 0;
     try {
-      pooledBuffer = readBufferPool.accessFor("client-response", 25);
+      // start with the smallest buffer and grow only when a read fills it
+      pooledBuffer = readBufferPool.accessFitting("client-response", 1, 25);
       readBuffer = pooledBuffer.asByteBuffer();
       do {
         bytesRead = channel.read(readBuffer);
         totalBytesRead += bytesRead;
-      } while (bytesRead > 0);
+
+        if (!readBuffer.hasRemaining() && readBuffer.capacity() < readBufferPool.maxBufferSize) {
+          pooledBuffer = grow(pooledBuffer);
+          readBuffer = pooledBuffer.asByteBuffer();
+        }
+      } while (bytesRead > 0 && readBuffer.hasRemaining());
 
       if (totalBytesRead > 0) {
         consumer.consume(pooledBuffer.flip());
@@ -71,7 +71,7 @@ public class SecureClientRequestResponseChannel implements ClientRequestResponse
     this.address = address;
     this.consumer = consumer;
     this.logger = logger;
-    this.readBufferPool = new ByteBufferPool(maxBufferPoolSize, maxMessageSize);
+    this.readBufferPool = new ByteBufferPool(1, maxBufferPoolSize, maxMessageSize);
 
     this.closed = new AtomicBoolean(false);
     this.writeQueue = new ConcurrentLinkedQueue<>();
@@ -13,7 +13,11 @@ import io.vlingo.actors.Address;
 import io.vlingo.actors.Definition;
 import io.vlingo.actors.Stage;
 import io.vlingo.actors.Stoppable;
+import io.vlingo.wire.channel.OutboundBacklog;
+import io.vlingo.wire.channel.ProbeStrategy;
 import io.vlingo.wire.channel.RequestChannelConsumerProvider;
+import io.vlingo.wire.channel.SelectorEventLoop;
+import io.vlingo.wire.message.ByteBufferPool;
 
 public interface ServerRequestResponseChannel extends Stoppable {
   static ServerRequestResponseChannel start(
@@ -60,5 +64,113 @@ public interface ServerRequestResponseChannel extends Stoppable {
     return channel;
   }
 
+  /**
+   * Answers a new {@code ServerRequestResponseChannel} whose channels are
+   * probed every {@code probeInterval}, or are event-driven, and which
+   * closes a client channel whose backlog of responses not yet accepted by
+   * it would exceed {@code maxBacklogSize}, as it is reading too slowly.
+   * @param stage the Stage of the actor
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param port the int port to accept client channels on
+   * @param name the String name of the channel
+   * @param processorPoolSize the int number of processors of the client channels
+   * @param maxBufferPoolSize the int maximum number of buffers of each processor
+   * @param maxMessageSize the int size of the largest request
+   * @param probeInterval the long interval at which channels are probed, or EventDriven
+   * @param maxBacklogSize the long maximum number of response bytes kept for each client channel
+   * @return ServerRequestResponseChannel
+   */
+  static ServerRequestResponseChannel start(
+          final Stage stage,
+          final RequestChannelConsumerProvider provider,
+          final int port,
+          final String name,
+          final int processorPoolSize,
+          final int maxBufferPoolSize,
+          final int maxMessageSize,
+          final long probeInterval,
+          final long maxBacklogSize) {
+
+    final List<Object> params = Definition.parameters(provider, port, name, processorPoolSize, maxBufferPoolSize, maxMessageSize, probeInterval, null, maxBacklogSize);
+
+    final ServerRequestResponseChannel channel =
+            stage.actorFor(
+              ServerRequestResponseChannel.class,
+              Definition.has(ServerRequestResponseChannelActor.class, params));
+
+    return channel;
+  }
+
+  /**
+   * Answers a new {@code ServerRequestResponseChannel} whose channels are
+   * probed every {@code probeInterval}, or are event-driven, and whose
+   * requests are read into buffers leased from {@code readBufferPool} only
+   * while being read and consumed, so that the memory of request buffers
+   * grows with the client channels being read rather than those connected.
+   * Each consumer must release the buffers it consumes.
+   * @param stage the Stage of the actor
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param port the int port to accept client channels on
+   * @param name the String name of the channel
+   * @param processorPoolSize the int number of processors of the client channels
+   * @param probeInterval the long interval at which channels are probed, or EventDriven
+   * @param readBufferPool the ByteBufferPool of the request buffers, shared by all processors
+   * @return ServerRequestResponseChannel
+   */
+  static ServerRequestResponseChannel start(
+          final Stage stage,
+          final RequestChannelConsumerProvider provider,
+          final int port,
+          final String name,
+          final int processorPoolSize,
+          final long probeInterval,
+          final ByteBufferPool readBufferPool) {
+
+    final List<Object> params =
+            Definition.parameters(provider, port, name, processorPoolSize, readBufferPool.maxSize(), readBufferPool.maxBufferSize,
+                    probeInterval, null, OutboundBacklog.Unbounded, readBufferPool);
+
+    final ServerRequestResponseChannel channel =
+            stage.actorFor(
+              ServerRequestResponseChannel.class,
+              Definition.has(ServerRequestResponseChannelActor.class, params));
+
+    return channel;
+  }
+
+  /**
+   * Answers a new {@code ServerRequestResponseChannel} whose channels are
+   * probed when {@code probeStrategy} decides after each probe, and whose
+   * probe metrics are answered by {@code probeStrategy.metrics()}.
+   * @param stage the Stage of the actor
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param port the int port to accept client channels on
+   * @param name the String name of the channel
+   * @param processorPoolSize the int number of processors of the client channels
+   * @param maxBufferPoolSize the int maximum number of buffers of each processor
+   * @param maxMessageSize the int size of the largest request
+   * @param probeStrategy the ProbeStrategy of the channels
+   * @return ServerRequestResponseChannel
+   */
+  static ServerRequestResponseChannel start(
+          final Stage stage,
+          final RequestChannelConsumerProvider provider,
+          final int port,
+          final String name,
+          final int processorPoolSize,
+          final int maxBufferPoolSize,
+          final int maxMessageSize,
+          final ProbeStrategy probeStrategy) {
+
+    final List<Object> params = Definition.parameters(provider, port, name, processorPoolSize, maxBufferPoolSize, maxMessageSize, SelectorEventLoop.EventDriven, probeStrategy);
+
+    final ServerRequestResponseChannel channel =
+            stage.actorFor(
+              ServerRequestResponseChannel.class,
+              Definition.has(ServerRequestResponseChannelActor.class, params));
+
+    return channel;
+  }
+
   void close();
 }
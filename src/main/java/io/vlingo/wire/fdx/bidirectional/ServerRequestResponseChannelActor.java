@@ -12,9 +12,13 @@ import io.vlingo.actors.Definition;
 import io.vlingo.actors.Stoppable;
 import io.vlingo.common.Cancellable;
 import io.vlingo.common.Scheduled;
+import io.vlingo.wire.channel.OutboundBacklog;
+import io.vlingo.wire.channel.ProbeStrategy;
 import io.vlingo.wire.channel.RequestChannelConsumerProvider;
+import io.vlingo.wire.channel.SelectorEventLoop;
 import io.vlingo.wire.channel.SocketChannelSelectionProcessor;
 import io.vlingo.wire.channel.SocketChannelSelectionProcessorActor;
+import io.vlingo.wire.message.ByteBufferPool;
 
 import java.net.InetSocketAddress;
 import java.nio.channels.SelectionKey;
@@ -23,14 +27,29 @@ import java.nio.channels.ServerSocketChannel;
 import java.util.Iterator;
 
 public class ServerRequestResponseChannelActor extends Actor implements ServerRequestResponseChannel, Scheduled<Object> {
-  private final Cancellable cancellable;
+  private Cancellable cancellable;
   private final ServerSocketChannel channel;
+  private final SelectorEventLoop eventLoop;
   private final String name;
+  private final Scheduled<Object> probe;
+  private final ProbeStrategy probeStrategy;
   private final SocketChannelSelectionProcessor[] processors;
   private int processorPoolIndex;
   private final Selector selector;
 
-  @SuppressWarnings("unchecked")
+  /**
+   * Constructs my default state, where my channel and those of my processors
+   * are probed every {@code probeInterval}, or are event-driven by a
+   * {@code SelectorEventLoop} each when {@code probeInterval} is
+   * {@code SelectorEventLoop.EventDriven}.
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param port the int port to accept client channels on
+   * @param name the String name of this channel
+   * @param processorPoolSize the int number of processors of the client channels
+   * @param maxBufferPoolSize the int maximum number of buffers of each processor
+   * @param maxMessageSize the int size of the largest request
+   * @param probeInterval the long interval at which channels are probed, or EventDriven
+   */
   public ServerRequestResponseChannelActor(
           final RequestChannelConsumerProvider provider,
           final int port,
@@ -39,9 +58,97 @@ public class ServerRequestResponseChannelActor extends Actor implements ServerRe
           final int maxBufferPoolSize,
           final int maxMessageSize,
           final long probeInterval) {
+    this(provider, port, name, processorPoolSize, maxBufferPoolSize, maxMessageSize, probeInterval, null);
+  }
+
+  /**
+   * Constructs my default state, where my channel and those of my processors
+   * are probed when a strategy of their own, answered by
+   * {@code probeStrategy.forProber(name)}, decides after each probe, or as
+   * given by {@code probeInterval} when {@code probeStrategy} is {@code null}.
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param port the int port to accept client channels on
+   * @param name the String name of this channel
+   * @param processorPoolSize the int number of processors of the client channels
+   * @param maxBufferPoolSize the int maximum number of buffers of each processor
+   * @param maxMessageSize the int size of the largest request
+   * @param probeInterval the long interval at which channels are probed, or EventDriven
+   * @param probeStrategy the ProbeStrategy whose metrics include those of every prober, or null
+   */
+  public ServerRequestResponseChannelActor(
+          final RequestChannelConsumerProvider provider,
+          final int port,
+          final String name,
+          final int processorPoolSize,
+          final int maxBufferPoolSize,
+          final int maxMessageSize,
+          final long probeInterval,
+          final ProbeStrategy probeStrategy) {
+    this(provider, port, name, processorPoolSize, maxBufferPoolSize, maxMessageSize, probeInterval, probeStrategy, OutboundBacklog.Unbounded);
+  }
+
+  /**
+   * Constructs my default state, where channels are probed as given by
+   * {@code probeStrategy} or {@code probeInterval}, and where a client
+   * channel whose backlog of responses not yet accepted by it would exceed
+   * {@code maxBacklogSize} is reading too slowly, and is closed.
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param port the int port to accept client channels on
+   * @param name the String name of this channel
+   * @param processorPoolSize the int number of processors of the client channels
+   * @param maxBufferPoolSize the int maximum number of buffers of each processor
+   * @param maxMessageSize the int size of the largest request
+   * @param probeInterval the long interval at which channels are probed, or EventDriven
+   * @param probeStrategy the ProbeStrategy whose metrics include those of every prober, or null
+   * @param maxBacklogSize the long maximum number of response bytes kept for each client channel
+   */
+  public ServerRequestResponseChannelActor(
+          final RequestChannelConsumerProvider provider,
+          final int port,
+          final String name,
+          final int processorPoolSize,
+          final int maxBufferPoolSize,
+          final int maxMessageSize,
+          final long probeInterval,
+          final ProbeStrategy probeStrategy,
+          final long maxBacklogSize) {
+    this(provider, port, name, processorPoolSize, maxBufferPoolSize, maxMessageSize, probeInterval, probeStrategy, maxBacklogSize, null);
+  }
+
+  /**
+   * Constructs my default state, where channels are probed as given by
+   * {@code probeStrategy} or {@code probeInterval}, and where requests are
+   * read into buffers leased from {@code readBufferPool}, shared by all my
+   * processors, only while being read and consumed, when given, so that
+   * idle client channels hold no buffer.
+   * @param provider the RequestChannelConsumerProvider of the request consumers
+   * @param port the int port to accept client channels on
+   * @param name the String name of this channel
+   * @param processorPoolSize the int number of processors of the client channels
+   * @param maxBufferPoolSize the int maximum number of buffers of each processor
+   * @param maxMessageSize the int size of the largest request
+   * @param probeInterval the long interval at which channels are probed, or EventDriven
+   * @param probeStrategy the ProbeStrategy whose metrics include those of every prober, or null
+   * @param maxBacklogSize the long maximum number of response bytes kept for each client channel
+   * @param readBufferPool the ByteBufferPool of the request buffers, or null for a buffer of each client channel
+   */
+  @SuppressWarnings("unchecked")
+  public ServerRequestResponseChannelActor(
+          final RequestChannelConsumerProvider provider,
+          final int port,
+          final String name,
+          final int processorPoolSize,
+          final int maxBufferPoolSize,
+          final int maxMessageSize,
+          final long probeInterval,
+          final ProbeStrategy probeStrategy,
+          final long maxBacklogSize,
+          final ByteBufferPool readBufferPool) {
 
     this.name = name;
-    this.processors = startProcessors(provider, name, processorPoolSize, maxBufferPoolSize, maxMessageSize, probeInterval);
+    this.probe = selfAs(Scheduled.class);
+    this.probeStrategy = probeStrategy == null ? null : probeStrategy.forProber(name);
+    this.processors = startProcessors(provider, name, processorPoolSize, maxBufferPoolSize, maxMessageSize, probeInterval, probeStrategy, maxBacklogSize, readBufferPool);
 
     try {
       logger().info(getClass().getSimpleName() + ": OPENING PORT: " + port);
@@ -56,7 +163,16 @@ public class ServerRequestResponseChannelActor extends Actor implements ServerRe
       throw new IllegalArgumentException(message);
     }
 
-    this.cancellable = stage().scheduler().schedule(selfAs(Scheduled.class), null, 100, probeInterval);
+    if (probeStrategy != null) {
+      this.cancellable = stage().scheduler().scheduleOnce(probe, null, 100, 0);
+      this.eventLoop = null;
+    } else if (SelectorEventLoop.isEventDriven(probeInterval)) {
+      this.cancellable = null;
+      this.eventLoop = new SelectorEventLoop(name, selector, () -> probe.intervalSignal(null, null), logger()).start();
+    } else {
+      this.cancellable = stage().scheduler().schedule(probe, null, 100, probeInterval);
+      this.eventLoop = null;
+    }
   }
 
 
@@ -77,7 +193,11 @@ public class ServerRequestResponseChannelActor extends Actor implements ServerRe
 
   @Override
   public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
-    probeChannel();
+    final boolean active = probeChannel();
+
+    if (probeStrategy != null && !isStopped()) {
+      cancellable = probeStrategy.scheduleNextProbe(stage().scheduler(), probe, active);
+    }
   }
 
 
@@ -87,7 +207,13 @@ public class ServerRequestResponseChannelActor extends Actor implements ServerRe
 
   @Override
   public void stop() {
-    cancellable.cancel();
+    if (cancellable != null) {
+      cancellable.cancel();
+    }
+
+    if (eventLoop != null) {
+      eventLoop.close();
+    }
 
     for (final SocketChannelSelectionProcessor processor : processors) {
       processor.close();
@@ -113,11 +239,14 @@ public class ServerRequestResponseChannelActor extends Actor implements ServerRe
   // internal implementation
   //=========================================
 
-  private void probeChannel() {
-    if (isStopped()) return;
+  private boolean probeChannel() {
+    if (isStopped()) return false;
+
+    boolean active = false;
 
     try {
-      if (selector.selectNow() > 0) {
+      // keys selected by the event loop are still to be processed
+      if (selector.selectNow() > 0 || !selector.selectedKeys().isEmpty()) {
         final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
 
         while (iterator.hasNext()) {
@@ -127,13 +256,20 @@ public class ServerRequestResponseChannelActor extends Actor implements ServerRe
           if (key.isValid()) {
             if (key.isAcceptable()) {
               accept(key);
+              active = true;
             }
           }
         }
       }
     } catch (Exception e) {
       logger().error("Failed to accept client channel for '" + name + "' because: " + e.getMessage(), e);
+    } finally {
+      if (eventLoop != null) {
+        eventLoop.resume();
+      }
     }
+
+    return active;
   }
 
   private void accept(final SelectionKey key) {
@@ -153,15 +289,21 @@ public class ServerRequestResponseChannelActor extends Actor implements ServerRe
           final int processorPoolSize,
           final int maxBufferPoolSize,
           final int maxMessageSize,
-          final long probeInterval) {
+          final long probeInterval,
+          final ProbeStrategy probeStrategy,
+          final long maxBacklogSize,
+          final ByteBufferPool readBufferPool) {
 
     final SocketChannelSelectionProcessor[] processors = new SocketChannelSelectionProcessor[processorPoolSize];
 
     for (int idx = 0; idx < processors.length; ++idx) {
+      final String processorName = name + "-processor-" + idx;
+      final ProbeStrategy processorProbeStrategy = probeStrategy == null ? null : probeStrategy.forProber(processorName);
+
       processors[idx] = childActorFor(
               SocketChannelSelectionProcessor.class,
               Definition.has(SocketChannelSelectionProcessorActor.class,
-                      Definition.parameters(provider, name + "-processor-" + idx, maxBufferPoolSize, maxMessageSize, probeInterval)));
+                      Definition.parameters(provider, processorName, maxBufferPoolSize, maxMessageSize, probeInterval, processorProbeStrategy, maxBacklogSize, readBufferPool)));
     }
 
     return processors;
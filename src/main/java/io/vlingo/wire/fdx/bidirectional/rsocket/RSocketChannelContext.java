@@ -18,6 +18,8 @@ import io.vlingo.wire.message.ConsumerByteBuffer;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.UnicastProcessor;
 
+import java.nio.ByteBuffer;
+
 class RSocketChannelContext implements RequestResponseContext<FluxSink<ConsumerByteBuffer>> {
   private final RequestChannelConsumer consumer;
   private final Logger logger;
@@ -27,9 +29,13 @@ class RSocketChannelContext implements RequestResponseContext<FluxSink<ConsumerB
   private Object consumerData;
 
   RSocketChannelContext(final RequestChannelConsumerProvider consumerProvider, final int maxBufferPoolSize, final int maxMessageSize, final Logger logger) {
+    this(consumerProvider, new ByteBufferPool(1, maxBufferPoolSize, maxMessageSize), logger);
+  }
+
+  RSocketChannelContext(final RequestChannelConsumerProvider consumerProvider, final ByteBufferPool readBufferPool, final Logger logger) {
     this.consumer = consumerProvider.requestChannelConsumer();
     this.logger = logger;
-    this.readBufferPool = new ByteBufferPool(maxBufferPoolSize, maxMessageSize);
+    this.readBufferPool = readBufferPool;
 
     processor = UnicastProcessor.create();
   }
@@ -81,9 +87,10 @@ class RSocketChannelContext implements RequestResponseContext<FluxSink<ConsumerB
   }
 
   public void consume(Payload request) {
-    final ByteBufferPool.PooledByteBuffer pooledBuffer = readBufferPool.accessFor("client-request");
+    final ByteBuffer data = request.getData();
+    final ByteBufferPool.PooledByteBuffer pooledBuffer = readBufferPool.accessFitting("client-request", data.remaining());
     try {
-      pooledBuffer.put(request.getData());
+      pooledBuffer.put(data);
       this.consumer.consume(this, pooledBuffer.flip());
     } finally {
       if (pooledBuffer.isInUse()) {
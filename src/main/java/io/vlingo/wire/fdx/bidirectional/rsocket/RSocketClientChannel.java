@@ -147,7 +147,7 @@ public class RSocketClientChannel implements ClientRequestResponseChannel {
 
     private ChannelResponseHandler(final ResponseChannelConsumer consumer, final int maxBufferPoolSize, final int maxMessageSize, final Logger logger) {
       this.consumer = consumer;
-      this.readBufferPool = new ByteBufferPool(maxBufferPoolSize, maxMessageSize);
+      this.readBufferPool = new ByteBufferPool(1, maxBufferPoolSize, maxMessageSize);
       this.logger = logger;
     }
 
@@ -12,6 +12,9 @@ import io.vlingo.actors.Stage;
 import io.vlingo.actors.Startable;
 import io.vlingo.actors.Stoppable;
 import io.vlingo.wire.channel.ChannelReader;
+import io.vlingo.wire.channel.ProbeStrategy;
+import io.vlingo.wire.channel.SelectorEventLoop;
+import io.vlingo.wire.message.RawMessagePool;
 import io.vlingo.wire.node.AddressType;
 
 public interface InboundStream extends Startable, Stoppable {
@@ -35,4 +38,77 @@ public interface InboundStream extends Startable, Stoppable {
 
     return stage.actorFor(InboundStream.class, definition);
   }
+
+  /**
+   * Answers a new {@code InboundStream} that leases its inbound messages from
+   * {@code messagePool}, which the {@code interest} must close when done with.
+   * @param stage the Stage of the actor
+   * @param channelReaderProvider the InboundChannelReaderProvider of the reader
+   * @param interest the InboundStreamInterest to deliver messages to
+   * @param port the int port of the inbound channel
+   * @param addressType the AddressType of the inbound channel
+   * @param inboundName the String name of the inbound channel
+   * @param probeInterval the long interval at which the channel is probed, or SelectorEventLoop.EventDriven
+   * @param messagePool the RawMessagePool of the inbound messages
+   * @return InboundStream
+   * @throws Exception when the reader cannot be opened
+   */
+  public static InboundStream instance(
+          final Stage stage,
+          final InboundChannelReaderProvider channelReaderProvider,
+          final InboundStreamInterest interest,
+          final int port,
+          final AddressType addressType,
+          final String inboundName,
+          final long probeInterval,
+          final RawMessagePool messagePool)
+  throws Exception {
+
+    final ChannelReader reader = channelReaderProvider.channelFor(port, inboundName);
+
+    final Definition definition =
+            Definition.has(
+                    InboundStreamActor.class,
+                    Definition.parameters(interest, addressType, reader, probeInterval, messagePool),
+                    inboundName + "-inbound");
+
+    return stage.actorFor(InboundStream.class, definition);
+  }
+
+  /**
+   * Answers a new {@code InboundStream} whose channel is probed when
+   * {@code probeStrategy} decides after each probe, and whose probe metrics
+   * are answered by {@code probeStrategy.metrics()}.
+   * @param stage the Stage of the actor
+   * @param channelReaderProvider the InboundChannelReaderProvider of the reader
+   * @param interest the InboundStreamInterest to deliver messages to
+   * @param port the int port of the inbound channel
+   * @param addressType the AddressType of the inbound channel
+   * @param inboundName the String name of the inbound channel
+   * @param probeStrategy the ProbeStrategy of the channel
+   * @param messagePool the RawMessagePool of the inbound messages, or null for copies
+   * @return InboundStream
+   * @throws Exception when the reader cannot be opened
+   */
+  public static InboundStream instance(
+          final Stage stage,
+          final InboundChannelReaderProvider channelReaderProvider,
+          final InboundStreamInterest interest,
+          final int port,
+          final AddressType addressType,
+          final String inboundName,
+          final ProbeStrategy probeStrategy,
+          final RawMessagePool messagePool)
+  throws Exception {
+
+    final ChannelReader reader = channelReaderProvider.channelFor(port, inboundName);
+
+    final Definition definition =
+            Definition.has(
+                    InboundStreamActor.class,
+                    Definition.parameters(interest, addressType, reader, SelectorEventLoop.EventDriven, probeStrategy, messagePool),
+                    inboundName + "-inbound");
+
+    return stage.actorFor(InboundStream.class, definition);
+  }
 }
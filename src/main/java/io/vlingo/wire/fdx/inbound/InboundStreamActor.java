@@ -7,19 +7,33 @@
 
 package io.vlingo.wire.fdx.inbound;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.vlingo.actors.Actor;
 import io.vlingo.common.Cancellable;
 import io.vlingo.common.Scheduled;
 import io.vlingo.wire.channel.ChannelReader;
 import io.vlingo.wire.channel.ChannelReaderConsumer;
+import io.vlingo.wire.channel.ProbeStrategy;
+import io.vlingo.wire.channel.SelectorEventLoop;
 import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessagePool;
+import io.vlingo.wire.message.RawMessageView;
 import io.vlingo.wire.node.AddressType;
 
 public class InboundStreamActor extends Actor implements InboundStream, ChannelReaderConsumer, Scheduled<Object> {
+  // the interval at which a reader that does not select its channel is probed when event-driven
+  public static final long EventDrivenFallbackInterval = 10L;
+
   private final AddressType addressType;
   private Cancellable cancellable;
+  private boolean consumed;
   private final InboundStreamInterest interest;
+  private final RawMessagePool messagePool;
+  private Scheduled<Object> probe;
   private final long probeInterval;
+  private final ProbeStrategy probeStrategy;
   private final ChannelReader reader;
 
   public InboundStreamActor(
@@ -27,10 +41,58 @@ public class InboundStreamActor extends Actor implements InboundStream, ChannelR
           final AddressType addressType,
           final ChannelReader reader,
           final long probeInterval) {
+    this(interest, addressType, reader, probeInterval, null);
+  }
+
+  /**
+   * Constructs my default state, where each inbound message is leased from
+   * {@code messagePool}, when given, and the {@code interest} must close it
+   * when done with it. An unpooled copy is delivered when the pool is exhausted.
+   * The {@code reader} is probed every {@code probeInterval}, or whenever its
+   * channel is ready when {@code probeInterval} is {@code SelectorEventLoop.EventDriven}.
+   * A reader that does not select its channel is then probed every
+   * {@code EventDrivenFallbackInterval} instead.
+   * @param interest the InboundStreamInterest to deliver messages to
+   * @param addressType the AddressType of the inbound channel
+   * @param reader the ChannelReader of the inbound channel
+   * @param probeInterval the long interval at which the channel is probed, or EventDriven
+   * @param messagePool the RawMessagePool of the inbound messages, or null for copies
+   */
+  public InboundStreamActor(
+          final InboundStreamInterest interest,
+          final AddressType addressType,
+          final ChannelReader reader,
+          final long probeInterval,
+          final RawMessagePool messagePool) {
+    this(interest, addressType, reader, probeInterval, null, messagePool);
+  }
+
+  /**
+   * Constructs my default state, where the {@code reader} is probed when a
+   * strategy of its own, answered by {@code probeStrategy.forProber(name)},
+   * decides after each probe, or as given by {@code probeInterval} when
+   * {@code probeStrategy} is {@code null}, and where each inbound message is
+   * leased from {@code messagePool}, when given.
+   * @param interest the InboundStreamInterest to deliver messages to
+   * @param addressType the AddressType of the inbound channel
+   * @param reader the ChannelReader of the inbound channel
+   * @param probeInterval the long interval at which the channel is probed, or EventDriven
+   * @param probeStrategy the ProbeStrategy whose metrics include those of the reader, or null
+   * @param messagePool the RawMessagePool of the inbound messages, or null for copies
+   */
+  public InboundStreamActor(
+          final InboundStreamInterest interest,
+          final AddressType addressType,
+          final ChannelReader reader,
+          final long probeInterval,
+          final ProbeStrategy probeStrategy,
+          final RawMessagePool messagePool) {
     this.interest = interest;
     this.addressType = addressType;
     this.reader = reader;
     this.probeInterval = probeInterval;
+    this.probeStrategy = probeStrategy == null ? null : probeStrategy.forProber(reader.name());
+    this.messagePool = messagePool;
   }
   
   //=========================================
@@ -39,7 +101,13 @@ public class InboundStreamActor extends Actor implements InboundStream, ChannelR
 
   @Override
   public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    consumed = false;
+
     reader.probeChannel();
+
+    if (probeStrategy != null && !isStopped()) {
+      cancellable = probeStrategy.scheduleNextProbe(stage().scheduler(), probe, consumed);
+    }
   }
 
   //=========================================
@@ -50,6 +118,8 @@ public class InboundStreamActor extends Actor implements InboundStream, ChannelR
   @SuppressWarnings("unchecked")
   public void start() {
     if (isStopped()) return;
+
+    probe = selfAs(Scheduled.class);
     
     logger().debug("Inbound stream listening: for '" + reader.name() + "'");
     
@@ -60,7 +130,17 @@ public class InboundStreamActor extends Actor implements InboundStream, ChannelR
       e.printStackTrace();
       throw new IllegalStateException(e.getMessage(), e);
     }
-    cancellable = this.stage().scheduler().schedule(selfAs(Scheduled.class), null, 1000, probeInterval);
+
+    if (probeStrategy != null) {
+      cancellable = this.stage().scheduler().scheduleOnce(probe, null, 1000, 0);
+    } else if (SelectorEventLoop.isEventDriven(probeInterval)) {
+      if (!reader.probeWhenReady(() -> probe.intervalSignal(null, null))) {
+        logger().debug("Inbound stream for '" + reader.name() + "' does not select its channel; it is probed every " + EventDrivenFallbackInterval + " ms");
+        cancellable = this.stage().scheduler().schedule(probe, null, 1000, EventDrivenFallbackInterval);
+      }
+    } else {
+      cancellable = this.stage().scheduler().schedule(probe, null, 1000, probeInterval);
+    }
   }
 
   //=========================================
@@ -87,6 +167,63 @@ public class InboundStreamActor extends Actor implements InboundStream, ChannelR
   
   @Override
   public void consume(final RawMessage message) {
-    interest.handleInboundStreamMessage(addressType, RawMessage.copy(message));
+    consumed = true;
+    interest.handleInboundStreamMessage(addressType, copyOf(message));
+  }
+
+  @Override
+  public void consume(final RawMessageView view) {
+    consumed = true;
+    interest.handleInboundStreamMessage(addressType, copyOf(view));
+  }
+
+  @Override
+  public void consumeAll(final List<RawMessageView> views) {
+    consumed = true;
+    final List<RawMessage> messages = new ArrayList<>(views.size());
+    for (final RawMessageView view : views) {
+      messages.add(copyOf(view));
+    }
+    interest.handleInboundStreamMessages(addressType, messages);
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private RawMessage copyOf(final RawMessage message) {
+    final RawMessage leased = lease(message.length());
+
+    if (leased == null) {
+      return RawMessage.copy(message);
+    }
+
+    try {
+      return leased.from(message);
+    } catch (RuntimeException e) {
+      leased.close();
+      throw e;
+    }
+  }
+
+  private RawMessage copyOf(final RawMessageView view) {
+    // a compressed view is copied decompressed
+    final RawMessage leased = lease(view.uncompressedLength());
+
+    if (leased == null) {
+      return view.toRawMessage();
+    }
+
+    try {
+      return view.copyTo(leased);
+    } catch (RuntimeException e) {
+      leased.close();
+      throw e;
+    }
+  }
+
+  private RawMessage lease(final int length) {
+    // a message larger than those pooled, such as a reassembled one, is copied unpooled
+    return messagePool == null || length > messagePool.maxMessageSize() ? null : messagePool.access();
   }
 }
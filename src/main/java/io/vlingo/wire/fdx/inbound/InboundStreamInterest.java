@@ -7,9 +7,30 @@
 
 package io.vlingo.wire.fdx.inbound;
 
+import java.util.List;
+
 import io.vlingo.wire.message.RawMessage;
 import io.vlingo.wire.node.AddressType;
 
 public interface InboundStreamInterest {
+  /**
+   * Handles the inbound {@code message}, which may be leased from a pool of
+   * the stream, and so must be closed when done with, as by try-with-resources.
+   * @param addressType the AddressType of the inbound channel
+   * @param message the RawMessage received
+   */
   void handleInboundStreamMessage(final AddressType addressType, final RawMessage message);
+
+  /**
+   * Handles the inbound {@code messages} of one read as a batch, each of
+   * which must be closed as by {@code handleInboundStreamMessage()}. By
+   * default each message is handled in turn.
+   * @param addressType the AddressType of the inbound channel
+   * @param messages the {@code List<RawMessage>} received
+   */
+  default void handleInboundStreamMessages(final AddressType addressType, final List<RawMessage> messages) {
+    for (final RawMessage message : messages) {
+      handleInboundStreamMessage(addressType, message);
+    }
+  }
 }
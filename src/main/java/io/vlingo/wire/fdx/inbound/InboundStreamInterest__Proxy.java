@@ -7,6 +7,7 @@
 
 package io.vlingo.wire.fdx.inbound;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 import io.vlingo.actors.Actor;
@@ -34,4 +35,14 @@ public class InboundStreamInterest__Proxy implements InboundStreamInterest {
       actor.deadLetters().failedDelivery(new DeadLetter(actor, "handleInboundStreamMessage(AddressType, RawMessage)"));
     }
   }
+
+  @Override
+  public void handleInboundStreamMessages(final AddressType addressType, final List<RawMessage> messages) {
+    if (!actor.isStopped()) {
+      final Consumer<InboundStreamInterest> consumer = (actor) -> actor.handleInboundStreamMessages(addressType, messages);
+      mailbox.send(new LocalMessage<InboundStreamInterest>(actor, InboundStreamInterest.class, consumer, "handleInboundStreamMessages(AddressType, List<RawMessage>)"));
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, "handleInboundStreamMessages(AddressType, List<RawMessage>)"));
+    }
+  }
 }
@@ -121,7 +121,7 @@ public class RSocketChannelInboundReader implements ChannelReader, ChannelMessag
             logger.error("Unexpected error in inbound channel {}. Message ignored.", name, t);
             //Clear builder resources in case of error. Otherwise we will get a BufferOverflow.
             rawMessageBuilder.prepareForNextMessage();
-            rawMessageBuilder.workBuffer().clear();
+            rawMessageBuilder.clear();
           } finally {
             //Important! Because using PayloadDecoder.ZERO_COPY frame decoder
             payload.release();
@@ -11,6 +11,7 @@ import io.vlingo.actors.Logger;
 import io.vlingo.wire.channel.ChannelMessageDispatcher;
 import io.vlingo.wire.channel.ChannelReader;
 import io.vlingo.wire.channel.ChannelReaderConsumer;
+import io.vlingo.wire.channel.SelectorEventLoop;
 import io.vlingo.wire.channel.SocketChannelSelectionReader;
 import io.vlingo.wire.message.RawMessageBuilder;
 
@@ -26,6 +27,7 @@ public class SocketChannelInboundReader implements ChannelReader, ChannelMessage
   private final ServerSocketChannel channel;
   private boolean closed;
   private ChannelReaderConsumer consumer;
+  private SelectorEventLoop eventLoop;
   private final Logger logger;
   private final int maxMessageSize;
   private final String name;
@@ -55,6 +57,10 @@ public class SocketChannelInboundReader implements ChannelReader, ChannelMessage
     if (closed) return;
     
     closed = true;
+
+    if (eventLoop != null) {
+      eventLoop.close();
+    }
     
     try {
       selector.close();
@@ -90,7 +96,8 @@ public class SocketChannelInboundReader implements ChannelReader, ChannelMessage
     if (closed) return;
     
     try {
-      if (selector.selectNow() > 0) {
+      // keys selected by the event loop are still to be processed
+      if (selector.selectNow() > 0 || !selector.selectedKeys().isEmpty()) {
         final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
 
         while (iterator.hasNext()) {
@@ -108,9 +115,24 @@ public class SocketChannelInboundReader implements ChannelReader, ChannelMessage
       }
     } catch (IOException e) {
       logger.error("Failed to read channel selector for: '" + name + "'", e);
+    } finally {
+      if (eventLoop != null) {
+        eventLoop.resume();
+      }
     }
   }
 
+  @Override
+  public boolean probeWhenReady(final Runnable probeRequester) {
+    if (closed) return false;
+
+    if (eventLoop == null) {
+      eventLoop = new SelectorEventLoop(name, selector, probeRequester, logger).start();
+    }
+
+    return true;
+  }
+
 
   //=========================================
   // ChannelMessageDispatcher
@@ -139,6 +161,11 @@ public class SocketChannelInboundReader implements ChannelReader, ChannelMessage
       final SocketChannel clientChannel = serverChannel.accept();
   
       clientChannel.configureBlocking(false);
+
+      if (eventLoop != null) {
+        // a channel registered while selecting is not selected until the next select
+        eventLoop.wakeup();
+      }
   
       final SelectionKey clientChannelKey = clientChannel.register(selector, SelectionKey.OP_READ);
   
@@ -10,6 +10,7 @@ package io.vlingo.wire.fdx.outbound;
 import io.vlingo.actors.Definition;
 import io.vlingo.actors.Stage;
 import io.vlingo.actors.Stoppable;
+import io.vlingo.common.Completes;
 import io.vlingo.wire.message.ByteBufferPool;
 import io.vlingo.wire.message.RawMessage;
 import io.vlingo.wire.node.Id;
@@ -31,7 +32,39 @@ public interface ApplicationOutboundStream extends Stoppable {
     
     return applicationOutboundStream;
   }
+
+  public static ApplicationOutboundStream instance(
+          final Stage stage,
+          final ManagedOutboundChannelProvider provider,
+          final ByteBufferPool byteBufferPool,
+          final long bufferTimeout) {
+
+    final Definition definition =
+            Definition.has(
+                    ApplicationOutboundStreamActor.class,
+                    Definition.parameters(provider, byteBufferPool, bufferTimeout),
+                    "application-outbound-stream");
+
+    return stage.actorFor(ApplicationOutboundStream.class, definition);
+  }
   
   void broadcast(final RawMessage message);
   void sendTo(final RawMessage message, final Id targetId);
+
+  /**
+   * Broadcasts {@code message} as does {@code broadcast()}, answering {@code true}
+   * once it is written, or {@code false} if it was dropped because no pooled
+   * buffer became available within the buffer timeout.
+   * @param message the RawMessage to broadcast
+   * @return {@code Completes<Boolean>}
+   */
+  Completes<Boolean> tryBroadcast(final RawMessage message);
+
+  /**
+   * Sends {@code message} as does {@code sendTo()}, answering as does {@code tryBroadcast()}.
+   * @param message the RawMessage to send
+   * @param targetId the Id of the node to send to
+   * @return {@code Completes<Boolean>}
+   */
+  Completes<Boolean> trySendTo(final RawMessage message, final Id targetId);
 }
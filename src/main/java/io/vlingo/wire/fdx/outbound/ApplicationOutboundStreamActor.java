@@ -7,21 +7,55 @@
 
 package io.vlingo.wire.fdx.outbound;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import io.vlingo.actors.Actor;
+import io.vlingo.actors.CompletesEventually;
+import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduled;
 import io.vlingo.wire.message.ByteBufferPool;
+import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
+import io.vlingo.wire.message.ConsumerByteBuffer;
 import io.vlingo.wire.message.RawMessage;
 import io.vlingo.wire.node.Id;
 
+/**
+ * Writes outbound messages through pooled buffers. When the pool is exhausted
+ * the messages are held in order while a buffer is awaited, rather than
+ * spinning this actor's thread, which may be needed by the very actors that
+ * would release buffers. A message waits at most the buffer timeout, after
+ * which it is dropped, and {@code tryBroadcast()} or {@code trySendTo()}
+ * callers are answered {@code false}.
+ */
 public class ApplicationOutboundStreamActor extends Actor
-  implements ApplicationOutboundStream {
+  implements ApplicationOutboundStream, Scheduled<PooledByteBuffer> {
+
+  public static final long DefaultBufferTimeout = 1_000L;
 
+  private final long bufferTimeout;
   private final Outbound outbound;
-  
+  private final Deque<PendingMessage> pending;
+  private final Scheduled<PooledByteBuffer> self;
+  private boolean waiting;
+
   public ApplicationOutboundStreamActor(
           final ManagedOutboundChannelProvider provider,
           final ByteBufferPool byteBufferPool) {
+
+    this(provider, byteBufferPool, DefaultBufferTimeout);
+  }
+
+  @SuppressWarnings("unchecked")
+  public ApplicationOutboundStreamActor(
+          final ManagedOutboundChannelProvider provider,
+          final ByteBufferPool byteBufferPool,
+          final long bufferTimeout) {
     
     this.outbound = new Outbound(provider, byteBufferPool);
+    this.bufferTimeout = bufferTimeout;
+    this.pending = new ArrayDeque<>();
+    this.self = selfAs(Scheduled.class);
   }
 
   //===================================
@@ -30,12 +64,52 @@ public class ApplicationOutboundStreamActor extends Actor
 
   @Override
   public void broadcast(final RawMessage message) {
-    outbound.broadcast(message);
+    send(new PendingMessage(message, null, null));
   }
 
   @Override
   public void sendTo(final RawMessage message, final Id targetId) {
-    outbound.sendTo(message, targetId);
+    send(new PendingMessage(message, targetId, null));
+  }
+
+  @Override
+  public Completes<Boolean> tryBroadcast(final RawMessage message) {
+    send(new PendingMessage(message, null, completesEventually()));
+    return completes();
+  }
+
+  @Override
+  public Completes<Boolean> trySendTo(final RawMessage message, final Id targetId) {
+    send(new PendingMessage(message, targetId, completesEventually()));
+    return completes();
+  }
+
+  //===================================
+  // Scheduled
+  //===================================
+
+  /**
+   * Receives the awaited buffer for the oldest pending message, or
+   * {@code null} if none became available within the buffer timeout.
+   */
+  @Override
+  public void intervalSignal(final Scheduled<PooledByteBuffer> scheduled, final PooledByteBuffer buffer) {
+    waiting = false;
+
+    final PendingMessage message = pending.poll();
+
+    if (buffer == null) {
+      if (message != null) {
+        logger().warn("Outbound message dropped: no pooled buffer available within " + bufferTimeout + " ms");
+        message.answer(false);
+      }
+    } else if (message == null) {
+      buffer.release();
+    } else {
+      write(message, outbound.bytesFrom(message.message, buffer));
+    }
+
+    writePending();
   }
 
   //===================================
@@ -43,8 +117,98 @@ public class ApplicationOutboundStreamActor extends Actor
   //===================================
   
   public void stop() {
+    for (final PendingMessage message : pending) {
+      message.answer(false);
+    }
+    pending.clear();
+
     outbound.close();
     
     super.stop();
   }
+
+  //===================================
+  // internal implementation
+  //===================================
+
+  private void awaitBuffer() {
+    waiting = true;
+
+    outbound
+      .pooledByteBuffer(outbound.totalLengthOf(pending.peek().message), scheduler(), bufferTimeout)
+      .andThenConsume(buffer -> {
+        if (isStopped()) {
+          buffer.release();
+        } else {
+          self.intervalSignal(self, buffer);
+        }
+      })
+      .otherwiseConsume(timedOut -> self.intervalSignal(self, null));
+  }
+
+  private void send(final PendingMessage message) {
+    if (waiting || !pending.isEmpty()) {
+      pending.add(message);    // keep the order of messages
+      return;
+    }
+
+    final ConsumerByteBuffer bytes = tryBytesFrom(message.message);
+
+    if (bytes == null) {
+      pending.add(message);
+      awaitBuffer();
+    } else {
+      write(message, bytes);
+    }
+  }
+
+  private ConsumerByteBuffer tryBytesFrom(final RawMessage message) {
+    if (outbound.isGathered(message)) {
+      return outbound.bytesFrom(message);
+    }
+
+    final PooledByteBuffer buffer = outbound.pooledByteBuffer(outbound.totalLengthOf(message), 1);
+
+    return buffer == null ? null : outbound.bytesFrom(message, buffer);
+  }
+
+  private void write(final PendingMessage message, final ConsumerByteBuffer bytes) {
+    if (message.targetId == null) {
+      outbound.broadcast(bytes);
+    } else {
+      outbound.sendTo(bytes, message.targetId);
+    }
+
+    message.answer(true);
+  }
+
+  private void writePending() {
+    while (!waiting && !pending.isEmpty()) {
+      final ConsumerByteBuffer bytes = tryBytesFrom(pending.peek().message);
+
+      if (bytes == null) {
+        awaitBuffer();
+      } else {
+        write(pending.poll(), bytes);
+      }
+    }
+  }
+
+  private static class PendingMessage {
+    final CompletesEventually completes;
+    final RawMessage message;
+    final Id targetId;
+
+    PendingMessage(final RawMessage message, final Id targetId, final CompletesEventually completes) {
+      this.message = message;
+      this.targetId = targetId;
+      this.completes = completes;
+    }
+
+    void answer(final boolean written) {
+      if (completes != null) {
+        completes.with(written);
+      }
+    }
+  }
 }
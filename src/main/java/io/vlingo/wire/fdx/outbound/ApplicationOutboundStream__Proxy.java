@@ -13,7 +13,10 @@ import io.vlingo.actors.Actor;
 import io.vlingo.actors.DeadLetter;
 import io.vlingo.actors.LocalMessage;
 import io.vlingo.actors.Mailbox;
+import io.vlingo.actors.Returns;
 import io.vlingo.actors.Stoppable;
+import io.vlingo.common.BasicCompletes;
+import io.vlingo.common.Completes;
 import io.vlingo.wire.message.RawMessage;
 import io.vlingo.wire.node.Id;
 
@@ -22,6 +25,8 @@ public class ApplicationOutboundStream__Proxy implements ApplicationOutboundStre
   private static final String representationStop1 = "stop()";
   private static final String representationBroadcast2 = "broadcast(RawMessage)";
   private static final String representationSendTo3 = "sendTo(RawMessage, Id)";
+  private static final String representationTryBroadcast4 = "tryBroadcast(RawMessage)";
+  private static final String representationTrySendTo5 = "trySendTo(RawMessage, Id)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -76,4 +81,30 @@ public class ApplicationOutboundStream__Proxy implements ApplicationOutboundStre
       actor.deadLetters().failedDelivery(new DeadLetter(actor, representationSendTo3));
     }
   }
+
+  @Override
+  public Completes<Boolean> tryBroadcast(final RawMessage message) {
+    if (!actor.isStopped()) {
+      final Consumer<ApplicationOutboundStream> consumer = (actor) -> actor.tryBroadcast(message);
+      final Completes<Boolean> completes = new BasicCompletes<>(actor.scheduler());
+      mailbox.send(new LocalMessage<ApplicationOutboundStream>(actor, ApplicationOutboundStream.class, consumer, Returns.value(completes), representationTryBroadcast4));
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, representationTryBroadcast4));
+    }
+    return null;
+  }
+
+  @Override
+  public Completes<Boolean> trySendTo(final RawMessage message, final Id targetId) {
+    if (!actor.isStopped()) {
+      final Consumer<ApplicationOutboundStream> consumer = (actor) -> actor.trySendTo(message, targetId);
+      final Completes<Boolean> completes = new BasicCompletes<>(actor.scheduler());
+      mailbox.send(new LocalMessage<ApplicationOutboundStream>(actor, ApplicationOutboundStream.class, consumer, Returns.value(completes), representationTrySendTo5));
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, representationTrySendTo5));
+    }
+    return null;
+  }
 }
@@ -9,7 +9,26 @@ package io.vlingo.wire.fdx.outbound;
 
 import java.nio.ByteBuffer;
 
+import io.vlingo.wire.message.ConsumerByteBuffer;
+
 public interface ManagedOutboundChannel {
   void close();
   void write(final ByteBuffer buffer);
+
+  /**
+   * Writes the remaining bytes of {@code buffer} without changing its position,
+   * and releases one reference to it once the bytes are written. The buffer may
+   * be shared with other channels, so a channel that writes asynchronously holds
+   * the reference rather than copying the bytes. By default the write is done
+   * synchronously through {@code write(ByteBuffer)}.
+   * @param buffer the ConsumerByteBuffer to write, with a reference for this channel
+   */
+  default void write(final ConsumerByteBuffer buffer) {
+    try {
+      final ByteBuffer bytes = buffer.asByteBuffer();
+      write(bytes.duplicate().order(bytes.order()));
+    } finally {
+      buffer.release();
+    }
+  }
 }
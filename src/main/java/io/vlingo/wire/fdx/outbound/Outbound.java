@@ -9,30 +9,78 @@ package io.vlingo.wire.fdx.outbound;
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
+import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduler;
+import io.vlingo.wire.message.BasicConsumerByteBuffer;
 import io.vlingo.wire.message.ByteBufferPool;
 import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
 import io.vlingo.wire.message.ConsumerByteBuffer;
 import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageCompressor;
+import io.vlingo.wire.message.RawMessageFragmenter;
+import io.vlingo.wire.message.RawMessageHeader;
+import io.vlingo.wire.message.RawMessageSequencer;
 import io.vlingo.wire.node.Id;
 import io.vlingo.wire.node.Node;
 
 public class Outbound {
+  // messages of at least this length are gathered from their own bytes
+  // rather than copied into a pooled buffer
+  public static final int GatheringThreshold = 4 * 1024;
+
+  private final RawMessageCompressor compressor;
+  private final RawMessageFragmenter fragmenter;
   private final ByteBufferPool pool;
   private final ManagedOutboundChannelProvider provider;
+  private final RawMessageSequencer sequencer;
+  private final Map<Id, RawMessageSequencer> sequencers;
 
   public Outbound(
       final ManagedOutboundChannelProvider provider,
       final ByteBufferPool byteBufferPool) {
 
+    this(provider, byteBufferPool, null, null);
+  }
+
+  public Outbound(
+      final ManagedOutboundChannelProvider provider,
+      final ByteBufferPool byteBufferPool,
+      final RawMessageSequencer sequencer) {
+
+    this(provider, byteBufferPool, sequencer, null);
+  }
+
+  /**
+   * Constructs my default state, where each message is stamped by
+   * {@code sequencer} with a version 2 header, when given, and is stamped
+   * again when written with the sequence of each channel, by a sequencer of
+   * the channel that is checksummed as {@code sequencer} is. The stamped
+   * bytes are then copied for each channel rather than shared. Messages
+   * above the threshold of {@code compressor}, when given, are compressed.
+   * @param provider the ManagedOutboundChannelProvider of my channels
+   * @param byteBufferPool the ByteBufferPool of the bytes to write
+   * @param sequencer the RawMessageSequencer of my message headers, or null for version 1 headers
+   * @param compressor the RawMessageCompressor of my messages, or null for none
+   */
+  public Outbound(
+      final ManagedOutboundChannelProvider provider,
+      final ByteBufferPool byteBufferPool,
+      final RawMessageSequencer sequencer,
+      final RawMessageCompressor compressor) {
+
     this.provider = provider;
     this.pool = byteBufferPool;
+    this.sequencer = sequencer;
+    this.sequencers = new HashMap<>();
+    this.compressor = compressor;
+    this.fragmenter = new RawMessageFragmenter(byteBufferPool.maxBufferSize);
   }
 
   public void broadcast(final RawMessage message) {
-    final ConsumerByteBuffer buffer = pool.access();
-    broadcast(bytesFrom(message, buffer));
+    broadcast(bytesFrom(message));
   }
 
   public void broadcast(final ConsumerByteBuffer buffer) {
@@ -42,25 +90,56 @@ public class Outbound {
   }
 
   public void broadcast(final Collection<Node> selectNodes, final RawMessage message) {
-    final ConsumerByteBuffer buffer = pool.access();
-    broadcast(selectNodes, bytesFrom(message, buffer));
+    broadcast(selectNodes, bytesFrom(message));
   }
 
   public void broadcast(final Collection<Node> selectNodes, final ConsumerByteBuffer buffer) {
     broadcast(provider.channelsFor(selectNodes), buffer);
   }
 
+  public ConsumerByteBuffer bytesFrom(final RawMessage message) {
+    final RawMessage compressed = compressed(message);
+
+    // too large for a pooled buffer, so too large for the readers
+    if (fragmenter.isFragmented(totalLengthOf(compressed))) {
+      return fragmenter.fragment(compressed, sequencer);
+    }
+    if (compressed.length() >= GatheringThreshold) {
+      return sequenced(compressed).asCompositeByteBuffer();
+    }
+    return copied(compressed, pool.accessFitting(totalLengthOf(compressed)));
+  }
+
   public ConsumerByteBuffer bytesFrom(final RawMessage message, final ConsumerByteBuffer buffer) {
-    message.copyBytesTo(buffer.clear().asByteBuffer());
-    return buffer.flip();
+    return copied(compressed(message), buffer);
+  }
+
+  public boolean isGathered(final RawMessage message) {
+    return message.length() >= GatheringThreshold || fragmenter.isFragmented(totalLengthOf(message));
+  }
+
+  /**
+   * Answers the number of bytes that {@code message} is written as, with
+   * the header version that it is written with, and at most its length
+   * when it is compressed.
+   * @param message the RawMessage to be written
+   * @return int
+   */
+  public int totalLengthOf(final RawMessage message) {
+    if (sequencer == null && compressor == null) {
+      return message.totalLength();
+    }
+    return RawMessageHeader.BYTES_V2 + message.length();
   }
 
   public void close() {
     provider.close();
+    sequencers.clear();
   }
 
   public void close(final Id id) {
     provider.close(id);
+    sequencers.remove(id);
   }
 
   public void open(final Id id) {
@@ -71,29 +150,72 @@ public class Outbound {
     return pool.access();
   }
 
+  public final PooledByteBuffer pooledByteBuffer(final int size) {
+    return pool.accessFitting(size);
+  }
+
+  public final PooledByteBuffer pooledByteBuffer(final int size, final int retries) {
+    return pool.accessFitting("untagged", size, retries);
+  }
+
+  public final Completes<PooledByteBuffer> pooledByteBuffer(final int size, final Scheduler scheduler, final long timeout) {
+    return pool.accessAsync("untagged", size, scheduler, timeout);
+  }
+
   public void sendTo(final RawMessage message, final Id id) {
-    final ConsumerByteBuffer buffer = pool.access();
-    sendTo(bytesFrom(message, buffer), id);
+    sendTo(bytesFrom(message), id);
   }
 
   public void sendTo(final ConsumerByteBuffer buffer, final Id id) {
     try {
-      open(id);
-      provider.channelFor(id).write(buffer.asByteBuffer());
+      final ManagedOutboundChannel channel = provider.channelFor(id);
+      channel.write(sequencer == null ? buffer.retain() : sequencedCopy(id, buffer));
     } finally {
       buffer.release();
     }
   }
 
   private void broadcast(final Map<Id, ManagedOutboundChannel> channels, final ConsumerByteBuffer buffer) {
+    // each channel is given its own reference, so the one
+    // buffer is reclaimed only after the last write completes
     try {
-      final ByteBuffer bufferToWrite = buffer.asByteBuffer();
-      for (final ManagedOutboundChannel channel: channels.values()) {
-        bufferToWrite.position(0);
-        channel.write(bufferToWrite);
+      for (final Map.Entry<Id, ManagedOutboundChannel> channel : channels.entrySet()) {
+        channel.getValue().write(sequencer == null ? buffer.retain() : sequencedCopy(channel.getKey(), buffer));
       }
     } finally {
       buffer.release();
     }
   }
+
+  private ConsumerByteBuffer copied(final RawMessage message, final ConsumerByteBuffer buffer) {
+    sequenced(message).copyBytesTo(buffer.clear().asByteBuffer());
+    return buffer.flip();
+  }
+
+  private RawMessage compressed(final RawMessage message) {
+    return compressor == null ? message : compressor.compress(message);
+  }
+
+  private RawMessage sequenced(final RawMessage message) {
+    return sequencer == null ? message : sequencer.stamp(message);
+  }
+
+  private ConsumerByteBuffer sequencedCopy(final Id id, final ConsumerByteBuffer buffer) {
+    // the bytes stamped with the sequence of a channel are of that channel only
+    final ConsumerByteBuffer copy = BasicConsumerByteBuffer.allocate(0, buffer.remaining());
+    final ByteBuffer bytes = copy.asByteBuffer();
+    for (final ByteBuffer part : buffer.asByteBuffers()) {
+      bytes.put(part);
+    }
+    bytes.flip();
+
+    RawMessageSequencer channelSequencer = sequencers.get(id);
+    if (channelSequencer == null) {
+      channelSequencer = new RawMessageSequencer(sequencer.isChecksummed());
+      sequencers.put(id, channelSequencer);
+    }
+    channelSequencer.stamp(bytes);
+
+    return copy;
+  }
 }
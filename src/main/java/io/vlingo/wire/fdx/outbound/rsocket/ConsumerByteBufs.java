@@ -0,0 +1,52 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.fdx.outbound.rsocket;
+
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import io.vlingo.wire.message.ConsumerByteBuffer;
+
+/**
+ * Wraps the remaining bytes of a {@code ConsumerByteBuffer} as a Netty
+ * {@code ByteBuf} without copying them. The wrapper owns one reference to the
+ * buffer, which is released when Netty deallocates the wrapper, that is, once
+ * the transport has written the bytes.
+ */
+final class ConsumerByteBufs {
+  static ByteBuf wrap(final ConsumerByteBuffer buffer) {
+    final ByteBuffer view = buffer.asByteBuffer().duplicate();
+
+    if (view.isDirect()) {
+      return new UnpooledDirectByteBuf(ByteBufAllocator.DEFAULT, view, view.remaining()) {
+        @Override
+        protected void deallocate() {
+          super.deallocate();
+          buffer.release();
+        }
+      };
+    }
+
+    final ByteBuf wrapped = new UnpooledHeapByteBuf(ByteBufAllocator.DEFAULT, view.array(), view.array().length) {
+      @Override
+      protected void deallocate() {
+        super.deallocate();
+        buffer.release();
+      }
+    };
+
+    final int offset = view.arrayOffset() + view.position();
+
+    return wrapped.setIndex(offset, offset + view.remaining());
+  }
+
+  private ConsumerByteBufs() { }
+}
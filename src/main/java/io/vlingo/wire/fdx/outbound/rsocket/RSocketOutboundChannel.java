@@ -11,9 +11,11 @@ import io.rsocket.RSocket;
 import io.rsocket.RSocketFactory;
 import io.rsocket.frame.decoder.PayloadDecoder;
 import io.rsocket.transport.netty.client.TcpClientTransport;
+import io.rsocket.util.ByteBufPayload;
 import io.rsocket.util.DefaultPayload;
 import io.vlingo.actors.Logger;
 import io.vlingo.wire.fdx.outbound.ManagedOutboundChannel;
+import io.vlingo.wire.message.ConsumerByteBuffer;
 import io.vlingo.wire.node.Address;
 import reactor.core.publisher.Mono;
 
@@ -62,21 +64,7 @@ public class RSocketOutboundChannel implements ManagedOutboundChannel {
         data.put(buffer);
         data.flip();
 
-        final Payload payload = DefaultPayload.create(data);
-        rSocket.fireAndForget(payload)
-               .onErrorResume(throwable -> {
-                 if (throwable instanceof ClosedChannelException) {
-                   //close outbound channel
-                   rSocket.dispose();
-                   logger.error("Connection with {} closed", address, throwable);
-                   return Mono.error(throwable);
-                 } else {
-                   logger.error("Failed write to {}, because: {}", address, throwable.getMessage(), throwable);
-                   return Mono.empty();
-                 }
-               })
-               .doFinally(signalType -> data.clear())
-               .subscribe();
+        fireAndForget(rSocket, DefaultPayload.create(data));
       } else {
         logger.warn("RSocket outbound channel for {} is closed. Message dropped", this.address);
       }
@@ -85,6 +73,41 @@ public class RSocketOutboundChannel implements ManagedOutboundChannel {
     }
   }
 
+  @Override
+  public void write(final ConsumerByteBuffer buffer) {
+    final Optional<RSocket> socket = prepareSocket();
+    if (socket.isPresent()) {
+      final RSocket rSocket = socket.get();
+      //check if channel still open
+      if (!rSocket.isDisposed()) {
+        //No copy: the payload holds the reference until the frame is written.
+        fireAndForget(rSocket, ByteBufPayload.create(ConsumerByteBufs.wrap(buffer)));
+        return;
+      } else {
+        logger.warn("RSocket outbound channel for {} is closed. Message dropped", this.address);
+      }
+    } else {
+      logger.debug("RSocket outbound channel for {} not ready. Message dropped", this.address);
+    }
+    buffer.release();
+  }
+
+  private void fireAndForget(final RSocket rSocket, final Payload payload) {
+    rSocket.fireAndForget(payload)
+           .onErrorResume(throwable -> {
+             if (throwable instanceof ClosedChannelException) {
+               //close outbound channel
+               rSocket.dispose();
+               logger.error("Connection with {} closed", address, throwable);
+               return Mono.error(throwable);
+             } else {
+               logger.error("Failed write to {}, because: {}", address, throwable.getMessage(), throwable);
+               return Mono.empty();
+             }
+           })
+           .subscribe();
+  }
+
   private Optional<RSocket> prepareSocket() {
     if (this.clientSocket == null) {
       try {
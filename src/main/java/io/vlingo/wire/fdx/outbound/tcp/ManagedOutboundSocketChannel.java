@@ -9,6 +9,7 @@ package io.vlingo.wire.fdx.outbound.tcp;
 
 import io.vlingo.actors.Logger;
 import io.vlingo.wire.fdx.outbound.ManagedOutboundChannel;
+import io.vlingo.wire.message.ConsumerByteBuffer;
 import io.vlingo.wire.node.Address;
 import io.vlingo.wire.node.Node;
 
@@ -55,6 +56,28 @@ public class ManagedOutboundSocketChannel implements ManagedOutboundChannel {
     }
   }
 
+  @Override
+  public void write(final ConsumerByteBuffer buffer) {
+    try {
+      final SocketChannel preparedChannel = preparedChannel();
+
+      if (preparedChannel != null) {
+        try {
+          final ByteBuffer[] buffers = buffer.asByteBuffers();
+          long remaining = buffer.remaining();
+          while (remaining > 0) {
+            remaining -= preparedChannel.write(buffers);
+          }
+        } catch (Exception e) {
+          logger.error("Write to " + node + " failed because: " + e.getMessage(), e);
+          close();
+        }
+      }
+    } finally {
+      buffer.release();
+    }
+  }
+
   private SocketChannel preparedChannel() {
     try {
       if (channel != null) {
@@ -17,9 +17,17 @@ public class BasicConsumerByteBuffer implements ConsumerByteBuffer {
     return new BasicConsumerByteBuffer(id, maxBufferSize);
   }
 
+  public static BasicConsumerByteBuffer allocate(final int id, final int maxBufferSize, final boolean direct) {
+    return new BasicConsumerByteBuffer(id, maxBufferSize, direct);
+  }
+
   public BasicConsumerByteBuffer(final int id, final int maxBufferSize) {
+    this(id, maxBufferSize, ByteBufferAllocator.isDirectMode());
+  }
+
+  public BasicConsumerByteBuffer(final int id, final int maxBufferSize, final boolean direct) {
     this.id = id;
-    this.buffer = ByteBufferAllocator.allocate(maxBufferSize);
+    this.buffer = ByteBufferAllocator.allocate(maxBufferSize, direct);
   }
 
   @Override
@@ -45,6 +53,11 @@ public class BasicConsumerByteBuffer implements ConsumerByteBuffer {
     return id;
   }
 
+  @Override
+  public ConsumerByteBuffer retain() {
+    return this;
+  }
+
   @Override
   public void release() {
   }
@@ -74,6 +87,11 @@ public class BasicConsumerByteBuffer implements ConsumerByteBuffer {
     return buffer;
   }
 
+  @Override
+  public ByteBuffer[] asByteBuffers() {
+    return new ByteBuffer[] { buffer.duplicate().order(buffer.order()) };
+  }
+
   @Override
   public CharBuffer asCharBuffer() {
     return buffer.asCharBuffer();
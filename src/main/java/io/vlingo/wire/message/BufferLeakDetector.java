@@ -0,0 +1,140 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.vlingo.actors.Logger;
+
+/**
+ * Detects pooled buffers that are claimed and not released. One in every
+ * {@code samplingInterval} claims is sampled by recording its tag, time and
+ * stack trace, and a sampled buffer still held after {@code maxAge}
+ * milliseconds is reported as a leak. Claims that are not sampled cost only
+ * a thread-local random draw, so that detection may be left enabled in
+ * production with a large interval.
+ */
+public class BufferLeakDetector {
+  private final Set<SampledClaim> claims;
+  private final long maxAgeNanos;
+  private final int samplingInterval;
+
+  public BufferLeakDetector(final int samplingInterval, final long maxAge) {
+    if (samplingInterval < 1) {
+      throw new IllegalArgumentException("The sampling interval must be at least 1.");
+    }
+    this.samplingInterval = samplingInterval;
+    this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAge);
+    this.claims = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Answers the sampled claims held longer than the max age.
+   * @return {@code List<SampledClaim>}
+   */
+  public List<SampledClaim> leaks() {
+    final long now = System.nanoTime();
+    final List<SampledClaim> leaks = new ArrayList<>();
+    for (final SampledClaim claim : claims) {
+      if (now - claim.claimedAt > maxAgeNanos) {
+        leaks.add(claim);
+      }
+    }
+    return leaks;
+  }
+
+  /**
+   * Answers the number of leaks by the tag of their claimants.
+   * @return {@code Map<String, Integer>}
+   */
+  public Map<String, Integer> leaksByTag() {
+    final Map<String, Integer> byTag = new TreeMap<>();
+    for (final SampledClaim leak : leaks()) {
+      byTag.merge(String.valueOf(leak.tag), 1, Integer::sum);
+    }
+    return byTag;
+  }
+
+  /**
+   * Logs a summary of the leaks by tag, and the claim site of one leak per tag.
+   * @param logger the Logger to report to
+   * @return int the number of leaks reported
+   */
+  public int report(final Logger logger) {
+    final List<SampledClaim> leaks = leaks();
+    if (leaks.isEmpty()) {
+      return 0;
+    }
+
+    logger.warn("Pooled buffers claimed and not released (sampled 1 in " + samplingInterval + "): " + leaksByTag());
+
+    final Map<String, SampledClaim> oneByTag = new TreeMap<>();
+    for (final SampledClaim leak : leaks) {
+      oneByTag.putIfAbsent(String.valueOf(leak.tag), leak);
+    }
+    for (final SampledClaim leak : oneByTag.values()) {
+      logger.warn("Leaked " + leak, leak.site);
+    }
+
+    return leaks.size();
+  }
+
+  public int sampled() {
+    return claims.size();
+  }
+
+  public int samplingInterval() {
+    return samplingInterval;
+  }
+
+  SampledClaim claimed(final int bufferId, final String tag) {
+    if (samplingInterval > 1 && ThreadLocalRandom.current().nextInt(samplingInterval) != 0) {
+      return null;
+    }
+    final SampledClaim claim = new SampledClaim(this, bufferId, tag);
+    claims.add(claim);
+    return claim;
+  }
+
+  public static final class SampledClaim {
+    public final int bufferId;
+    public final long claimedAt;
+    public final Throwable site;
+    public final String tag;
+
+    private final BufferLeakDetector detector;
+
+    SampledClaim(final BufferLeakDetector detector, final int bufferId, final String tag) {
+      this.detector = detector;
+      this.bufferId = bufferId;
+      this.tag = tag;
+      this.claimedAt = System.nanoTime();
+      this.site = new Throwable("Buffer " + bufferId + " claimed by " + tag);
+    }
+
+    public long age() {
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - claimedAt);
+    }
+
+    void released() {
+      detector.claims.remove(this);
+    }
+
+    @Override
+    public String toString() {
+      return "SampledClaim[bufferId=" + bufferId + " tag=" + tag + " age=" + age() + "ms]";
+    }
+  }
+}
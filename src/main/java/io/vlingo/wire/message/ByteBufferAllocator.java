@@ -12,16 +12,54 @@ import java.nio.ByteOrder;
 
 public class ByteBufferAllocator {
   private static final boolean BigEndian = ByteOrder.nativeOrder().equals(ByteOrder.BIG_ENDIAN);
-  
+
+  // off by default; may be enabled with -Dio.vlingo.wire.directBuffers=true
+  private static volatile boolean directMode = Boolean.getBoolean("io.vlingo.wire.directBuffers");
+
   public static ByteBuffer allocate(final int capacity) {
     final ByteBuffer buffer = ByteBuffer.allocate(capacity);
     buffer.order(BigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
     return buffer;
   }
-  
+
+  public static ByteBuffer allocate(final int capacity, final boolean direct) {
+    return direct ? allocateDirect(capacity) : allocate(capacity);
+  }
+
+  /**
+   * Answers a {@code ByteBuffer} of {@code bytes} in the order of my buffers.
+   * @param bytes the byte[] to wrap
+   * @return ByteBuffer
+   */
+  public static ByteBuffer wrap(final byte[] bytes) {
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    buffer.order(BigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    return buffer;
+  }
+
   public static ByteBuffer allocateDirect(final int capacity) {
     final ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
     buffer.order(BigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
     return buffer;
   }
+
+  /**
+   * Answers a buffer for socket I/O, which is a direct buffer when the
+   * direct mode is enabled. Direct buffers are read and written by the
+   * channels without the JDK copying them through a temporary direct
+   * buffer, but they have no accessible {@code array()}.
+   * @param capacity the int capacity of the buffer
+   * @return ByteBuffer
+   */
+  public static ByteBuffer allocateForIO(final int capacity) {
+    return allocate(capacity, directMode);
+  }
+
+  public static void directMode(final boolean direct) {
+    directMode = direct;
+  }
+
+  public static boolean isDirectMode() {
+    return directMode;
+  }
 }
@@ -7,71 +7,654 @@
 
 package io.vlingo.wire.message;
 
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import io.vlingo.common.Cancellable;
+import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduled;
+import io.vlingo.common.Scheduler;
+
+/**
+ * A pool of {@code PooledByteBuffer} instances. The idle buffers are kept on
+ * a lock-free stack of pool indexes, so both claiming and releasing a buffer
+ * take constant time regardless of the pool size.
+ * <p>
+ * A pool is elastic when its initial size is less than its max size. It then
+ * allocates buffers on demand up to the max size, and when more than the high
+ * watermark of buffers are idle and the pool has not been busy for the idle
+ * timeout, it drops idle buffers until the low watermark remain. A pool whose
+ * initial and max sizes are the same is fixed and never grows or shrinks.
+ * <p>
+ * A pool shared by many threads may be given a thread cache batch size, in
+ * which case each thread claims from and releases to a small cache of its
+ * own, and moves buffers to and from the shared stack a batch at a time.
+ * A buffer may still be released on any thread, and a thread that finds
+ * the pool exhausted takes buffers cached by other threads.
+ * <p>
+ * Instead of retrying, a claimant may use {@code accessAsync()} to wait for a
+ * buffer without holding its thread. Waiters are handed released buffers in
+ * the order they began waiting.
+ */
 public class ByteBufferPool {
+  public static final long DefaultIdleTimeout = 10_000L;
+
+  private static final int NoIndex = -1;
+
   public final int maxBufferSize;
 
+  private final AtomicInteger allocated;
+  private final boolean direct;
+  private final boolean elastic;
+  private final IndexStack free;          // allocated buffers not in use
+  private final int highWatermark;
+  private final AtomicInteger idle;
+  private final long idleTimeoutNanos;
+  private volatile BufferLeakDetector leakDetector;  // null unless leaks are detected
+  private volatile long lastBusy;         // System.nanoTime() of the last growth or claim below the low watermark
+  private final int lowWatermark;
+  private final int[] next;               // stack links, shared by all stacks of this pool
   private final PooledByteBuffer[] pool;
-  private final int poolSize;
+  private final ThreadLocal<ThreadCache> threadCache;  // null unless thread caching is enabled
+  private final int threadCacheBatchSize;
+  private final List<ThreadCache> threadCaches;
+  private final AtomicBoolean trimming;
+  private final IndexStack unallocated;   // slots without a buffer
+  private final Queue<Waiter> waiters;
 
   public ByteBufferPool(final int poolSize, final int maxBufferSize) {
-    this.poolSize = poolSize;
-    this.maxBufferSize = maxBufferSize;
-    this.pool = new PooledByteBuffer[poolSize];
+    this(poolSize, maxBufferSize, ByteBufferAllocator.isDirectMode());
+  }
 
-    for (int idx = 0; idx < poolSize; ++idx) {
-      pool[idx] = new PooledByteBuffer(idx, maxBufferSize);
-    }
+  public ByteBufferPool(final int poolSize, final int maxBufferSize, final boolean direct) {
+    this(poolSize, poolSize, poolSize, poolSize, DefaultIdleTimeout, maxBufferSize, direct);
   }
 
-  public int available() {
-    // this is not an accurate calculation because the number
-    // of in-use buffers could change before the loop completes
-    // and/or the result is answered.
+  public ByteBufferPool(final int poolSize, final int maxBufferSize, final boolean direct, final int threadCacheBatchSize) {
+    this(poolSize, poolSize, poolSize, poolSize, DefaultIdleTimeout, maxBufferSize, direct, threadCacheBatchSize);
+  }
+
+  public ByteBufferPool(final int initialPoolSize, final int maxPoolSize, final int maxBufferSize) {
+    this(initialPoolSize,
+         maxPoolSize,
+         initialPoolSize,
+         initialPoolSize + (maxPoolSize - initialPoolSize) / 2,
+         DefaultIdleTimeout,
+         maxBufferSize,
+         ByteBufferAllocator.isDirectMode());
+  }
 
-    int available = poolSize;
+  public ByteBufferPool(
+          final int initialPoolSize,
+          final int maxPoolSize,
+          final int lowWatermark,
+          final int highWatermark,
+          final long idleTimeout,
+          final int maxBufferSize,
+          final boolean direct) {
 
-    for (int idx = 0; idx < poolSize; ++idx) {
-      if (pool[idx].isInUse()) {
-        --available;
-      }
+    this(initialPoolSize, maxPoolSize, lowWatermark, highWatermark, idleTimeout, maxBufferSize, direct, 0);
+  }
+
+  public ByteBufferPool(
+          final int initialPoolSize,
+          final int maxPoolSize,
+          final int lowWatermark,
+          final int highWatermark,
+          final long idleTimeout,
+          final int maxBufferSize,
+          final boolean direct,
+          final int threadCacheBatchSize) {
+
+    if (initialPoolSize < 0 || initialPoolSize > maxPoolSize) {
+      throw new IllegalArgumentException("The initial pool size must be between 0 and the max pool size " + maxPoolSize);
+    }
+    if (lowWatermark < 0 || lowWatermark > highWatermark || highWatermark > maxPoolSize) {
+      throw new IllegalArgumentException("The watermarks must satisfy 0 <= low <= high <= max pool size " + maxPoolSize);
     }
+    if (threadCacheBatchSize < 0) {
+      throw new IllegalArgumentException("The thread cache batch size must not be negative.");
+    }
+
+    this.maxBufferSize = maxBufferSize;
+    this.direct = direct;
+    this.elastic = initialPoolSize < maxPoolSize;
+    this.lowWatermark = lowWatermark;
+    this.highWatermark = highWatermark;
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+    this.pool = new PooledByteBuffer[maxPoolSize];
+    this.allocated = new AtomicInteger(initialPoolSize);
+    this.idle = new AtomicInteger(initialPoolSize);
+    this.trimming = new AtomicBoolean(false);
+    this.lastBusy = System.nanoTime();
+
+    for (int idx = 0; idx < initialPoolSize; ++idx) {
+      pool[idx] = new PooledByteBuffer(idx, maxBufferSize, direct);
+    }
+
+    this.next = new int[maxPoolSize];
+    this.free = new IndexStack(next, 0, initialPoolSize);
+    this.unallocated = new IndexStack(next, initialPoolSize, maxPoolSize);
+
+    this.threadCacheBatchSize = threadCacheBatchSize;
+    this.threadCaches = new CopyOnWriteArrayList<>();
+    this.threadCache = threadCacheBatchSize > 0 ? ThreadLocal.withInitial(this::newThreadCache) : null;
+
+    this.waiters = new ConcurrentLinkedQueue<>();
+  }
 
-    return available;
+  /**
+   * Answers the number of buffers that may be claimed without waiting,
+   * which are the idle buffers plus those the pool may still allocate.
+   * @return int
+   */
+  public int available() {
+    int cached = 0;
+    for (final ThreadCache cache : threadCaches) {
+      cached += cache.count.get();
+    }
+    return idle.get() + cached + (pool.length - allocated.get());
   }
 
   public PooledByteBuffer access() {
     return accessFor("untagged");
   }
 
+  /**
+   * Answers the number of buffers currently allocated, both idle and in use.
+   * @return int
+   */
+  public int allocated() {
+    return allocated.get();
+  }
+
   public PooledByteBuffer accessFor(final String tag) {
     return accessFor(tag, Integer.MAX_VALUE);
   }
 
   public PooledByteBuffer accessFor(final String tag, final int retries) {
-    for (int count = 0; count < retries; ++count) {
-      for (int idx = 0; idx < poolSize; ++idx) {
-        final PooledByteBuffer buffer = pool[idx];
-        if (buffer.claimUse(tag)) {
-          return buffer;
+    // a single retry is now a single pop rather than a full pool scan,
+    // so Integer.MAX_VALUE must keep its meaning of "until available"
+    final boolean unbounded = retries == Integer.MAX_VALUE;
+    final ThreadCache cache = threadCache == null ? null : threadCache.get();
+
+    for (int count = 0; unbounded || count < retries; ++count) {
+      int idx = cache == null ? popIdle() : cache.pop();
+      if (idx != NoIndex) {
+        return pool[idx].claimUse(tag);
+      }
+
+      idx = unallocated.pop();
+      if (idx != NoIndex) {
+        pool[idx] = new PooledByteBuffer(idx, maxBufferSize, direct);
+        allocated.incrementAndGet();
+        lastBusy = System.nanoTime();
+        return pool[idx].claimUse(tag);
+      }
+
+      if (cache != null) {
+        idx = popCachedByOthers();
+        if (idx != NoIndex) {
+          return pool[idx].claimUse(tag);
         }
       }
     }
     return null;
   }
 
+  public PooledByteBuffer accessFitting(final int size) {
+    return accessFitting("untagged", size);
+  }
+
+  public PooledByteBuffer accessFitting(final String tag, final int size) {
+    return accessFitting(tag, size, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Answers a buffer with a capacity of at least {@code size}. All buffers of
+   * this pool have the same capacity, so this is {@code accessFor(tag, retries)}
+   * guarded by the size check; see {@code TieredByteBufferPool} for pools that
+   * hand out the smallest buffer that fits.
+   * @param tag the String tag of the claimant
+   * @param size the int minimum capacity required
+   * @param retries the int number of attempts before answering null
+   * @return PooledByteBuffer
+   */
+  public PooledByteBuffer accessFitting(final String tag, final int size, final int retries) {
+    if (size > maxBufferSize) {
+      throw new IllegalArgumentException("Requested size " + size + " exceeds the max buffer size " + maxBufferSize);
+    }
+    return accessFor(tag, retries);
+  }
+
+  /**
+   * Answers a {@code Completes} of a buffer with a capacity of at least
+   * {@code size}. It is completed immediately if a buffer is available, and
+   * otherwise when one is released. If none is released within {@code timeout}
+   * milliseconds it is completed with a {@code null} outcome, which is seen as
+   * a failure by {@code otherwise()} and {@code otherwiseConsume()}.
+   * @param tag the String tag of the claimant
+   * @param size the int minimum capacity required
+   * @param scheduler the Scheduler used for the timeout
+   * @param timeout the long milliseconds to wait for a release
+   * @return {@code Completes<PooledByteBuffer>}
+   */
+  public Completes<PooledByteBuffer> accessAsync(final String tag, final int size, final Scheduler scheduler, final long timeout) {
+    final PooledByteBuffer buffer = accessFitting(tag, size, 1);
+    if (buffer != null) {
+      return Completes.withSuccess(buffer);
+    }
+    return awaitRelease(tag, scheduler, timeout, this);
+  }
+
+  /**
+   * Enables leak detection with a new {@code BufferLeakDetector}.
+   * @param samplingInterval the int number of claims per sampled claim
+   * @param maxAge the long milliseconds after which a sampled buffer is a leak
+   * @return BufferLeakDetector
+   */
+  public BufferLeakDetector detectLeaks(final int samplingInterval, final long maxAge) {
+    final BufferLeakDetector detector = new BufferLeakDetector(samplingInterval, maxAge);
+    leakDetector(detector);
+    return detector;
+  }
+
+  public BufferLeakDetector leakDetector() {
+    return leakDetector;
+  }
+
+  /**
+   * Sets the {@code BufferLeakDetector} of this pool, or disables leak
+   * detection if {@code detector} is {@code null}.
+   * @param detector the BufferLeakDetector or null
+   */
+  public void leakDetector(final BufferLeakDetector detector) {
+    this.leakDetector = detector;
+  }
+
+  public int maxSize() {
+    return pool.length;
+  }
+
+  /**
+   * Answers the number of buffers this pool may hold, which for an elastic
+   * pool is its max size; see {@code allocated()} for those held now.
+   * @return int
+   */
   public int size() {
     return pool.length;
   }
 
+  /**
+   * Drops idle buffers down to the low watermark if more than the high
+   * watermark are idle and the pool has not been busy for the idle timeout.
+   * This is also attempted on release, but the owner of a pool that may go
+   * quiet can call it periodically so memory is given back without traffic.
+   * @return int the number of buffers dropped
+   */
+  public int trim() {
+    if (!elastic || idle.get() <= highWatermark || !trimming.compareAndSet(false, true)) {
+      return 0;
+    }
+
+    try {
+      if (System.nanoTime() - lastBusy < idleTimeoutNanos) {
+        return 0;
+      }
+
+      int trimmed = 0;
+
+      while (idle.get() > lowWatermark) {
+        final int idx = free.pop();
+        if (idx == NoIndex) {
+          break;
+        }
+        idle.decrementAndGet();
+        pool[idx] = null;
+        allocated.decrementAndGet();
+        unallocated.push(idx);
+        ++trimmed;
+      }
+
+      return trimmed;
+    } finally {
+      trimming.set(false);
+    }
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  /**
+   * Answers a {@code Completes} of the first buffer released by any of
+   * {@code pools}, or of {@code null} after {@code timeout} milliseconds.
+   * One waiter is queued on each pool, and whichever pool hands it a buffer
+   * first takes it, so the others skip it.
+   * @param tag the String tag of the claimant
+   * @param scheduler the Scheduler used for the timeout
+   * @param timeout the long milliseconds to wait for a release
+   * @param pools the ByteBufferPool instances whose releases are awaited
+   * @return {@code Completes<PooledByteBuffer>}
+   */
+  static Completes<PooledByteBuffer> awaitRelease(
+          final String tag,
+          final Scheduler scheduler,
+          final long timeout,
+          final ByteBufferPool... pools) {
+
+    final Waiter waiter = new Waiter(tag, Completes.using(scheduler), pools);
+    for (final ByteBufferPool pool : pools) {
+      pool.waiters.add(waiter);
+    }
+    waiter.timer = scheduler.scheduleOnce(waiter, null, 0L, timeout);
+
+    // a buffer released before the waiter was queued was not handed off
+    for (final ByteBufferPool pool : pools) {
+      final PooledByteBuffer late = pool.accessFor(tag, 1);
+      if (late != null) {
+        if (waiter.take()) {
+          waiter.deliver(late);
+        } else {
+          late.release();
+        }
+        break;
+      }
+    }
+
+    return waiter.completes;
+  }
+
+  private ThreadCache newThreadCache() {
+    final ThreadCache cache = new ThreadCache();
+    threadCaches.add(cache);
+    return cache;
+  }
+
+  private void noteClaimedIdle(final int count) {
+    if (idle.addAndGet(-count) < lowWatermark && elastic) {
+      lastBusy = System.nanoTime();
+    }
+  }
+
+  private void noteReleasedIdle(final int count) {
+    if (idle.addAndGet(count) > highWatermark && elastic) {
+      trim();
+    }
+  }
+
+  private int popCachedByOthers() {
+    for (final ThreadCache cache : threadCaches) {
+      final int idx = cache.stack.pop();
+      if (idx != NoIndex) {
+        cache.count.decrementAndGet();
+        return idx;
+      }
+    }
+    return NoIndex;
+  }
+
+  private int popIdle() {
+    final int idx = free.pop();
+    if (idx != NoIndex) {
+      noteClaimedIdle(1);
+    }
+    return idx;
+  }
+
+  private boolean handOff(final int idx) {
+    Waiter waiter;
+    while ((waiter = waiters.poll()) != null) {
+      if (waiter.take()) {
+        waiter.deliver(pool[idx].claimUse(waiter.tag));
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void reclaim(final int idx) {
+    if (!waiters.isEmpty() && handOff(idx)) {
+      return;
+    }
+
+    if (threadCache != null) {
+      threadCache.get().push(idx);
+    } else {
+      free.push(idx);
+      noteReleasedIdle(1);
+    }
+  }
+
+  /**
+   * A claimant waiting in {@code accessAsync()} on one or more pools, which
+   * is either handed a released buffer or timed out, whichever takes it first.
+   */
+  private static final class Waiter implements Scheduled<Object> {
+    private final Completes<PooledByteBuffer> completes;
+    private final AtomicBoolean done;
+    private final ByteBufferPool[] pools;
+    private final String tag;
+    private volatile Cancellable timer;
+
+    Waiter(final String tag, final Completes<PooledByteBuffer> completes, final ByteBufferPool[] pools) {
+      this.tag = tag;
+      this.completes = completes;
+      this.pools = pools;
+      this.done = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+      if (take()) {
+        dequeue();
+        completes.with(null);
+      }
+    }
+
+    void deliver(final PooledByteBuffer buffer) {
+      final Cancellable timer = this.timer;
+      if (timer != null) {
+        timer.cancel();
+      }
+      dequeue();
+      completes.with(buffer);
+    }
+
+    private void dequeue() {
+      for (final ByteBufferPool pool : pools) {
+        pool.waiters.remove(this);
+      }
+    }
+
+    boolean take() {
+      return done.compareAndSet(false, true);
+    }
+  }
+
+  /**
+   * The buffers cached by one thread. Only the owning thread moves batches
+   * between its cache and the shared stack, but the cache is itself a stack
+   * so that other threads may take from it when the pool is exhausted.
+   */
+  private final class ThreadCache {
+    private final int[] batch;
+    private final AtomicInteger count;
+    private final IndexStack stack;
+
+    ThreadCache() {
+      this.batch = new int[threadCacheBatchSize];
+      this.count = new AtomicInteger(0);
+      this.stack = new IndexStack(next, 0, 0);
+    }
+
+    int pop() {
+      final int idx = stack.pop();
+      if (idx != NoIndex) {
+        count.decrementAndGet();
+        return idx;
+      }
+
+      final int taken = free.popAll(batch, batch.length);
+      if (taken == 0) {
+        return NoIndex;
+      }
+      noteClaimedIdle(taken);
+
+      if (taken > 1) {
+        stack.pushAll(batch, 1, taken);
+        count.addAndGet(taken - 1);
+      }
+      return batch[0];
+    }
+
+    void push(final int idx) {
+      stack.push(idx);
+
+      if (count.incrementAndGet() >= 2 * batch.length) {
+        final int taken = stack.popAll(batch, batch.length);
+        count.addAndGet(-taken);
+        free.pushAll(batch, 0, taken);
+        noteReleasedIdle(taken);
+      }
+    }
+  }
+
+  /**
+   * A lock-free stack of pool indexes. The link of each index is held in a
+   * {@code next} array that is shared by the stacks of a pool, since any
+   * index is on at most one of them at a time.
+   */
+  private static final class IndexStack {
+    private final AtomicLong head;    // stamp in the high 32 bits, index in the low 32 bits
+    private final int[] next;
+
+    IndexStack(final int[] next, final int fromIndex, final int toIndex) {
+      this.next = next;
+
+      for (int idx = fromIndex; idx < toIndex; ++idx) {
+        next[idx] = idx + 1 < toIndex ? idx + 1 : NoIndex;
+      }
+
+      this.head = new AtomicLong(headOf(0, fromIndex < toIndex ? fromIndex : NoIndex));
+    }
+
+    int pop() {
+      while (true) {
+        final long current = head.get();
+        final int idx = indexOf(current);
+
+        if (idx == NoIndex) {
+          return NoIndex;
+        }
+
+        // the stamp guards against ABA: if idx was popped and pushed
+        // back in the meantime its next may differ, but so will the stamp
+        if (head.compareAndSet(current, headOf(stampOf(current) + 1, next[idx]))) {
+          return idx;
+        }
+      }
+    }
+
+    /**
+     * Pops up to {@code max} indexes with a single compare-and-set.
+     * @param into the int[] that receives the indexes
+     * @param max the int maximum number of indexes to pop
+     * @return int the number of indexes popped
+     */
+    int popAll(final int[] into, final int max) {
+      while (true) {
+        final long current = head.get();
+        int idx = indexOf(current);
+        int count = 0;
+
+        // links read here may be stale if another thread races us,
+        // but then the stamp has changed and the CAS fails
+        while (idx != NoIndex && count < max) {
+          into[count++] = idx;
+          idx = next[idx];
+        }
+
+        if (count == 0) {
+          return 0;
+        }
+
+        if (head.compareAndSet(current, headOf(stampOf(current) + 1, idx))) {
+          return count;
+        }
+      }
+    }
+
+    void push(final int idx) {
+      while (true) {
+        final long current = head.get();
+        next[idx] = indexOf(current);
+
+        if (head.compareAndSet(current, headOf(stampOf(current) + 1, idx))) {
+          return;
+        }
+      }
+    }
+
+    /**
+     * Pushes {@code indexes[from, to)} with a single compare-and-set,
+     * leaving {@code indexes[from]} on top.
+     * @param indexes the int[] of indexes to push
+     * @param from the int first position, inclusive
+     * @param to the int last position, exclusive
+     */
+    void pushAll(final int[] indexes, final int from, final int to) {
+      if (from >= to) {
+        return;
+      }
+
+      for (int idx = from; idx < to - 1; ++idx) {
+        next[indexes[idx]] = indexes[idx + 1];
+      }
+
+      final int last = indexes[to - 1];
+
+      while (true) {
+        final long current = head.get();
+        next[last] = indexOf(current);
+
+        if (head.compareAndSet(current, headOf(stampOf(current) + 1, indexes[from]))) {
+          return;
+        }
+      }
+    }
+
+    private static long headOf(final long stamp, final int index) {
+      return (stamp << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    private static int indexOf(final long head) {
+      return (int) head;
+    }
+
+    private static long stampOf(final long head) {
+      return head >>> 32;
+    }
+  }
+
+  /**
+   * A buffer of this pool, which is claimed with one reference and returned
+   * to the pool when its last reference is released.
+   */
   public class PooledByteBuffer extends BasicConsumerByteBuffer {
-    private final AtomicBoolean inUse;
+    private final AtomicInteger references;
+    private BufferLeakDetector.SampledClaim sampledClaim;
 
-    PooledByteBuffer(final int id, final int maxBufferSize) {
-      super(id, maxBufferSize);
+    PooledByteBuffer(final int id, final int maxBufferSize, final boolean direct) {
+      super(id, maxBufferSize, direct);
 
-      this.inUse = new AtomicBoolean(false);
+      this.references = new AtomicInteger(0);
     }
 
     @Override
@@ -88,28 +671,55 @@ public class ByteBufferPool {
     }
 
     @Override
-    public void release() {
-      if (!inUse.get()) {
-        throw new IllegalStateException("Attempt to release unclaimed buffer: " + this);
+    public PooledByteBuffer retain() {
+      while (true) {
+        final int current = references.get();
+        if (current == 0) {
+          throw new IllegalStateException("Attempt to retain unclaimed buffer: " + this);
+        }
+        if (references.compareAndSet(current, current + 1)) {
+          return this;
+        }
       }
-      notInUse();
     }
 
-    private boolean claimUse(final String tag) {
-      if (inUse.compareAndSet(false, true)) {
-        tag(tag);
-        asByteBuffer().clear();
-        return true;
+    @Override
+    public void release() {
+      while (true) {
+        final int current = references.get();
+        if (current == 0) {
+          throw new IllegalStateException("Attempt to release unclaimed buffer: " + this);
+        }
+        if (references.compareAndSet(current, current - 1)) {
+          if (current == 1) {
+            if (sampledClaim != null) {
+              sampledClaim.released();
+              sampledClaim = null;
+            }
+            reclaim(id());
+          }
+          return;
+        }
       }
-      return false;
     }
 
-    private void notInUse() {
-      inUse.set(false);
+    private PooledByteBuffer claimUse(final String tag) {
+      final BufferLeakDetector detector = leakDetector;
+      if (detector != null) {
+        sampledClaim = detector.claimed(id(), tag);
+      }
+      references.set(1);    // publishes the sampled claim to the releasing thread
+      tag(tag);
+      asByteBuffer().clear();
+      return this;
     }
 
     public boolean isInUse() {
-      return inUse.get();
+      return references.get() > 0;
+    }
+
+    public int references() {
+      return references.get();
     }
   }
 }
@@ -0,0 +1,441 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.ShortBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A read-only {@code ConsumerByteBuffer} of several segments, such as a message
+ * header and its body, that are written with a single gathering write rather
+ * than first being copied into one buffer. {@code asByteBuffers()} answers the
+ * segments themselves; the other accessors work on a copy of all segments that
+ * is made on first use, for consumers that cannot gather.
+ * <p>
+ * The composite is created with one reference, and when its last reference is
+ * released it releases the parts, if any, that own its segments.
+ */
+public class CompositeConsumerByteBuffer implements ConsumerByteBuffer {
+  private ByteBuffer flattened;
+  private final int id;
+  private final ConsumerByteBuffer[] parts;
+  private final AtomicInteger references;
+  private final ByteBuffer[] segments;
+  private String tag;
+
+  public static CompositeConsumerByteBuffer of(final ByteBuffer... segments) {
+    return new CompositeConsumerByteBuffer(-1, segments, new ConsumerByteBuffer[0]);
+  }
+
+  public static CompositeConsumerByteBuffer of(final ConsumerByteBuffer... parts) {
+    final ByteBuffer[] segments = new ByteBuffer[parts.length];
+    for (int idx = 0; idx < parts.length; ++idx) {
+      final ByteBuffer part = parts[idx].asByteBuffer();
+      segments[idx] = part.duplicate().order(part.order());
+    }
+    return new CompositeConsumerByteBuffer(-1, segments, parts);
+  }
+
+  public CompositeConsumerByteBuffer(final int id, final ByteBuffer[] segments, final ConsumerByteBuffer[] parts) {
+    this.id = id;
+    this.segments = segments;
+    this.parts = parts;
+    this.references = new AtomicInteger(1);
+  }
+
+  @Override
+  public String toString() {
+    return "CompositeConsumerByteBuffer[id=" + id + " segments=" + segments.length + "]";
+  }
+
+  protected void tag(final String tag) {
+    this.tag = tag;
+  }
+
+  @Override
+  public int id() {
+    return id;
+  }
+
+  @Override
+  public ConsumerByteBuffer retain() {
+    while (true) {
+      final int current = references.get();
+      if (current == 0) {
+        throw new IllegalStateException("Attempt to retain released buffer: " + this);
+      }
+      if (references.compareAndSet(current, current + 1)) {
+        return this;
+      }
+    }
+  }
+
+  @Override
+  public void release() {
+    while (true) {
+      final int current = references.get();
+      if (current == 0) {
+        throw new IllegalStateException("Attempt to release released buffer: " + this);
+      }
+      if (references.compareAndSet(current, current - 1)) {
+        if (current == 1) {
+          for (final ConsumerByteBuffer part : parts) {
+            part.release();
+          }
+        }
+        return;
+      }
+    }
+  }
+
+  @Override
+  public String tag() {
+    return tag;
+  }
+
+  public int segmentCount() {
+    return segments.length;
+  }
+
+  @Override
+  public byte[] array() {
+    return flattened().array();
+  }
+
+  @Override
+  public int arrayOffset() {
+    return flattened().arrayOffset();
+  }
+
+  @Override
+  public boolean hasArray() {
+    return true;
+  }
+
+  @Override
+  public ByteBuffer asByteBuffer() {
+    return flattened();
+  }
+
+  @Override
+  public ByteBuffer[] asByteBuffers() {
+    final ByteBuffer[] views = new ByteBuffer[segments.length];
+    for (int idx = 0; idx < segments.length; ++idx) {
+      views[idx] = segments[idx].duplicate().order(segments[idx].order());
+    }
+    return views;
+  }
+
+  @Override
+  public CharBuffer asCharBuffer() {
+    return flattened().asCharBuffer();
+  }
+
+  @Override
+  public ShortBuffer asShortBuffer() {
+    return flattened().asShortBuffer();
+  }
+
+  @Override
+  public IntBuffer asIntBuffer() {
+    return flattened().asIntBuffer();
+  }
+
+  @Override
+  public LongBuffer asLongBuffer() {
+    return flattened().asLongBuffer();
+  }
+
+  @Override
+  public FloatBuffer asFloatBuffer() {
+    return flattened().asFloatBuffer();
+  }
+
+  @Override
+  public DoubleBuffer asDoubleBuffer() {
+    return flattened().asDoubleBuffer();
+  }
+
+  @Override
+  public ConsumerByteBuffer compact() {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public int capacity() {
+    return flattened == null ? segmentsLength() : flattened.capacity();
+  }
+
+  @Override
+  public int position() {
+    return flattened == null ? 0 : flattened.position();
+  }
+
+  @Override
+  public ConsumerByteBuffer position(final int newPosition) {
+    flattened().position(newPosition);
+    return this;
+  }
+
+  @Override
+  public int limit() {
+    return flattened == null ? segmentsLength() : flattened.limit();
+  }
+
+  @Override
+  public ConsumerByteBuffer limit(final int newLimit) {
+    flattened().limit(newLimit);
+    return this;
+  }
+
+  @Override
+  public ConsumerByteBuffer mark() {
+    flattened().mark();
+    return this;
+  }
+
+  @Override
+  public ConsumerByteBuffer reset() {
+    flattened().reset();
+    return this;
+  }
+
+  @Override
+  public ConsumerByteBuffer clear() {
+    flattened().clear();
+    return this;
+  }
+
+  @Override
+  public ConsumerByteBuffer flip() {
+    flattened().flip();
+    return this;
+  }
+
+  @Override
+  public ConsumerByteBuffer rewind() {
+    flattened().rewind();
+    return this;
+  }
+
+  @Override
+  public int remaining() {
+    return flattened == null ? segmentsLength() : flattened.remaining();
+  }
+
+  @Override
+  public boolean hasRemaining() {
+    return remaining() > 0;
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return true;
+  }
+
+  @Override
+  public boolean isDirect() {
+    return false;
+  }
+
+  @Override
+  public byte get() {
+    return flattened().get();
+  }
+
+  @Override
+  public byte get(final int index) {
+    return flattened().get(index);
+  }
+
+  @Override
+  public ByteBuffer get(final byte[] destination) {
+    return flattened().get(destination);
+  }
+
+  @Override
+  public ByteBuffer get(final byte[] destination, final int offset, final int length) {
+    return flattened().get(destination, offset, length);
+  }
+
+  @Override
+  public char getChar() {
+    return flattened().getChar();
+  }
+
+  @Override
+  public char getChar(final int index) {
+    return flattened().getChar(index);
+  }
+
+  @Override
+  public short getShort() {
+    return flattened().getShort();
+  }
+
+  @Override
+  public short getShort(final int index) {
+    return flattened().getShort(index);
+  }
+
+  @Override
+  public int getInt() {
+    return flattened().getInt();
+  }
+
+  @Override
+  public int getInt(final int index) {
+    return flattened().getInt(index);
+  }
+
+  @Override
+  public long getLong() {
+    return flattened().getLong();
+  }
+
+  @Override
+  public long getLong(final int index) {
+    return flattened().getLong(index);
+  }
+
+  @Override
+  public float getFloat() {
+    return flattened().getFloat();
+  }
+
+  @Override
+  public float getFloat(final int index) {
+    return flattened().getFloat(index);
+  }
+
+  @Override
+  public double getDouble() {
+    return flattened().getDouble();
+  }
+
+  @Override
+  public double getDouble(final int index) {
+    return flattened().getDouble(index);
+  }
+
+  @Override
+  public ConsumerByteBuffer put(final ByteBuffer source) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer put(final byte b) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer put(final int index, final byte b) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer put(final byte[] src, final int offset, final int length) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer put(final byte[] src) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putChar(final char value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putChar(final int index, final char value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putShort(final short value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putShort(final int index, final short value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putInt(final int value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putInt(final int index, final int value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putLong(final long value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putLong(final int index, final long value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putFloat(final float value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putFloat(final int index, final float value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putDouble(final double value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public ConsumerByteBuffer putDouble(final int index, final double value) {
+    throw new ReadOnlyBufferException();
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private ByteBuffer flattened() {
+    if (flattened == null) {
+      final ByteBuffer copy = ByteBufferAllocator.allocate(segmentsLength());
+      for (final ByteBuffer segment : segments) {
+        copy.put(segment.duplicate());
+      }
+      copy.flip();
+      flattened = copy;
+    }
+    return flattened;
+  }
+
+  private int segmentsLength() {
+    int length = 0;
+    for (final ByteBuffer segment : segments) {
+      length += segment.remaining();
+    }
+    return length;
+  }
+}
@@ -18,6 +18,17 @@ import java.nio.ShortBuffer;
 public interface ConsumerByteBuffer {
   int id();
   
+  /**
+   * Adds a reference to this buffer, which must be matched by one more
+   * {@code release()} before the buffer may be reused, so that one buffer
+   * may be shared by several asynchronous writers. A buffer that is not
+   * reference counted answers itself.
+   * @return ConsumerByteBuffer
+   */
+  default ConsumerByteBuffer retain() {
+    return this;
+  }
+
   void release();
   String tag();
   
@@ -26,6 +37,19 @@ public interface ConsumerByteBuffer {
   boolean hasArray();
   
   ByteBuffer asByteBuffer();
+
+  /**
+   * Answers views of the remaining bytes of this buffer, possibly in several
+   * segments, for a gathering write. The views have their own positions, so
+   * consuming them does not change this buffer. A buffer of one segment
+   * answers a single view of {@code asByteBuffer()}.
+   * @return ByteBuffer[]
+   */
+  default ByteBuffer[] asByteBuffers() {
+    final ByteBuffer buffer = asByteBuffer();
+    return new ByteBuffer[] { buffer.duplicate().order(buffer.order()) };
+  }
+
   CharBuffer asCharBuffer();
   ShortBuffer asShortBuffer();
   IntBuffer asIntBuffer();
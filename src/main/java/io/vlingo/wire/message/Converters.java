@@ -8,24 +8,195 @@
 package io.vlingo.wire.message;
 
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 
 public class Converters {
   private static Charset CHARSET_VALUE = Charset.forName(StandardCharsets.UTF_8.name());
+  private static boolean ASCII_COMPATIBLE = true;
+
+  // the coders are reused by each thread, and recreated when the charset changes
+  private static final ThreadLocal<CharsetDecoder> Decoders = new ThreadLocal<>();
+  private static final ThreadLocal<CharsetEncoder> Encoders = new ThreadLocal<>();
+  // text is decoded a chunk of chars at a time, so the reused chars stay small
+  private static final ThreadLocal<CharBuffer> DecodedChars = ThreadLocal.withInitial(() -> CharBuffer.allocate(1024));
 
   public static String bytesToText(final byte[] bytes, final int index, final int length) {
     return new String(bytes, index, length, CHARSET_VALUE);
   }
 
+  /**
+   * Answers {@code text} after replacing its characters with those decoded
+   * from {@code length} bytes of {@code bytes} at {@code index}, so that a
+   * reused {@code text} is a {@code CharSequence} of the bytes without
+   * allocating a {@code String} for them.
+   * @param bytes the byte[] holding the encoded text
+   * @param index the int index of the first byte
+   * @param length the int number of bytes
+   * @param text the StringBuilder into which the text is decoded
+   * @return StringBuilder
+   */
+  public static StringBuilder bytesToText(final byte[] bytes, final int index, final int length, final StringBuilder text) {
+    text.setLength(0);
+
+    int decoded = 0;
+    if (ASCII_COMPATIBLE) {
+      for ( ; decoded < length && bytes[index + decoded] >= 0; ++decoded) {
+        text.append((char) bytes[index + decoded]);
+      }
+      if (decoded == length) {
+        return text;
+      }
+    }
+
+    return decode(ByteBuffer.wrap(bytes, index + decoded, length - decoded), text);
+  }
+
+  /**
+   * Answers {@code text} after replacing its characters with those decoded
+   * from {@code length} bytes of {@code buffer} at {@code index}, which may
+   * be a heap or a direct buffer, and whose position is not changed.
+   * @param buffer the ByteBuffer holding the encoded text
+   * @param index the int index of the first byte
+   * @param length the int number of bytes
+   * @param text the StringBuilder into which the text is decoded
+   * @return StringBuilder
+   */
+  public static StringBuilder bytesToText(final ByteBuffer buffer, final int index, final int length, final StringBuilder text) {
+    if (buffer.hasArray()) {
+      return bytesToText(buffer.array(), buffer.arrayOffset() + index, length, text);
+    }
+
+    text.setLength(0);
+
+    int decoded = 0;
+    if (ASCII_COMPATIBLE) {
+      for ( ; decoded < length && buffer.get(index + decoded) >= 0; ++decoded) {
+        text.append((char) buffer.get(index + decoded));
+      }
+      if (decoded == length) {
+        return text;
+      }
+    }
+
+    final ByteBuffer source = buffer.duplicate();
+    source.limit(index + length).position(index + decoded);
+
+    return decode(source, text);
+  }
+
   public static void changeCharset(final String charsetName) {
     CHARSET_VALUE = Charset.forName(charsetName);
+    ASCII_COMPATIBLE =
+            CHARSET_VALUE.equals(StandardCharsets.UTF_8) ||
+            CHARSET_VALUE.equals(StandardCharsets.US_ASCII) ||
+            CHARSET_VALUE.equals(StandardCharsets.ISO_8859_1);
   }
-  
+
+  /**
+   * Answers the number of bytes that {@code text} is encoded as, which is
+   * computed without encoding it when the charset is UTF-8.
+   * @param text the CharSequence to measure
+   * @return int
+   */
+  public static int encodedLength(final CharSequence text) {
+    if (!CHARSET_VALUE.equals(StandardCharsets.UTF_8)) {
+      return textToBytes(text.toString()).length;
+    }
+
+    final int length = text.length();
+    int encodedLength = length;
+
+    for (int index = 0; index < length; ++index) {
+      final char ch = text.charAt(index);
+      if (ch >= 0x80) {
+        if (ch < 0x800) {
+          encodedLength += 1;
+        } else if (Character.isHighSurrogate(ch) && index + 1 < length && Character.isLowSurrogate(text.charAt(index + 1))) {
+          encodedLength += 2; // four bytes for the pair of chars
+          ++index;
+        } else if (Character.isSurrogate(ch)) {
+          // an unpaired surrogate is replaced by one byte
+        } else {
+          encodedLength += 2;
+        }
+      }
+    }
+
+    return encodedLength;
+  }
+
   public static byte[] textToBytes(final String text) {
     return text.getBytes(CHARSET_VALUE);
   }
 
+  /**
+   * Answers the number of bytes of {@code text} encoded into {@code bytes}
+   * at {@code index}, with no allocation when the text is ASCII.
+   * @param text the CharSequence to encode
+   * @param bytes the byte[] into which the text is encoded
+   * @param index the int index of the first byte
+   * @return int
+   * @throws IllegalArgumentException when the encoded text does not fit
+   */
+  public static int textToBytes(final CharSequence text, final byte[] bytes, final int index) {
+    return textToBytes(text, bytes, index, bytes.length - index);
+  }
+
+  /**
+   * Answers the number of bytes of {@code text} encoded into {@code buffer}
+   * at its position, which is advanced past them.
+   * @param text the CharSequence to encode
+   * @param buffer the ByteBuffer into which the text is encoded
+   * @return int
+   * @throws IllegalArgumentException when the encoded text does not fit
+   */
+  public static int textToBytes(final CharSequence text, final ByteBuffer buffer) {
+    final int position = buffer.position();
+
+    if (buffer.hasArray()) {
+      final int encoded = textToBytes(text, buffer.array(), buffer.arrayOffset() + position, buffer.remaining());
+      buffer.position(position + encoded);
+      return encoded;
+    }
+
+    final int length = text.length();
+
+    int encoded = 0;
+    if (ASCII_COMPATIBLE) {
+      for (final int ascii = Math.min(length, buffer.remaining()); encoded < ascii; ++encoded) {
+        final char ch = text.charAt(encoded);
+        if (ch >= 0x80) {
+          break;
+        }
+        buffer.put(position + encoded, (byte) ch);
+      }
+      buffer.position(position + encoded);
+      if (encoded == length) {
+        return encoded;
+      }
+    }
+
+    return encoded + encode(text, encoded, buffer);
+  }
+
+  /**
+   * Answers the number of bytes of {@code text} encoded into {@code buffer}
+   * at its position, which is advanced past them.
+   * @param text the CharSequence to encode
+   * @param buffer the ConsumerByteBuffer into which the text is encoded
+   * @return int
+   * @throws IllegalArgumentException when the encoded text does not fit
+   */
+  public static int textToBytes(final CharSequence text, final ConsumerByteBuffer buffer) {
+    return textToBytes(text, buffer.asByteBuffer());
+  }
+
   /** Uses buffer.flip() and then buffer.clear()
    * @param sendingNodeId short
    * @param buffer ByteBuffer
@@ -46,4 +217,83 @@ public class Converters {
 
     return message;
   }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private static StringBuilder decode(final ByteBuffer source, final StringBuilder text) {
+    final CharsetDecoder decoder = decoder();
+    final CharBuffer chars = DecodedChars.get();
+
+    CoderResult result;
+    do {
+      chars.clear();
+      result = decoder.decode(source, chars, true);
+      if (result.isUnderflow()) {
+        result = decoder.flush(chars);
+      }
+      chars.flip();
+      text.append(chars);
+    } while (result.isOverflow());
+
+    return text;
+  }
+
+  private static CharsetDecoder decoder() {
+    CharsetDecoder decoder = Decoders.get();
+    if (decoder == null || !decoder.charset().equals(CHARSET_VALUE)) {
+      decoder = CHARSET_VALUE.newDecoder()
+              .onMalformedInput(CodingErrorAction.REPLACE)
+              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      Decoders.set(decoder);
+    }
+    return decoder.reset();
+  }
+
+  private static int encode(final CharSequence text, final int start, final ByteBuffer target) {
+    final CharsetEncoder encoder = encoder();
+    final int position = target.position();
+
+    CoderResult result = encoder.encode(CharBuffer.wrap(text, start, text.length()), target, true);
+    if (result.isUnderflow()) {
+      result = encoder.flush(target);
+    }
+    if (!result.isUnderflow()) {
+      throw new IllegalArgumentException("The text does not fit " + (target.limit() - position) + " bytes.");
+    }
+
+    return target.position() - position;
+  }
+
+  private static int textToBytes(final CharSequence text, final byte[] bytes, final int index, final int available) {
+    final int length = text.length();
+
+    int encoded = 0;
+    if (ASCII_COMPATIBLE) {
+      for (final int ascii = Math.min(length, available); encoded < ascii; ++encoded) {
+        final char ch = text.charAt(encoded);
+        if (ch >= 0x80) {
+          break;
+        }
+        bytes[index + encoded] = (byte) ch;
+      }
+      if (encoded == length) {
+        return encoded;
+      }
+    }
+
+    return encoded + encode(text, encoded, ByteBuffer.wrap(bytes, index + encoded, available - encoded));
+  }
+
+  private static CharsetEncoder encoder() {
+    CharsetEncoder encoder = Encoders.get();
+    if (encoder == null || !encoder.charset().equals(CHARSET_VALUE)) {
+      encoder = CHARSET_VALUE.newEncoder()
+              .onMalformedInput(CodingErrorAction.REPLACE)
+              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      Encoders.set(encoder);
+    }
+    return encoder.reset();
+  }
 }
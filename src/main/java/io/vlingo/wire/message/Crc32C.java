@@ -0,0 +1,120 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * CRC32C checksums of message bytes, computed by the hardware-intrinsic
+ * {@code java.util.zip.CRC32C} of Java 9 and later, or by a table-driven
+ * {@code Checksum} on Java 8.
+ */
+final class Crc32C implements Checksum {
+  private static final int Polynomial = 0x82F63B78; // Castagnoli, reflected
+  private static final int[] Table = table();
+
+  private static final Class<? extends Checksum> Intrinsic = intrinsic();
+  private static final ThreadLocal<Checksum> Checksums = ThreadLocal.withInitial(Crc32C::newChecksum);
+  private static final ThreadLocal<byte[]> Scratch = ThreadLocal.withInitial(() -> new byte[1024]);
+
+  private int crc;
+
+  static int of(final byte[] bytes, final int offset, final int length) {
+    final Checksum checksum = Checksums.get();
+    checksum.reset();
+    checksum.update(bytes, offset, length);
+    return (int) checksum.getValue();
+  }
+
+  static int of(final ByteBuffer buffer, final int offset, final int length) {
+    if (buffer.hasArray()) {
+      return of(buffer.array(), buffer.arrayOffset() + offset, length);
+    }
+
+    final Checksum checksum = Checksums.get();
+    final byte[] scratch = Scratch.get();
+    final ByteBuffer source = buffer.duplicate();
+    source.limit(offset + length).position(offset);
+
+    checksum.reset();
+    while (source.hasRemaining()) {
+      final int count = Math.min(scratch.length, source.remaining());
+      source.get(scratch, 0, count);
+      checksum.update(scratch, 0, count);
+    }
+    return (int) checksum.getValue();
+  }
+
+  static boolean isIntrinsic() {
+    return Intrinsic != null;
+  }
+
+  Crc32C() {
+    reset();
+  }
+
+  @Override
+  public long getValue() {
+    return ~crc & 0xFFFFFFFFL;
+  }
+
+  @Override
+  public void reset() {
+    crc = 0xFFFFFFFF;
+  }
+
+  @Override
+  public void update(final int b) {
+    crc = (crc >>> 8) ^ Table[(crc ^ b) & 0xFF];
+  }
+
+  @Override
+  public void update(final byte[] bytes, final int offset, final int length) {
+    int current = crc;
+    for (int index = offset; index < offset + length; ++index) {
+      current = (current >>> 8) ^ Table[(current ^ bytes[index]) & 0xFF];
+    }
+    crc = current;
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private static Class<? extends Checksum> intrinsic() {
+    try {
+      return Class.forName("java.util.zip.CRC32C").asSubclass(Checksum.class);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static Checksum newChecksum() {
+    if (Intrinsic != null) {
+      try {
+        return Intrinsic.getDeclaredConstructor().newInstance();
+      } catch (Exception e) {
+        // fall through to the table-driven checksum
+      }
+    }
+    return new Crc32C();
+  }
+
+  private static int[] table() {
+    final int[] table = new int[256];
+    for (int index = 0; index < table.length; ++index) {
+      int crc = index;
+      for (int bit = 0; bit < 8; ++bit) {
+        crc = (crc & 1) != 0 ? (crc >>> 1) ^ Polynomial : crc >>> 1;
+      }
+      table[index] = crc;
+    }
+    return table;
+  }
+}
@@ -7,6 +7,7 @@
 
 package io.vlingo.wire.message;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -17,6 +18,9 @@ import io.vlingo.wire.node.Name;
 import io.vlingo.wire.node.Node;
 
 public class MessagePartsBuilder {
+  // the RawMessageHeader type of messages of binary node records
+  public static final short BinaryNodesType = (short) 0x7E02;
+
   public static final Address addressFromRecord(final String record, final AddressType type) {
     final String text = parseField(record, type.field());
 
@@ -46,36 +50,105 @@ public class MessagePartsBuilder {
   public static final Set<Node> nodesFrom(String content) {
     final Set<Node> nodeEntries = new HashSet<Node>();
 
-    final String[] parts = content.split("\n");
+    NodeRecords.nodesFrom(content, 2, nodeEntries);
 
-    if (parts.length < 3) {
-      return nodeEntries;
-    }
+    return nodeEntries;
+  }
 
-    for (int index = 2; index < parts.length; ++index) {
-      nodeEntries.add(nodeFromRecord(parts[index]));
+  /**
+   * Answers the {@code Node} of each record from the third line of the text
+   * of {@code message}, or from the second record when it is of
+   * {@code BinaryNodesType}, parsed directly from its bytes.
+   * @param message the RawMessage of the records
+   * @return {@code Set<Node>}
+   */
+  public static final Set<Node> nodesFrom(final RawMessage message) {
+    final Set<Node> nodeEntries = new HashSet<Node>();
+
+    if (message.header().type() == BinaryNodesType) {
+      NodeRecords.nodesFromBinary(message.asBinaryMessage(), 0, message.length(), 1, nodeEntries);
+    } else {
+      NodeRecords.nodesFrom(message.asBinaryMessage(), 0, message.length(), 2, nodeEntries);
     }
 
     return nodeEntries;
   }
 
+  /**
+   * Answers a new message of {@code BinaryNodesType} with the binary record
+   * of {@code node} followed by those of {@code nodes}, the binary
+   * counterpart of a text message of a type line, the record of a node, and
+   * the records of other nodes.
+   * @param nodeId the int id of the sending node
+   * @param node the Node of the first record
+   * @param nodes the {@code Collection<Node>} of the records that follow
+   * @return RawMessage
+   */
+  public static final RawMessage binaryNodesMessage(final int nodeId, final Node node, final Collection<Node> nodes) {
+    int length = NodeRecords.binaryLength(node);
+    for (final Node other : nodes) {
+      length += NodeRecords.binaryLength(other);
+    }
+
+    final RawMessage message = new RawMessage(RawMessageHeader.from(nodeId, BinaryNodesType, length), length);
+    final byte[] bytes = message.asBinaryMessage();
+
+    int index = NodeRecords.writeBinary(node, bytes, 0);
+    for (final Node other : nodes) {
+      index = NodeRecords.writeBinary(other, bytes, index);
+    }
+    message.appended(index);
+
+    return message;
+  }
+
   public static final Node nodeFrom(final String content) {
-    final String[] parts = content.split("\n");
+    final int start = content.indexOf('\n') + 1;
 
-    if (parts.length < 2) {
+    if (start == 0 || start == content.length()) {
       return Node.NO_NODE;
     }
 
-    return nodeFromRecord(parts[1]);
+    final int end = content.indexOf('\n', start);
+
+    return NodeRecords.nodeFrom(content, start, end == -1 ? content.length() : end);
   }
 
-  public static final Node nodeFromRecord(final String record) {
-    final Id id = idFromRecord(record);
-    final Name name = nameFromRecord(record);
-    final Address opAddress = addressFromRecord(record, AddressType.OP);
-    final Address appAddress = addressFromRecord(record, AddressType.APP);
+  /**
+   * Answers the {@code Node} of the record of the second line of the text
+   * of {@code message}, or of its first record when it is of
+   * {@code BinaryNodesType}, parsed directly from its bytes.
+   * @param message the RawMessage of the records
+   * @return Node
+   */
+  public static final Node nodeFrom(final RawMessage message) {
+    final byte[] bytes = message.asBinaryMessage();
+    final int length = message.length();
+
+    if (message.header().type() == BinaryNodesType) {
+      return length == 0 ? Node.NO_NODE : NodeRecords.nodeFromBinary(bytes, 0, NodeRecords.binaryRecordEnd(bytes, 0, length));
+    }
+
+    int start = 0;
+    while (start < length && bytes[start] != '\n') {
+      ++start;
+    }
+    ++start;
 
-    return new Node(id, name, opAddress, appAddress);
+    if (start >= length) {
+      return Node.NO_NODE;
+    }
+
+    int end = start;
+    while (end < length && bytes[end] != '\n') {
+      ++end;
+    }
+
+    return NodeRecords.nodeFrom(bytes, start, end);
+  }
+
+  public static final Node nodeFromRecord(final String record) {
+    return NodeRecords.nodeFrom(record, 0, record.length());
   }
 
   public static final Id idFrom(final String content) {
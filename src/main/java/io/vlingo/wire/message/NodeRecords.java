@@ -0,0 +1,488 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import io.vlingo.wire.node.Address;
+import io.vlingo.wire.node.AddressType;
+import io.vlingo.wire.node.Host;
+import io.vlingo.wire.node.Id;
+import io.vlingo.wire.node.Name;
+import io.vlingo.wire.node.Node;
+
+/**
+ * Parses the node records of messages, one per line, such as
+ * {@code id=1 nm=node1 op=localhost:37371 app=localhost:37372}, in a single
+ * pass over the text or the message bytes. Since the same records are
+ * received again and again, the {@code Node} of each record is interned in a
+ * bounded cache keyed by the record content, so a repeated record is answered
+ * without allocation. The cache is direct-mapped, where a record displaces
+ * any other with the same slot, and its entries are immutable, so it is
+ * shared among threads without locking.
+ * <p>
+ * The binary form of a record has the fixed offsets of its short id and of
+ * its int operational and application ports, all big-endian, followed by its
+ * name and its operational and application hosts, each an unsigned short
+ * length followed by that many bytes of text. Binary records are interned
+ * the same way, keyed by their bytes.
+ */
+final class NodeRecords {
+  static final int BinaryIdOffset = 0;
+  static final int BinaryOperationalPortOffset = 2;
+  static final int BinaryApplicationPortOffset = 6;
+  static final int BinaryTextOffset = 10;
+
+  private static final int CacheSize = 256; // a power of two
+  private static final int MaxTextLength = 0xFFFF;
+
+  private static final BinaryEntry[] BinaryCache = new BinaryEntry[CacheSize];
+  private static final Entry[] Cache = new Entry[CacheSize];
+
+  /**
+   * Adds to {@code nodes} the {@code Node} of each record of the lines of
+   * {@code content} from line {@code firstLine}.
+   * @param content the String of the message text
+   * @param firstLine the int index of the line of the first record
+   * @param nodes the {@code Collection<Node>} to add to
+   */
+  static void nodesFrom(final String content, final int firstLine, final Collection<Node> nodes) {
+    final int length = content.length();
+
+    for (int line = 0, start = 0; start < length; ++line) {
+      int end = content.indexOf('\n', start);
+      if (end == -1) {
+        end = length;
+      }
+      if (line >= firstLine) {
+        addNodeFrom(content, start, end, nodes);
+      }
+      start = end + 1;
+    }
+  }
+
+  /**
+   * Adds to {@code nodes} the {@code Node} of each record of the lines of the
+   * {@code length} bytes of {@code bytes} at {@code index} from line
+   * {@code firstLine}.
+   * @param bytes the byte[] of the message text
+   * @param index the int index of the first byte of the text
+   * @param length the int number of bytes of the text
+   * @param firstLine the int index of the line of the first record
+   * @param nodes the {@code Collection<Node>} to add to
+   */
+  static void nodesFrom(final byte[] bytes, final int index, final int length, final int firstLine, final Collection<Node> nodes) {
+    final int limit = index + length;
+
+    for (int line = 0, start = index; start < limit; ++line) {
+      int end = start;
+      while (end < limit && bytes[end] != '\n') {
+        ++end;
+      }
+      if (line >= firstLine) {
+        addNodeFrom(bytes, start, end, nodes);
+      }
+      start = end + 1;
+    }
+  }
+
+  /**
+   * Answers the {@code Node} of the record of {@code content} from
+   * {@code start} up to {@code end}.
+   * @param content the String holding the record
+   * @param start the int index of the record
+   * @param end the int index following the record
+   * @return Node
+   */
+  static Node nodeFrom(final String content, int start, int end) {
+    while (start < end && content.charAt(start) <= ' ') ++start;
+    while (end > start && content.charAt(end - 1) <= ' ') --end;
+
+    int hash = 0;
+    for (int index = start; index < end; ++index) {
+      hash = 31 * hash + content.charAt(index);
+    }
+
+    final int slot = slotOf(hash);
+    final Entry entry = Cache[slot];
+    if (entry != null && entry.hash == hash && entry.record.length() == end - start && entry.record.regionMatches(0, content, start, end - start)) {
+      return entry.node;
+    }
+
+    return cached(slot, hash, content.substring(start, end));
+  }
+
+  /**
+   * Answers the {@code Node} of the record of {@code bytes} from
+   * {@code start} up to {@code end}.
+   * @param bytes the byte[] holding the record
+   * @param start the int index of the record
+   * @param end the int index following the record
+   * @return Node
+   */
+  static Node nodeFrom(final byte[] bytes, int start, int end) {
+    while (start < end && bytes[start] >= 0 && bytes[start] <= ' ') ++start;
+    while (end > start && bytes[end - 1] >= 0 && bytes[end - 1] <= ' ') --end;
+
+    int hash = 0;
+    for (int index = start; index < end; ++index) {
+      if (bytes[index] < 0) {
+        // not ASCII, so decoded to be matched by its chars
+        final String record = Converters.bytesToText(bytes, start, end - start);
+        return nodeFrom(record, 0, record.length());
+      }
+      hash = 31 * hash + bytes[index];
+    }
+
+    final int slot = slotOf(hash);
+    final Entry entry = Cache[slot];
+    if (entry != null && entry.hash == hash && entry.matches(bytes, start, end)) {
+      return entry.node;
+    }
+
+    return cached(slot, hash, Converters.bytesToText(bytes, start, end - start));
+  }
+
+  /**
+   * Adds to {@code nodes} the {@code Node} of each binary record of the
+   * {@code length} bytes of {@code bytes} at {@code index} from record
+   * {@code firstRecord}.
+   * @param bytes the byte[] of the binary records
+   * @param index the int index of the first record
+   * @param length the int number of bytes of the records
+   * @param firstRecord the int index of the first record to add
+   * @param nodes the {@code Collection<Node>} to add to
+   */
+  static void nodesFromBinary(final byte[] bytes, final int index, final int length, final int firstRecord, final Collection<Node> nodes) {
+    final int limit = index + length;
+
+    for (int record = 0, start = index; start < limit; ++record) {
+      final int end = binaryRecordEnd(bytes, start, limit);
+      if (record >= firstRecord) {
+        nodes.add(nodeFromBinary(bytes, start, end));
+      }
+      start = end;
+    }
+  }
+
+  /**
+   * Answers the index following the binary record of {@code bytes} at
+   * {@code start}, which must end by {@code limit}.
+   * @param bytes the byte[] holding the record
+   * @param start the int index of the record
+   * @param limit the int index by which the record must end
+   * @return int
+   * @throws IllegalArgumentException when the record is truncated
+   */
+  static int binaryRecordEnd(final byte[] bytes, final int start, final int limit) {
+    int end = start + BinaryTextOffset;
+    for (int text = 0; text < 3; ++text) {
+      if (end + 2 > limit) {
+        throw new IllegalArgumentException("The binary node record is truncated at: " + start);
+      }
+      end += 2 + getUnsignedShort(bytes, end);
+    }
+    if (end > limit) {
+      throw new IllegalArgumentException("The binary node record is truncated at: " + start);
+    }
+    return end;
+  }
+
+  /**
+   * Answers the number of bytes of the binary record of {@code node}.
+   * @param node the Node of the record
+   * @return int
+   */
+  static int binaryLength(final Node node) {
+    return BinaryTextOffset +
+            textLength(node.name().value()) +
+            textLength(node.operationalAddress().hostName()) +
+            textLength(node.applicationAddress().hostName());
+  }
+
+  /**
+   * Answers the {@code Node} of the binary record of {@code bytes} from
+   * {@code start} up to {@code end}.
+   * @param bytes the byte[] holding the record
+   * @param start the int index of the record
+   * @param end the int index following the record
+   * @return Node
+   */
+  static Node nodeFromBinary(final byte[] bytes, final int start, final int end) {
+    int hash = 0;
+    for (int index = start; index < end; ++index) {
+      hash = 31 * hash + bytes[index];
+    }
+
+    final int slot = slotOf(hash);
+    final BinaryEntry entry = BinaryCache[slot];
+    if (entry != null && entry.hash == hash && entry.matches(bytes, start, end)) {
+      return entry.node;
+    }
+
+    final Node node = parseBinary(bytes, start);
+    BinaryCache[slot] = new BinaryEntry(hash, Arrays.copyOfRange(bytes, start, end), node);
+    return node;
+  }
+
+  /**
+   * Answers the index following the binary record of {@code node} written
+   * into {@code bytes} at {@code index}.
+   * @param node the Node to write
+   * @param bytes the byte[] to write into
+   * @param index the int index of the record
+   * @return int
+   */
+  static int writeBinary(final Node node, final byte[] bytes, final int index) {
+    putShort(bytes, index + BinaryIdOffset, node.id().value());
+    putInt(bytes, index + BinaryOperationalPortOffset, node.operationalAddress().port());
+    putInt(bytes, index + BinaryApplicationPortOffset, node.applicationAddress().port());
+
+    int next = index + BinaryTextOffset;
+    next = writeText(node.name().value(), bytes, next);
+    next = writeText(node.operationalAddress().hostName(), bytes, next);
+    return writeText(node.applicationAddress().hostName(), bytes, next);
+  }
+
+  static int getInt(final byte[] bytes, final int index) {
+    return ((bytes[index] & 0xFF) << 24) | ((bytes[index + 1] & 0xFF) << 16) |
+           ((bytes[index + 2] & 0xFF) << 8) | (bytes[index + 3] & 0xFF);
+  }
+
+  static int getUnsignedShort(final byte[] bytes, final int index) {
+    return ((bytes[index] & 0xFF) << 8) | (bytes[index + 1] & 0xFF);
+  }
+
+  static void putInt(final byte[] bytes, final int index, final int value) {
+    bytes[index] = (byte) (value >>> 24);
+    bytes[index + 1] = (byte) (value >>> 16);
+    bytes[index + 2] = (byte) (value >>> 8);
+    bytes[index + 3] = (byte) value;
+  }
+
+  static void putShort(final byte[] bytes, final int index, final int value) {
+    bytes[index] = (byte) (value >>> 8);
+    bytes[index + 1] = (byte) value;
+  }
+
+  /**
+   * Answers the text of the length-prefixed bytes at {@code index}.
+   * @param bytes the byte[] holding the text
+   * @param index the int index of the length of the text
+   * @return String
+   */
+  static String readText(final byte[] bytes, final int index) {
+    return Converters.bytesToText(bytes, index + 2, getUnsignedShort(bytes, index));
+  }
+
+  /**
+   * Answers the number of bytes of {@code text} written length-prefixed.
+   * @param text the String to measure
+   * @return int
+   */
+  static int textLength(final String text) {
+    return 2 + Converters.encodedLength(text);
+  }
+
+  /**
+   * Answers the index following {@code text} written length-prefixed into
+   * {@code bytes} at {@code index}.
+   * @param text the String to write
+   * @param bytes the byte[] to write into
+   * @param index the int index of the length of the text
+   * @return int
+   */
+  static int writeText(final String text, final byte[] bytes, final int index) {
+    final int length = Converters.textToBytes(text, bytes, index + 2);
+    if (length > MaxTextLength) {
+      throw new IllegalArgumentException("The text is longer than " + MaxTextLength + " bytes: " + length);
+    }
+    putShort(bytes, index, length);
+    return index + 2 + length;
+  }
+
+  /**
+   * Answers the {@code Node} parsed from the trimmed {@code record}, without
+   * using the cache.
+   * @param record the String of the record
+   * @return Node
+   */
+  static Node parse(final String record) {
+    Id id = Id.NO_ID;
+    Name name = Name.NO_NODE_NAME;
+    Address opAddress = Address.NO_NODE_ADDRESS;
+    Address appAddress = Address.NO_NODE_ADDRESS;
+
+    final int length = record.length();
+
+    for (int start = 0; start < length; ) {
+      int end = start;
+      while (end < length && record.charAt(end) != ' ') {
+        ++end;
+      }
+
+      if (isField(record, start, end, "id=")) {
+        id = Id.of(parseShort(record, start + 3, end));
+      } else if (isField(record, start, end, "nm=")) {
+        name = new Name(record.substring(start + 3, end));
+      } else if (isField(record, start, end, AddressType.OP.field())) {
+        opAddress = addressOf(record, start + AddressType.OP.field().length(), end, AddressType.OP);
+      } else if (isField(record, start, end, AddressType.APP.field())) {
+        appAddress = addressOf(record, start + AddressType.APP.field().length(), end, AddressType.APP);
+      }
+
+      start = end + 1;
+    }
+
+    return new Node(id, name, opAddress, appAddress);
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private static void addNodeFrom(final String content, final int start, final int end, final Collection<Node> nodes) {
+    if (end > start) {
+      nodes.add(nodeFrom(content, start, end));
+    }
+  }
+
+  private static void addNodeFrom(final byte[] bytes, final int start, final int end, final Collection<Node> nodes) {
+    if (end > start) {
+      nodes.add(nodeFrom(bytes, start, end));
+    }
+  }
+
+  private static Address addressOf(final String record, final int start, final int end, final AddressType type) {
+    final int lastColon = record.lastIndexOf(':', end - 1);
+
+    if (lastColon < start) {
+      throw new IllegalArgumentException("The address is not valid: " + record.substring(start, end));
+    }
+
+    return Address.from(Host.of(record.substring(start, lastColon)), parseInt(record, lastColon + 1, end), type);
+  }
+
+  private static Address binaryAddressOf(final String host, final int port, final AddressType type) {
+    if (port == Address.NO_PORT && host.equals(Address.NO_HOST)) {
+      return Address.NO_NODE_ADDRESS;
+    }
+    return Address.from(Host.of(host), port, type);
+  }
+
+  private static Node cached(final int slot, final int hash, final String record) {
+    final Node node = parse(record);
+    Cache[slot] = new Entry(hash, record, node);
+    return node;
+  }
+
+  private static boolean isField(final String record, final int start, final int end, final String field) {
+    return end - start >= field.length() && record.startsWith(field, start);
+  }
+
+  private static int parseInt(final String text, final int start, final int end) {
+    if (start == end) {
+      throw new NumberFormatException("For input string: \"\"");
+    }
+
+    final boolean negative = text.charAt(start) == '-';
+    long value = 0;
+
+    for (int index = negative ? start + 1 : start; index < end; ++index) {
+      final int digit = text.charAt(index) - '0';
+      if (digit < 0 || digit > 9 || index - start > 10) {
+        throw new NumberFormatException("For input string: \"" + text.substring(start, end) + "\"");
+      }
+      value = value * 10 + digit;
+    }
+
+    value = negative ? -value : value;
+
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new NumberFormatException("Value out of range: \"" + text.substring(start, end) + "\"");
+    }
+
+    return (int) value;
+  }
+
+  private static short parseShort(final String text, final int start, final int end) {
+    final int value = parseInt(text, start, end);
+
+    if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+      throw new NumberFormatException("Value out of range: \"" + text.substring(start, end) + "\"");
+    }
+
+    return (short) value;
+  }
+
+  private static Node parseBinary(final byte[] bytes, final int start) {
+    final Id id = Id.of((short) getUnsignedShort(bytes, start + BinaryIdOffset));
+
+    final int nameIndex = start + BinaryTextOffset;
+    final int opHostIndex = nameIndex + 2 + getUnsignedShort(bytes, nameIndex);
+    final int appHostIndex = opHostIndex + 2 + getUnsignedShort(bytes, opHostIndex);
+
+    final Address opAddress = binaryAddressOf(readText(bytes, opHostIndex), getInt(bytes, start + BinaryOperationalPortOffset), AddressType.OP);
+    final Address appAddress = binaryAddressOf(readText(bytes, appHostIndex), getInt(bytes, start + BinaryApplicationPortOffset), AddressType.APP);
+
+    return new Node(id, new Name(readText(bytes, nameIndex)), opAddress, appAddress);
+  }
+
+  private static int slotOf(final int hash) {
+    return (hash ^ (hash >>> 16)) & (CacheSize - 1);
+  }
+
+  private static final class BinaryEntry {
+    final int hash;
+    final Node node;
+    final byte[] record;
+
+    BinaryEntry(final int hash, final byte[] record, final Node node) {
+      this.hash = hash;
+      this.record = record;
+      this.node = node;
+    }
+
+    boolean matches(final byte[] bytes, final int start, final int end) {
+      if (record.length != end - start) {
+        return false;
+      }
+      for (int index = start; index < end; ++index) {
+        if (record[index - start] != bytes[index]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static final class Entry {
+    final int hash;
+    final Node node;
+    final String record;
+
+    Entry(final int hash, final String record, final Node node) {
+      this.hash = hash;
+      this.record = record;
+      this.node = node;
+    }
+
+    boolean matches(final byte[] bytes, final int start, final int end) {
+      if (record.length() != end - start) {
+        return false;
+      }
+      for (int index = start; index < end; ++index) {
+        if (record.charAt(index - start) != bytes[index]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -13,7 +13,12 @@ import io.vlingo.wire.node.Host;
 import io.vlingo.wire.node.Name;
 
 public class PublisherAvailability {
+  // the RawMessageHeader type of binary availability messages
+  public static final short BinaryType = (short) 0x7E01;
   public static final String TypeName = "PUB";
+
+  private static final int BinaryPortOffset = 0;
+  private static final int BinaryTextOffset = 4;
   
   private final String host;
   private final String name;
@@ -29,6 +34,31 @@ public class PublisherAvailability {
     return new PublisherAvailability(Name.NO_NAME, "", 0);
   }
 
+  /**
+   * Answers the {@code PublisherAvailability} of {@code message}, which is
+   * binary when it is of {@code BinaryType}, or otherwise text.
+   * @param message the RawMessage of the availability
+   * @return PublisherAvailability
+   */
+  public static PublisherAvailability from(final RawMessage message) {
+    if (message.header().type() != BinaryType) {
+      return from(message.asTextMessage());
+    }
+
+    final byte[] bytes = message.asBinaryMessage();
+    final int length = message.length();
+    final int hostIndex = length < BinaryTextOffset + 2 ? length : BinaryTextOffset + 2 + NodeRecords.getUnsignedShort(bytes, BinaryTextOffset);
+
+    if (hostIndex + 2 > length || hostIndex + 2 + NodeRecords.getUnsignedShort(bytes, hostIndex) > length) {
+      return new PublisherAvailability(Name.NO_NAME, "", 0);
+    }
+
+    return new PublisherAvailability(
+            NodeRecords.readText(bytes, BinaryTextOffset),
+            NodeRecords.readText(bytes, hostIndex),
+            NodeRecords.getInt(bytes, BinaryPortOffset));
+  }
+
   public PublisherAvailability(final String name, final String host, final int port) {
     this.name = name;
     this.host = host;
@@ -47,6 +77,25 @@ public class PublisherAvailability {
     return Address.from(Host.of(host), port, type);
   }
 
+  /**
+   * Answers a new message of {@code BinaryType} of my binary form, which is
+   * the int port, big-endian, followed by the name and the host, each an
+   * unsigned short length followed by that many bytes of text.
+   * @param nodeId the int id of the sending node
+   * @return RawMessage
+   */
+  public RawMessage toBinaryMessage(final int nodeId) {
+    final int length = BinaryTextOffset + NodeRecords.textLength(name) + NodeRecords.textLength(host);
+    final RawMessage message = new RawMessage(RawMessageHeader.from(nodeId, BinaryType, length), length);
+    final byte[] bytes = message.asBinaryMessage();
+
+    NodeRecords.putInt(bytes, BinaryPortOffset, port);
+    NodeRecords.writeText(host, bytes, NodeRecords.writeText(name, bytes, BinaryTextOffset));
+    message.appended(length);
+
+    return message;
+  }
+
   @Override
   public int hashCode() {
     return 31 * (name.hashCode() + host.hashCode() + port);
@@ -13,7 +13,7 @@ import java.nio.ByteBuffer;
  * Reusable raw message with header. Assume one instance per client channel.
  * Thus, the header and the bytes are reused to avoid ridicules GC.
  */
-public class RawMessage {
+public class RawMessage implements AutoCloseable {
   private final byte[] bytes;       // reused
   private RawMessageHeader header;  // reused
   private int index;
@@ -27,10 +27,22 @@ public class RawMessage {
   }
 
   public static RawMessage from(final int nodeId, final int type, final String textMessage) {
-    final byte[] textBytes = Converters.textToBytes(textMessage);
-    final RawMessageHeader header = RawMessageHeader.from(nodeId, type, textBytes.length);
-    final RawMessage message = new RawMessage(header, textBytes.length);
-    message.append(textBytes, 0, textBytes.length);
+    return from(nodeId, type, (CharSequence) textMessage);
+  }
+
+  /**
+   * Answers a new message of {@code textMessage}, which is encoded directly
+   * into the bytes of the message.
+   * @param nodeId the int id of the sending node
+   * @param type the int type of the message
+   * @param textMessage the CharSequence of the text
+   * @return RawMessage
+   */
+  public static RawMessage from(final int nodeId, final int type, final CharSequence textMessage) {
+    final int length = Converters.encodedLength(textMessage);
+    final RawMessageHeader header = RawMessageHeader.from(nodeId, type, length);
+    final RawMessage message = new RawMessage(header, length);
+    message.appendText(textMessage);
     
     return message;
   }
@@ -76,12 +88,43 @@ public class RawMessage {
     this.index += sourceLength;
   }
 
+  /**
+   * Appends {@code sourceLength} bytes from the current position of
+   * {@code source}, which may be a heap or a direct buffer, and
+   * advances its position accordingly.
+   * @param source the ByteBuffer from which bytes are appended
+   * @param sourceLength the int number of bytes to append
+   */
+  public void append(final ByteBuffer source, final int sourceLength) {
+    source.get(this.bytes, this.index, sourceLength);
+    this.index += sourceLength;
+  }
+
+  /**
+   * Appends the encoded bytes of {@code text}, without allocating
+   * when it is ASCII, such as to fill a reused or pooled message.
+   * @param text the CharSequence to append
+   * @throws IllegalArgumentException when the encoded text does not fit
+   */
+  public void appendText(final CharSequence text) {
+    this.index += Converters.textToBytes(text, this.bytes, this.index);
+  }
+
+  /**
+   * Extends the length of this message by {@code length} bytes that were
+   * written directly into {@code asBinaryMessage()}.
+   * @param length the int number of bytes written
+   */
+  void appended(final int length) {
+    this.index += length;
+  }
+
   public final byte[] asBinaryMessage() {
     return this.bytes;
   }
 
   public final ByteBuffer asByteBuffer() {
-    return asByteBuffer(ByteBufferAllocator.allocate(RawMessageHeader.BYTES + bytes.length));
+    return asByteBuffer(ByteBufferAllocator.allocate(header.bytes() + length()));
   }
 
   public final ByteBuffer asByteBuffer(final ByteBuffer buffer) {
@@ -91,13 +134,48 @@ public class RawMessage {
     return buffer;
   }
 
+  /**
+   * Answers the header and the bytes of this message as two segments of a
+   * {@code CompositeConsumerByteBuffer}, for a gathering write without copying
+   * the bytes. The bytes are shared, so this message must not be reused until
+   * the composite is written.
+   * @return CompositeConsumerByteBuffer
+   */
+  public final CompositeConsumerByteBuffer asCompositeByteBuffer() {
+    final ByteBuffer headerBuffer = ByteBufferAllocator.allocate(header.bytes());
+    stampChecksum();
+    header.copyBytesTo(headerBuffer);
+    headerBuffer.flip();
+    return CompositeConsumerByteBuffer.of(headerBuffer, ByteBuffer.wrap(bytes, 0, length()));
+  }
+
   public final String asTextMessage() {
     return Converters.bytesToText(bytes, 0, length());
   }
 
+  /**
+   * Answers {@code text} after replacing its characters with the text of
+   * this message, so that a reused {@code text} avoids allocating a String.
+   * @param text the StringBuilder reused for the text
+   * @return StringBuilder
+   */
+  public final StringBuilder asTextMessage(final StringBuilder text) {
+    return Converters.bytesToText(bytes, 0, length(), text);
+  }
+
+  /**
+   * Closes this message when its consumer is done with it. There is nothing
+   * to release for a plain message, but a {@code PooledRawMessage} is
+   * returned to its pool.
+   */
+  @Override
+  public void close() {
+  }
+
   public void copyBytesTo(final ByteBuffer buffer) {
+    stampChecksum();
     header.copyBytesTo(buffer);
-    buffer.put(bytes);
+    buffer.put(bytes, 0, length());
   }
 
   public RawMessage from(final ByteBuffer buffer) {
@@ -106,6 +184,19 @@ public class RawMessage {
     return this;
   }
 
+  /**
+   * Answers this message after replacing its header and bytes with those of
+   * {@code source}, which must fit.
+   * @param source the RawMessage to copy
+   * @return RawMessage
+   */
+  public RawMessage from(final RawMessage source) {
+    reset();
+    header.setAll(source.header);
+    append(source.bytes, 0, source.length());
+    return this;
+  }
+
   public final RawMessageHeader header() {
     return header;
   }
@@ -118,6 +209,15 @@ public class RawMessage {
     header.read(buffer);
   }
 
+  /**
+   * Answers whether the bytes of this message match the checksum of its
+   * header, which is always so when the header has no checksum.
+   * @return boolean
+   */
+  public boolean isChecksumValid() {
+    return !header.hasChecksum() || header.checksum() == Crc32C.of(bytes, 0, length());
+  }
+
   public int length() {
     return index;
   }
@@ -127,7 +227,10 @@ public class RawMessage {
       buffer.flip();
     }
     final int length = buffer.limit();
-    System.arraycopy(buffer.array(), 0, this.bytes, 0, length);
+    final int position = buffer.position();
+    buffer.position(0);
+    buffer.get(this.bytes, 0, length);
+    buffer.position(position);
     this.index = length;
   }
 
@@ -138,7 +241,8 @@ public class RawMessage {
   public void putRemaining(final ByteBuffer buffer) {
     final int position = buffer.position();
     final int length = buffer.limit() - position;
-    System.arraycopy(buffer.array(), position, this.bytes, 0, length);
+    buffer.get(this.bytes, 0, length);
+    buffer.position(position);
     this.index = length;
   }
 
@@ -157,6 +261,16 @@ public class RawMessage {
   }
 
   public int totalLength() {
-    return RawMessageHeader.BYTES + length();
+    return header.bytes() + length();
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private void stampChecksum() {
+    if (header.hasChecksum()) {
+      header.checksum(Crc32C.of(bytes, 0, Math.min(header.length(), bytes.length)));
+    }
   }
 }
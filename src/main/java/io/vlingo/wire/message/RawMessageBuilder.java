@@ -8,15 +8,51 @@
 package io.vlingo.wire.message;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Frames the messages read into my work buffer, which is a window sliding
+ * over the bytes read. Whole messages are viewed in place by offset, and a
+ * message partially read stays in place for the next read to complete it,
+ * so many small messages per read never move bytes. The partial message is
+ * moved to the start of the work buffer only when it would not fit before
+ * its end. A message larger than the work buffer is built by {@code sync()}.
+ */
 public class RawMessageBuilder {
+  private RawMessage decompressed;
+  private int frameStart;
   private ScanMode mode;
   private final RawMessage rawMessage;
+  private RawMessageReassembler reassembler;
+  private final int maxReassembledSize;
+  private int sequence;
+  private long sequenceGaps;
+  private long sequenceReorders;
+  private boolean sequenced;
+  private final List<RawMessageView> views;
   private final ByteBuffer workBuffer;
 
   public RawMessageBuilder(final int maxMessageSize) {
+    this(maxMessageSize, ByteBufferAllocator.isDirectMode());
+  }
+
+  public RawMessageBuilder(final int maxMessageSize, final boolean direct) {
+    this(maxMessageSize, direct, RawMessageReassembler.DefaultMaxMessageSize);
+  }
+
+  /**
+   * Constructs my default state, where the fragments of messages larger than
+   * {@code maxMessageSize} are reassembled into at most {@code maxReassembledSize} bytes.
+   * @param maxMessageSize the int size of my work buffer and of the largest unfragmented message
+   * @param direct the boolean indicating whether my work buffer is direct
+   * @param maxReassembledSize the int size of the largest reassembled message
+   */
+  public RawMessageBuilder(final int maxMessageSize, final boolean direct, final int maxReassembledSize) {
+    this.maxReassembledSize = maxReassembledSize;
     this.rawMessage = new RawMessage(maxMessageSize);
-    this.workBuffer = ByteBufferAllocator.allocate(maxMessageSize);
+    this.views = new ArrayList<>();
+    this.workBuffer = ByteBufferAllocator.allocate(maxMessageSize, direct);
     this.mode = ScanMode.READ_HEADER;
   }
 
@@ -28,8 +64,97 @@ public class RawMessageBuilder {
     return rawMessage;
   }
 
+  /**
+   * Answers the current raw message, or when it is compressed, a reused
+   * message into which it is decompressed.
+   * @return RawMessage
+   */
+  public final RawMessage currentDecompressedMessage() {
+    final RawMessage message = currentRawMessage();
+
+    if (!message.header().isCompressed()) {
+      return message;
+    }
+
+    if (decompressed == null) {
+      decompressed = new RawMessage(workBuffer.capacity());
+    }
+
+    return RawMessageCompressor.decompress(message, decompressed);
+  }
+
+  /**
+   * Answers my {@code RawMessageReassembler}, which is created on first use.
+   * @return RawMessageReassembler
+   */
+  public RawMessageReassembler reassembler() {
+    if (reassembler == null) {
+      reassembler = new RawMessageReassembler(maxReassembledSize);
+    }
+    return reassembler;
+  }
+
+  /**
+   * Answers the number of sequence numbers skipped by the {@code sequence}
+   * of the next sequenced message read, which is positive after a gap,
+   * negative when the message is reordered or duplicated, and zero when it
+   * follows the last sequenced message read or is the first one.
+   * @param sequence the int sequence of the next message read
+   * @return int
+   */
+  public int followSequence(final int sequence) {
+    if (!sequenced) {
+      this.sequenced = true;
+      this.sequence = sequence;
+      return 0;
+    }
+
+    final int skipped = sequence - (this.sequence + 1);
+
+    if (skipped > 0) {
+      ++sequenceGaps;
+    } else if (skipped < 0) {
+      ++sequenceReorders;
+      return skipped;
+    }
+
+    this.sequence = sequence;
+
+    return skipped;
+  }
+
+  /**
+   * Answers the number of gaps seen by {@code followSequence()}.
+   * @return long
+   */
+  public long sequenceGaps() {
+    return sequenceGaps;
+  }
+
+  /**
+   * Answers the number of reordered or duplicated messages seen by {@code followSequence()}.
+   * @return long
+   */
+  public long sequenceReorders() {
+    return sequenceReorders;
+  }
+
+  /**
+   * Answers whether bytes were read into my work buffer since it was last
+   * prepared, other than those of a message partially read before.
+   * @return boolean
+   */
   public boolean hasContent() {
-    return workBuffer.position() > 0;
+    return workBuffer.position() > frameStart;
+  }
+
+  /**
+   * Answers whether there is content remaining in the work buffer since
+   * {@code prepareContent()} that is not yet viewed or synced.
+   * @return boolean
+   */
+  public boolean hasRemainingContent() {
+    return workBuffer.hasRemaining();
   }
 
   public boolean isCurrentMessageComplete() {
@@ -47,8 +172,60 @@ public class RawMessageBuilder {
     return rawMessage.length();
   }
 
+  /**
+   * Answers a {@code RawMessageView} of the next whole message in the work
+   * buffer and moves past it, or {@code null} when a message is partially
+   * built or the next one is not wholly in the work buffer, in which case
+   * {@code sync()} must be used. The view is valid only until the work
+   * buffer is next read into.
+   * @return RawMessageView
+   */
+  public RawMessageView nextView() {
+    if (!mode.isReadHeaderMode() || rawMessage.length() > 0) {
+      return null;
+    }
+
+    final int position = workBuffer.position();
+
+    if (!RawMessageView.isWhole(workBuffer, position)) {
+      return null;
+    }
+
+    final RawMessageView view = RawMessageView.wrap(workBuffer, position);
+
+    workBuffer.position(position + view.totalLength());
+
+    return view;
+  }
+
+  /**
+   * Answers the {@code RawMessageView} of each next whole message in the
+   * work buffer, as by {@code nextView()}, in a list that is reused by the
+   * next call.
+   * @return {@code List<RawMessageView>}
+   */
+  public List<RawMessageView> nextViews() {
+    views.clear();
+
+    for (RawMessageView view = nextView(); view != null; view = nextView()) {
+      views.add(view);
+    }
+
+    return views;
+  }
+
+  /**
+   * Discards all of the content of my work buffer, including any partial message.
+   * @return RawMessageBuilder
+   */
+  public RawMessageBuilder clear() {
+    frameStart = 0;
+    workBuffer.clear();
+    return this;
+  }
+
   public RawMessageBuilder prepareContent() {
-    workBuffer.flip();
+    workBuffer.limit(workBuffer.position()).position(frameStart);
     return this;
   }
 
@@ -57,10 +234,50 @@ public class RawMessageBuilder {
     return this;
   }
 
+  /**
+   * Answers whether my work buffer is ready for the next read, after the
+   * whole messages of the content are viewed, keeping the remaining partial
+   * message in my window. Answers {@code false} when a message is being
+   * built by {@code sync()}, or the next message is larger than the work
+   * buffer or invalid, in which case {@code sync()} must be used.
+   * @return boolean
+   */
+  public boolean slide() {
+    final int remaining = workBuffer.remaining();
+
+    if (remaining == 0) {
+      clear();
+      return true;
+    }
+
+    if (!mode.isReadHeaderMode() || rawMessage.length() > 0) {
+      return false;
+    }
+
+    final int start = workBuffer.position();
+    final int required = RawMessageView.requiredLength(workBuffer, start);
+    final int capacity = workBuffer.capacity();
+
+    if (required < 0 || required > capacity) {
+      return false;
+    }
+
+    if (start + required > capacity) {
+      // the message would wrap, so only now are its bytes moved
+      workBuffer.compact();
+      frameStart = 0;
+    } else {
+      workBuffer.position(workBuffer.limit()).limit(capacity);
+      frameStart = start;
+    }
+
+    return true;
+  }
+
   public void sync() {
-    if (!underflow()) {
-      final byte[] content = workBuffer.array();
+    frameStart = 0;
 
+    if (!underflow()) {
       if (mode.isReadHeaderMode()) {
         rawMessage.headerFrom(workBuffer);
       }
@@ -72,9 +289,7 @@ public class RawMessageBuilder {
 
       final int appendLength = Math.min(missingRawMessageLength, availableContentLength);
 
-      rawMessage.append(content, contentPosition, appendLength);
-
-      workBuffer.position(contentPosition + appendLength);
+      rawMessage.append(workBuffer, appendLength);
 
       if (availableContentLength == missingRawMessageLength) {
         workBuffer.clear();
@@ -92,20 +307,24 @@ public class RawMessageBuilder {
     return this.workBuffer;
   }
 
+  private int headerBytesAt(final int position, final int remainingContentLength) {
+    if (remainingContentLength < 2) {
+      return RawMessageHeader.BYTES;
+    }
+    final int headerBytes = RawMessageHeader.bytesFor(workBuffer.getShort(position));
+    return headerBytes == 0 ? RawMessageHeader.BYTES : headerBytes; // an invalid header fails when read
+  }
+
   private void setMode(final ScanMode mode) {
     this.mode = mode;
   }
 
   private boolean underflow() {
     final int remainingContentLength = workBuffer.limit() - workBuffer.position();
-    final int minimumRequiredLength = RawMessageHeader.BYTES + 1;
-
-    if (rawMessage.requiredMessageLength() == 0 && remainingContentLength < minimumRequiredLength) {
-      final byte[] content = workBuffer.array();
-      System.arraycopy(content, workBuffer.position(), content, 0, remainingContentLength);
-      workBuffer.position(0);
-      workBuffer.limit(remainingContentLength);
-      setMode(ScanMode.READ_HEADER);
+
+    if (mode.isReadHeaderMode() && rawMessage.length() == 0 && remainingContentLength < headerBytesAt(workBuffer.position(), remainingContentLength)) {
+      // keep the partial header and read after it
+      workBuffer.compact();
       return true;
     }
 
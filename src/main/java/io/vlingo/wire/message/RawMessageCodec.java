@@ -0,0 +1,45 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes the bytes of messages of one {@code RawMessageHeader}
+ * type, as registered with {@code RawMessageCodecs}. The buffers are in the
+ * order of {@code ByteBufferAllocator}, and are read and written in place.
+ * @param <T> the type of the messages
+ */
+public interface RawMessageCodec<T> {
+  /**
+   * Answers the decoded message of the {@code length} bytes of
+   * {@code buffer} at {@code offset}, which are read with absolute gets,
+   * without changing the buffer.
+   * @param buffer the ByteBuffer holding the bytes
+   * @param offset the int offset of the bytes
+   * @param length the int number of bytes
+   * @return T
+   */
+  T decode(final ByteBuffer buffer, final int offset, final int length);
+
+  /**
+   * Writes the bytes of {@code message} into {@code buffer} at its position,
+   * which is advanced past them, and which has at least
+   * {@code encodedLength(message)} bytes remaining.
+   * @param message the T to encode
+   * @param buffer the ByteBuffer to write into
+   */
+  void encode(final T message, final ByteBuffer buffer);
+
+  /**
+   * Answers the number of bytes, at most, that {@code message} is encoded as.
+   * @param message the T to encode
+   * @return int
+   */
+  int encodedLength(final T message);
+}
@@ -0,0 +1,199 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Registers a {@code RawMessageCodec} for each {@code RawMessageHeader}
+ * type, and encodes and decodes messages by the codec of their type. The
+ * codecs are held in an array indexed by type, which grows to the largest
+ * type registered and is replaced on registration, so lookups are a plain
+ * array read without locking. Messages are encoded with their header
+ * directly into pooled buffers, and decoded in place from views.
+ */
+public class RawMessageCodecs {
+  private static final int MaxTypes = 0xFFFF + 1;
+
+  private volatile RawMessageCodec<?>[] codecs;
+
+  public RawMessageCodecs() {
+    this.codecs = new RawMessageCodec<?>[0];
+  }
+
+  /**
+   * Answers the codec of {@code type}, or {@code null} when none is registered.
+   * @param type the short RawMessageHeader type
+   * @param <T> the type of the messages of the codec
+   * @return {@code RawMessageCodec<T>}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> RawMessageCodec<T> codecFor(final short type) {
+    final RawMessageCodec<?>[] current = codecs;
+    final int index = type & 0xFFFF;
+    return index < current.length ? (RawMessageCodec<T>) current[index] : null;
+  }
+
+  /**
+   * Answers the decoded message of {@code view}, which is decompressed
+   * first when it is compressed.
+   * @param view the RawMessageView of the message
+   * @param <T> the type of the message
+   * @return T
+   * @throws IllegalArgumentException when no codec is registered for the type of view
+   */
+  public <T> T decode(final RawMessageView view) {
+    final RawMessageCodec<T> codec = registered(view.type());
+
+    if (view.isCompressed()) {
+      final RawMessage message = view.toRawMessage();
+      return codec.decode(ByteBufferAllocator.wrap(message.asBinaryMessage()), 0, message.length());
+    }
+
+    return codec.decode(view.buffer(), view.bytesOffset(), view.length());
+  }
+
+  /**
+   * Answers the decoded message of {@code message}, such as one built from
+   * reads or reassembled from fragments.
+   * @param message the RawMessage of the message
+   * @param <T> the type of the message
+   * @return T
+   * @throws IllegalArgumentException when no codec is registered for the type of message
+   */
+  public <T> T decode(final RawMessage message) {
+    final RawMessageCodec<T> codec = registered(message.header().type());
+    return codec.decode(ByteBufferAllocator.wrap(message.asBinaryMessage()), 0, message.length());
+  }
+
+  /**
+   * Answers a buffer of {@code pool} holding the header and the bytes of
+   * {@code message} encoded by the codec of {@code type}, ready to be written.
+   * @param nodeId the int id of the sending node
+   * @param type the short RawMessageHeader type of the message
+   * @param message the T to encode
+   * @param pool the ByteBufferPool of the buffer
+   * @param <T> the type of the message
+   * @return ConsumerByteBuffer
+   * @throws IllegalArgumentException when no codec is registered for type
+   */
+  public <T> ConsumerByteBuffer encode(final int nodeId, final short type, final T message, final ByteBufferPool pool) {
+    final RawMessageCodec<T> codec = registered(type);
+    final ConsumerByteBuffer buffer = pool.accessFitting(RawMessageHeader.BYTES + codec.encodedLength(message));
+
+    try {
+      encode(nodeId, type, codec, message, buffer.clear().asByteBuffer());
+    } catch (RuntimeException e) {
+      buffer.release();
+      throw e;
+    }
+
+    return buffer.flip();
+  }
+
+  /**
+   * Answers the number of bytes of the header and the bytes of
+   * {@code message} encoded by the codec of {@code type} into
+   * {@code buffer} at its position, which is advanced past them.
+   * @param nodeId the int id of the sending node
+   * @param type the short RawMessageHeader type of the message
+   * @param message the T to encode
+   * @param buffer the ByteBuffer to write into
+   * @param <T> the type of the message
+   * @return int
+   * @throws IllegalArgumentException when no codec is registered for type
+   */
+  public <T> int encode(final int nodeId, final short type, final T message, final ByteBuffer buffer) {
+    final RawMessageCodec<T> codec = registered(type);
+    return encode(nodeId, type, codec, message, buffer);
+  }
+
+  public boolean isRegistered(final short type) {
+    return codecFor(type) != null;
+  }
+
+  /**
+   * Registers {@code codec} for the messages of {@code type}.
+   * @param type the short RawMessageHeader type of the messages
+   * @param codec the {@code RawMessageCodec<T>} of the messages
+   * @param <T> the type of the messages
+   * @return RawMessageCodecs
+   * @throws IllegalArgumentException when a codec is already registered for type
+   */
+  public synchronized <T> RawMessageCodecs register(final short type, final RawMessageCodec<T> codec) {
+    final int index = type & 0xFFFF;
+
+    if (codec == null) {
+      throw new IllegalArgumentException("The codec must not be null.");
+    }
+
+    if (isRegistered(type)) {
+      throw new IllegalArgumentException("A codec is already registered for type: " + type);
+    }
+
+    final RawMessageCodec<?>[] registered = Arrays.copyOf(codecs, Math.max(codecs.length, Math.min(MaxTypes, index + 1)));
+    registered[index] = codec;
+    codecs = registered;
+
+    return this;
+  }
+
+  /**
+   * Answers a new {@code RawMessage} of {@code message} encoded by the codec
+   * of {@code type}, for the paths that write messages rather than buffers.
+   * @param nodeId the int id of the sending node
+   * @param type the short RawMessageHeader type of the message
+   * @param message the T to encode
+   * @param <T> the type of the message
+   * @return RawMessage
+   * @throws IllegalArgumentException when no codec is registered for type
+   */
+  public <T> RawMessage toRawMessage(final int nodeId, final short type, final T message) {
+    final RawMessageCodec<T> codec = registered(type);
+    final int maximum = codec.encodedLength(message);
+    final ByteBuffer bytes = ByteBufferAllocator.wrap(new byte[maximum]);
+
+    codec.encode(message, bytes);
+
+    final int length = bytes.position();
+    final RawMessage encoded = new RawMessage(length == maximum ? bytes.array() : Arrays.copyOf(bytes.array(), length));
+    encoded.header(RawMessageHeader.from(nodeId, type, length));
+
+    return encoded;
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private <T> int encode(final int nodeId, final short type, final RawMessageCodec<T> codec, final T message, final ByteBuffer buffer) {
+    final int start = buffer.position();
+
+    buffer.position(start + RawMessageHeader.BYTES);
+    codec.encode(message, buffer);
+
+    final int end = buffer.position();
+    final int length = end - start - RawMessageHeader.BYTES;
+
+    // the header is written last, with the length actually encoded
+    buffer.position(start);
+    new RawMessageHeader((short) nodeId, type, length).copyBytesTo(buffer);
+    buffer.position(end);
+
+    return end - start;
+  }
+
+  private <T> RawMessageCodec<T> registered(final short type) {
+    final RawMessageCodec<T> codec = codecFor(type);
+    if (codec == null) {
+      throw new IllegalArgumentException("No codec is registered for type: " + type);
+    }
+    return codec;
+  }
+}
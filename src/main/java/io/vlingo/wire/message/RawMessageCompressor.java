@@ -0,0 +1,241 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses the bytes of messages of at least {@code threshold} bytes with
+ * a pooled {@code Deflater}, marking them with {@code FLAG_COMPRESSED} of a
+ * version 2 header. The compressed bytes are the int uncompressed length,
+ * big-endian, followed by the deflated bytes. A message is sent as is when
+ * it is below the threshold or does not become smaller, so small messages
+ * cost nothing extra. Compressed messages are decompressed by the readers.
+ */
+public class RawMessageCompressor {
+  public static final int DefaultThreshold = 4 * 1024;
+
+  private static final int LengthBytes = 4;
+  private static final int PoolSize = Runtime.getRuntime().availableProcessors();
+
+  private static final ArrayBlockingQueue<Inflater> Inflaters = new ArrayBlockingQueue<>(PoolSize);
+  private static final ThreadLocal<byte[]> Scratch = ThreadLocal.withInitial(() -> new byte[DefaultThreshold]);
+
+  private final ArrayBlockingQueue<Deflater> deflaters;
+  private final int level;
+  private final int threshold;
+
+  /**
+   * Answers {@code target} after replacing its header and bytes with those
+   * of the compressed {@code source}, decompressed.
+   * @param source the compressed RawMessage
+   * @param target the RawMessage to decompress into, which must fit
+   * @return RawMessage
+   */
+  public static RawMessage decompress(final RawMessage source, final RawMessage target) {
+    return decompress(source.header(), source.asBinaryMessage(), 0, source.length(), target);
+  }
+
+  /**
+   * Answers the uncompressed length of the compressed bytes at
+   * {@code offset} in {@code buffer}.
+   * @param buffer the ByteBuffer holding the compressed bytes
+   * @param offset the int offset of the compressed bytes
+   * @return int
+   */
+  public static int uncompressedLength(final ByteBuffer buffer, final int offset) {
+    return ((buffer.get(offset) & 0xFF) << 24) | ((buffer.get(offset + 1) & 0xFF) << 16) |
+           ((buffer.get(offset + 2) & 0xFF) << 8) | (buffer.get(offset + 3) & 0xFF);
+  }
+
+  /**
+   * Answers the uncompressed length of the {@code length} compressed bytes
+   * at {@code offset} in {@code buffer}, as received from a peer.
+   * @param buffer the ByteBuffer holding the compressed bytes
+   * @param offset the int offset of the compressed bytes
+   * @param length the int number of compressed bytes
+   * @return int
+   * @throws IllegalArgumentException when the bytes are shorter than their length prefix, or it is negative
+   */
+  static int uncompressedLength(final ByteBuffer buffer, final int offset, final int length) {
+    return validLength(length < LengthBytes ? -1 : uncompressedLength(buffer, offset), length);
+  }
+
+  static int uncompressedLength(final byte[] bytes, final int offset, final int length) {
+    return validLength(length < LengthBytes ? -1 : uncompressedLength(bytes, offset), length);
+  }
+
+  static int uncompressedLength(final byte[] bytes, final int offset) {
+    return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) |
+           ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+  }
+
+  public RawMessageCompressor() {
+    this(DefaultThreshold, Deflater.BEST_SPEED);
+  }
+
+  public RawMessageCompressor(final int threshold, final int level) {
+    if (threshold <= LengthBytes) {
+      throw new IllegalArgumentException("The threshold must be greater than " + LengthBytes + ".");
+    }
+    this.deflaters = new ArrayBlockingQueue<>(PoolSize);
+    this.level = level;
+    this.threshold = threshold;
+  }
+
+  /**
+   * Answers a new compressed {@code RawMessage} of {@code message}, or
+   * {@code message} itself when it is below my threshold or does not become
+   * smaller by compression.
+   * @param message the RawMessage to compress
+   * @return RawMessage
+   */
+  public RawMessage compress(final RawMessage message) {
+    final int length = message.length();
+
+    if (length < threshold) {
+      return message;
+    }
+
+    final int maximum = length - LengthBytes - 1;
+    final byte[] scratch = scratch(length);
+    final Deflater deflater = deflater();
+
+    try {
+      deflater.setInput(message.asBinaryMessage(), 0, length);
+      deflater.finish();
+
+      int deflated = 0;
+      while (!deflater.finished() && deflated < maximum) {
+        deflated += deflater.deflate(scratch, LengthBytes + deflated, maximum - deflated);
+      }
+
+      if (!deflater.finished()) {
+        return message;
+      }
+
+      putLength(scratch, length);
+
+      final RawMessage compressed = new RawMessage(Arrays.copyOf(scratch, LengthBytes + deflated));
+      final RawMessageHeader header = message.header();
+      compressed.header()
+        .version2((byte) (header.flags() | RawMessageHeader.FLAG_COMPRESSED), header.sequence())
+        .setAll(header.nodeId(), header.type(), LengthBytes + deflated);
+
+      return compressed;
+    } finally {
+      deflater.reset();
+      if (!deflaters.offer(deflater)) {
+        deflater.end();
+      }
+    }
+  }
+
+  public int threshold() {
+    return threshold;
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  static RawMessage decompress(final RawMessageHeader header, final ByteBuffer buffer, final int offset, final int length, final RawMessage target) {
+    if (buffer.hasArray()) {
+      return decompress(header, buffer.array(), buffer.arrayOffset() + offset, length, target);
+    }
+    final byte[] scratch = scratch(length);
+    final ByteBuffer source = buffer.duplicate();
+    source.limit(offset + length).position(offset);
+    source.get(scratch, 0, length);
+    return decompress(header, scratch, 0, length, target);
+  }
+
+  private static RawMessage decompress(final RawMessageHeader header, final byte[] bytes, final int offset, final int length, final RawMessage target) {
+    final int uncompressedLength = uncompressedLength(bytes, offset, length);
+    final byte[] targetBytes = target.asBinaryMessage();
+
+    if (uncompressedLength > targetBytes.length) {
+      throw new IllegalArgumentException("Compressed message of " + uncompressedLength + " bytes does not fit " + targetBytes.length);
+    }
+
+    Inflater inflater = Inflaters.poll();
+    if (inflater == null) {
+      inflater = new Inflater();
+    }
+
+    try {
+      inflater.setInput(bytes, offset + LengthBytes, length - LengthBytes);
+
+      int inflated = 0;
+      while (inflated < uncompressedLength && !inflater.finished()) {
+        final int count = inflater.inflate(targetBytes, inflated, uncompressedLength - inflated);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        inflated += count;
+      }
+
+      if (inflated != uncompressedLength) {
+        throw new IllegalArgumentException("Compressed message is truncated: " + inflated + " of " + uncompressedLength);
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalArgumentException("Compressed message is invalid: " + e.getMessage(), e);
+    } finally {
+      inflater.reset();
+      if (!Inflaters.offer(inflater)) {
+        inflater.end();
+      }
+    }
+
+    // the checksum was of the compressed bytes, which were verified when read
+    final byte flags = (byte) (header.flags() & ~(RawMessageHeader.FLAG_COMPRESSED | RawMessageHeader.FLAG_CHECKSUM));
+    target.reset();
+    target.header()
+      .version2(flags, header.sequence())
+      .setAll(header.nodeId(), header.type(), uncompressedLength);
+    target.appended(uncompressedLength);
+
+    return target;
+  }
+
+  private static int validLength(final int uncompressedLength, final int length) {
+    if (length < LengthBytes) {
+      throw new IllegalArgumentException("Compressed message of " + length + " bytes is shorter than its length prefix");
+    }
+    if (uncompressedLength < 0) {
+      throw new IllegalArgumentException("Compressed message has an invalid length: " + uncompressedLength);
+    }
+    return uncompressedLength;
+  }
+
+  private static void putLength(final byte[] bytes, final int length) {
+    bytes[0] = (byte) (length >>> 24);
+    bytes[1] = (byte) (length >>> 16);
+    bytes[2] = (byte) (length >>> 8);
+    bytes[3] = (byte) length;
+  }
+
+  private static byte[] scratch(final int length) {
+    byte[] scratch = Scratch.get();
+    if (scratch.length < length) {
+      scratch = new byte[length];
+      Scratch.set(scratch);
+    }
+    return scratch;
+  }
+
+  private Deflater deflater() {
+    final Deflater deflater = deflaters.poll();
+    return deflater == null ? new Deflater(level) : deflater;
+  }
+}
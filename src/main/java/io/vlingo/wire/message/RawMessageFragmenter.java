@@ -0,0 +1,129 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits messages that do not fit {@code maxMessageSize} into fragments that
+ * do, each with a version 2 header flagged {@code FLAG_FRAGMENT}, and the
+ * first and last also with {@code FLAG_FIRST_FRAGMENT} and
+ * {@code FLAG_LAST_FRAGMENT}. The fragments of one message have consecutive
+ * sequence numbers, which are of the sequencer when one is given, and are
+ * rejoined by a {@code RawMessageReassembler} on receipt.
+ */
+public class RawMessageFragmenter {
+  private final int maxFragmentLength;
+  private final int maxMessageSize;
+  private int sequence;
+
+  public RawMessageFragmenter(final int maxMessageSize) {
+    if (maxMessageSize <= RawMessageHeader.BYTES_V2) {
+      throw new IllegalArgumentException("The max message size must be greater than " + RawMessageHeader.BYTES_V2);
+    }
+    this.maxMessageSize = maxMessageSize;
+    this.maxFragmentLength = maxMessageSize - RawMessageHeader.BYTES_V2;
+  }
+
+  /**
+   * Answers whether a message of {@code totalLength} bytes, header and bytes,
+   * must be fragmented.
+   * @param totalLength the int total length of the message
+   * @return boolean
+   */
+  public boolean isFragmented(final int totalLength) {
+    return totalLength > maxMessageSize;
+  }
+
+  /**
+   * Answers the fragments of {@code message} as the segments of one
+   * {@code CompositeConsumerByteBuffer}, a header and a slice of the bytes of
+   * message for each, so the bytes are not copied and must not be reused
+   * until the composite is written.
+   * @param message the RawMessage to fragment
+   * @param sequencer the RawMessageSequencer of the channel, or null
+   * @return CompositeConsumerByteBuffer
+   */
+  public CompositeConsumerByteBuffer fragment(final RawMessage message, final RawMessageSequencer sequencer) {
+    final int count = fragmentCount(message);
+    final ByteBuffer[] segments = new ByteBuffer[count * 2];
+    final byte[] bytes = message.asBinaryMessage();
+
+    for (int index = 0, offset = 0; index < count; ++index, offset += maxFragmentLength) {
+      final int length = Math.min(maxFragmentLength, message.length() - offset);
+      final RawMessageHeader header = fragmentHeader(message.header(), index, count, length, sequencer);
+      if (header.hasChecksum()) {
+        header.checksum(Crc32C.of(bytes, offset, length));
+      }
+      final ByteBuffer headerBuffer = ByteBufferAllocator.allocate(RawMessageHeader.BYTES_V2);
+      header.copyBytesTo(headerBuffer);
+      headerBuffer.flip();
+      segments[index * 2] = headerBuffer;
+      segments[index * 2 + 1] = ByteBuffer.wrap(bytes, offset, length).slice();
+    }
+
+    return CompositeConsumerByteBuffer.of(segments);
+  }
+
+  /**
+   * Answers the fragments of {@code message} as new messages, each of which
+   * may be sent alone, such as in a datagram.
+   * @param message the RawMessage to fragment
+   * @param sequencer the RawMessageSequencer of the channel, or null
+   * @return {@code List<RawMessage>}
+   */
+  public List<RawMessage> fragmentMessages(final RawMessage message, final RawMessageSequencer sequencer) {
+    final int count = fragmentCount(message);
+    final List<RawMessage> fragments = new ArrayList<>(count);
+
+    for (int index = 0, offset = 0; index < count; ++index, offset += maxFragmentLength) {
+      final int length = Math.min(maxFragmentLength, message.length() - offset);
+      final RawMessage fragment = new RawMessage(fragmentHeader(message.header(), index, count, length, sequencer), length);
+      fragment.append(message.asBinaryMessage(), offset, length);
+      fragments.add(fragment);
+    }
+
+    return fragments;
+  }
+
+  public int maxMessageSize() {
+    return maxMessageSize;
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private int fragmentCount(final RawMessage message) {
+    return (message.length() + maxFragmentLength - 1) / maxFragmentLength;
+  }
+
+  private RawMessageHeader fragmentHeader(
+          final RawMessageHeader messageHeader,
+          final int index,
+          final int count,
+          final int length,
+          final RawMessageSequencer sequencer) {
+
+    // the sequence of the fragmenter is not of the channel
+    byte flags = (byte) ((messageHeader.flags() & ~RawMessageHeader.FLAG_SEQUENCED) | RawMessageHeader.FLAG_FRAGMENT);
+    if (index == 0) {
+      flags |= RawMessageHeader.FLAG_FIRST_FRAGMENT;
+    }
+    if (index == count - 1) {
+      flags |= RawMessageHeader.FLAG_LAST_FRAGMENT;
+    }
+
+    final RawMessageHeader header = RawMessageHeader.from(messageHeader.nodeId(), messageHeader.type(), length);
+    header.version2(flags, ++sequence);
+
+    return sequencer == null ? header : sequencer.stamp(header);
+  }
+}
@@ -9,18 +9,56 @@ package io.vlingo.wire.message;
 
 import java.nio.ByteBuffer;
 
+/**
+ * The header of a {@code RawMessage}, of either version 1, with two unused
+ * fields, or version 2, with a flags byte, a sequence number that is of
+ * its channel when {@code FLAG_SEQUENCED} is set, a CRC32C checksum of the message bytes when {@code FLAG_CHECKSUM} is set,
+ * {@code FLAG_COMPRESSED} when the bytes are compressed, and
+ * {@code FLAG_FRAGMENT} when the bytes are one fragment of a larger
+ * message. Both versions are read; a header is written as version 1
+ * unless it is stamped as version 2 by {@code version2()}.
+ */
 public final class RawMessageHeader {
   private static final int SHORT_FIELDS = 5;
   private static final int INT_FIELDS = 1;
   private static final int SHORT_BYTES = Short.SIZE / Byte.SIZE;
   private static final int INT_BYTES = Integer.SIZE / Byte.SIZE;
   public static final int BYTES = (SHORT_BYTES * SHORT_FIELDS) + (INT_BYTES * INT_FIELDS);
-  private static final short HEADER_ID = 3730 | 0x01; // version 1
+  public static final int BYTES_V2 = (SHORT_BYTES * 3) + (INT_BYTES * 3) + 2; // with flags and reserved bytes
+  public static final byte FLAG_CHECKSUM = 0x01;
+  public static final byte FLAG_COMPRESSED = 0x02;
+  public static final byte FLAG_FRAGMENT = 0x04;
+  public static final byte FLAG_FIRST_FRAGMENT = 0x08;
+  public static final byte FLAG_LAST_FRAGMENT = 0x10;
+  public static final byte FLAG_SEQUENCED = 0x20;
+  static final short HEADER_ID = 3730 | 0x01; // version 1
+  static final short HEADER_ID_V2 = 3730 + 0x02; // version 2
 
+  private int checksum;
+  private byte flags;
+  private short headerId;
   private int length;
   private short nodeId;
+  private int sequence;
   private short type;
 
+  /**
+   * Answers the byte size of the header identified by {@code headerId},
+   * or zero when it identifies no known version.
+   * @param headerId the short identity and version of a header
+   * @return int
+   */
+  static int bytesFor(final short headerId) {
+    switch (headerId) {
+    case HEADER_ID:
+      return BYTES;
+    case HEADER_ID_V2:
+      return BYTES_V2;
+    default:
+      return 0;
+    }
+  }
+
   public static final RawMessageHeader from(final ByteBuffer buffer) {
     RawMessageHeader header = new RawMessageHeader();
 
@@ -40,7 +78,7 @@ public final class RawMessageHeader {
   }
   
   public static final RawMessageHeader from(final RawMessageHeader copy) {
-    return from(copy.nodeId, copy.type, copy.length);
+    return new RawMessageHeader().setAll(copy);
   }
 
   public RawMessageHeader() {
@@ -48,6 +86,7 @@ public final class RawMessageHeader {
   }
 
   public RawMessageHeader(final short nodeId, final short type, final int length) {
+    this.headerId = HEADER_ID;
     this.nodeId = nodeId;
     this.type = type;
     this.length = length;
@@ -57,6 +96,43 @@ public final class RawMessageHeader {
     this((short) nodeId, (short) type, length);
   }
 
+  public int bytes() {
+    return isVersion2() ? BYTES_V2 : BYTES;
+  }
+
+  public int checksum() {
+    return checksum;
+  }
+
+  public byte flags() {
+    return flags;
+  }
+
+  public boolean hasChecksum() {
+    return isVersion2() && (flags & FLAG_CHECKSUM) != 0;
+  }
+
+  public boolean isCompressed() {
+    return isVersion2() && (flags & FLAG_COMPRESSED) != 0;
+  }
+
+  public boolean isFragment() {
+    return isVersion2() && (flags & FLAG_FRAGMENT) != 0;
+  }
+
+  /**
+   * Answers whether my sequence number is of my channel, as stamped by a
+   * {@code RawMessageSequencer}, rather than of a fragmenter or none.
+   * @return boolean
+   */
+  public boolean isSequenced() {
+    return isVersion2() && (flags & FLAG_SEQUENCED) != 0;
+  }
+
+  public boolean isVersion2() {
+    return headerId == HEADER_ID_V2;
+  }
+
   public int length() {
     return length;
   }
@@ -65,6 +141,25 @@ public final class RawMessageHeader {
     return nodeId;
   }
 
+  public int sequence() {
+    return sequence;
+  }
+
+  /**
+   * Answers this header after stamping it as version 2, with
+   * {@code flags} and {@code sequence}.
+   * @param flags the byte flags, such as FLAG_CHECKSUM
+   * @param sequence the int sequence number of the message on its channel
+   * @return RawMessageHeader
+   */
+  public RawMessageHeader version2(final byte flags, final int sequence) {
+    this.headerId = HEADER_ID_V2;
+    this.flags = flags;
+    this.sequence = sequence;
+    this.checksum = 0;
+    return this;
+  }
+
   @Override
   public boolean equals(Object other) {
     if (other == null || other.getClass() != RawMessageHeader.class) {
@@ -80,7 +175,11 @@ public final class RawMessageHeader {
   
   @Override
   public String toString() {
-    return "RawMessageHeader[headerId=" + HEADER_ID + " nodeId=" + nodeId + " type=" + type + " length=" + length + "]";
+    if (isVersion2()) {
+      return "RawMessageHeader[headerId=" + headerId + " nodeId=" + nodeId + " type=" + type + " length=" + length +
+              " flags=" + flags + " sequence=" + sequence + " checksum=" + checksum + "]";
+    }
+    return "RawMessageHeader[headerId=" + headerId + " nodeId=" + nodeId + " type=" + type + " length=" + length + "]";
   }
 
   public short type() {
@@ -88,29 +187,77 @@ public final class RawMessageHeader {
   }
   
   public void copyBytesTo(final ByteBuffer buffer) {
-    buffer
-        .putShort(HEADER_ID)
-        .putShort(nodeId)
-        .putShort(type)
-        .putInt(length)
-        .putShort(Short.MAX_VALUE)
-        .putShort(Short.MAX_VALUE);
+    if (isVersion2()) {
+      buffer
+          .putShort(HEADER_ID_V2)
+          .putShort(nodeId)
+          .putShort(type)
+          .putInt(length)
+          .put(flags)
+          .put((byte) 0)
+          .putInt(sequence)
+          .putInt(checksum);
+    } else {
+      buffer
+          .putShort(HEADER_ID)
+          .putShort(nodeId)
+          .putShort(type)
+          .putInt(length)
+          .putShort(Short.MAX_VALUE)
+          .putShort(Short.MAX_VALUE);
+    }
   }
 
   public final RawMessageHeader read(final ByteBuffer buffer) {
-    final short headerId = buffer.getShort();
-    
-    if (headerId != HEADER_ID) {
+    read(buffer, buffer.position());
+    buffer.position(buffer.position() + bytes());
+    return this;
+  }
+
+  /**
+   * Answers this header after reading it from {@code buffer} at
+   * {@code offset}, without moving the position of buffer.
+   * @param buffer the ByteBuffer to read from
+   * @param offset the int offset of the header in buffer
+   * @return RawMessageHeader
+   */
+  public final RawMessageHeader read(final ByteBuffer buffer, final int offset) {
+    final short headerId = buffer.getShort(offset);
+
+    if (bytesFor(headerId) == 0) {
       throw new IllegalArgumentException("Invalid raw message header: " + headerId);
     }
 
-    final short nodeId = buffer.getShort();
-    final short type = buffer.getShort();
-    final int length = buffer.getInt();
-    buffer.getShort(); // unused1
-    buffer.getShort(); // unused2
+    final short nodeId = buffer.getShort(offset + 2);
+    final short type = buffer.getShort(offset + 4);
+    final int length = buffer.getInt(offset + 6);
+
+    this.headerId = headerId;
+    this.setAll(nodeId, type, length);
+
+    if (headerId == HEADER_ID_V2) {
+      this.flags = buffer.get(offset + 10);
+      this.sequence = buffer.getInt(offset + 12);
+      this.checksum = buffer.getInt(offset + 16);
+    } else {
+      this.flags = 0;
+      this.sequence = 0;
+      this.checksum = 0;
+    }
+
+    return this;
+  }
+
+  void checksum(final int checksum) {
+    this.checksum = checksum;
+  }
 
-    return this.setAll(nodeId, type, length);
+  protected final RawMessageHeader setAll(final RawMessageHeader other) {
+    this.checksum = other.checksum;
+    this.flags = other.flags;
+    this.headerId = other.headerId;
+    this.sequence = other.sequence;
+    return this.setAll(other.nodeId, other.type, other.length);
   }
 
   protected final RawMessageHeader setAll(final short nodeId, final short type, final int length) {
@@ -0,0 +1,113 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of {@code RawMessage} instances of {@code maxMessageSize}
+ * that are leased to a consumer and returned to the pool when the consumer
+ * closes them. The messages are created lazily, up to {@code poolSize}.
+ */
+public class RawMessagePool {
+  private final AtomicInteger created;
+  private final ArrayBlockingQueue<PooledRawMessage> free;
+  private final int maxMessageSize;
+  private final int poolSize;
+
+  public RawMessagePool(final int poolSize, final int maxMessageSize) {
+    if (poolSize <= 0) {
+      throw new IllegalArgumentException("The pool size must be greater than zero.");
+    }
+    this.created = new AtomicInteger(0);
+    this.free = new ArrayBlockingQueue<>(poolSize);
+    this.maxMessageSize = maxMessageSize;
+    this.poolSize = poolSize;
+  }
+
+  /**
+   * Answers a leased {@code PooledRawMessage}, or {@code null} when every
+   * message of this pool is leased.
+   * @return PooledRawMessage
+   */
+  public PooledRawMessage access() {
+    PooledRawMessage message = free.poll();
+
+    if (message == null) {
+      message = create();
+      if (message == null) {
+        return null;
+      }
+    }
+
+    return message.claimUse();
+  }
+
+  public int available() {
+    return free.size() + (poolSize - created.get());
+  }
+
+  public int maxMessageSize() {
+    return maxMessageSize;
+  }
+
+  public int size() {
+    return poolSize;
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private PooledRawMessage create() {
+    while (true) {
+      final int current = created.get();
+      if (current == poolSize) {
+        return null;
+      }
+      if (created.compareAndSet(current, current + 1)) {
+        return new PooledRawMessage(maxMessageSize);
+      }
+    }
+  }
+
+  /**
+   * A message of this pool, which is returned to the pool when it is
+   * closed. Its {@code asBinaryMessage()} bytes are of the pool's
+   * {@code maxMessageSize}, of which only {@code length()} are the message.
+   */
+  public class PooledRawMessage extends RawMessage {
+    private final AtomicBoolean inUse;
+
+    PooledRawMessage(final int maxMessageSize) {
+      super(maxMessageSize);
+
+      this.inUse = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void close() {
+      if (!inUse.compareAndSet(true, false)) {
+        throw new IllegalStateException("Attempt to close unleased message: " + this);
+      }
+      free.offer(this);
+    }
+
+    public boolean isInUse() {
+      return inUse.get();
+    }
+
+    private PooledRawMessage claimUse() {
+      reset();
+      inUse.set(true);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+/**
+ * Rejoins the fragments of a message made by a {@code RawMessageFragmenter},
+ * which are received one after another on one connection. The reassembled
+ * bytes are bounded by {@code maxMessageSize}, and are held only while a
+ * message is being reassembled, so the buffers of a connection stay small
+ * unless a large message is received. A fragment that does not follow the
+ * previous one in sequence, as when a datagram is lost, abandons the message.
+ */
+public class RawMessageReassembler {
+  public static final int DefaultMaxMessageSize = 16 * 1024 * 1024;
+
+  private static final int InitialCapacity = 64 * 1024;
+
+  private RawMessage assembly;
+  private final RawMessageHeader header;
+  private final int maxMessageSize;
+  private int sequence;
+
+  public RawMessageReassembler() {
+    this(DefaultMaxMessageSize);
+  }
+
+  public RawMessageReassembler(final int maxMessageSize) {
+    this.header = new RawMessageHeader();
+    this.maxMessageSize = maxMessageSize;
+  }
+
+  public boolean isReassembling() {
+    return assembly != null;
+  }
+
+  public int maxMessageSize() {
+    return maxMessageSize;
+  }
+
+  /**
+   * Answers the reassembled message, which the caller owns, when
+   * {@code fragment} is the last of its message, or {@code null} otherwise.
+   * @param fragment the RawMessageView of a fragment
+   * @return RawMessage
+   * @throws IllegalStateException when the message exceeds maxMessageSize
+   */
+  public RawMessage reassemble(final RawMessageView fragment) {
+    return reassemble(fragment.header(), fragment, null);
+  }
+
+  /**
+   * Answers the reassembled message, which the caller owns, when
+   * {@code fragment} is the last of its message, or {@code null} otherwise.
+   * @param fragment the RawMessage of a fragment
+   * @return RawMessage
+   * @throws IllegalStateException when the message exceeds maxMessageSize
+   */
+  public RawMessage reassemble(final RawMessage fragment) {
+    return reassemble(fragment.header(), null, fragment);
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private RawMessage reassemble(final RawMessageHeader fragmentHeader, final RawMessageView view, final RawMessage message) {
+    final byte flags = fragmentHeader.flags();
+
+    if ((flags & RawMessageHeader.FLAG_FIRST_FRAGMENT) != 0) {
+      header.setAll(fragmentHeader);
+      assembly = new RawMessage(Math.min(maxMessageSize, Math.max(InitialCapacity, fragmentHeader.length() * 2)));
+    } else if (assembly == null || fragmentHeader.sequence() != sequence + 1) {
+      assembly = null;
+      return null;
+    }
+
+    sequence = fragmentHeader.sequence();
+
+    final int length = fragmentHeader.length();
+    ensureCapacity(assembly.length() + length);
+
+    if (view != null) {
+      assembly.append(view.asByteBuffer(), length);
+    } else {
+      assembly.append(message.asBinaryMessage(), 0, length);
+    }
+
+    if ((flags & RawMessageHeader.FLAG_LAST_FRAGMENT) == 0) {
+      return null;
+    }
+
+    final RawMessage reassembled = assembly;
+    assembly = null;
+
+    final byte messageFlags =
+            (byte) (header.flags() & ~(RawMessageHeader.FLAG_CHECKSUM | RawMessageHeader.FLAG_FRAGMENT |
+                                       RawMessageHeader.FLAG_FIRST_FRAGMENT | RawMessageHeader.FLAG_LAST_FRAGMENT));
+    reassembled.header()
+      .version2(messageFlags, header.sequence())
+      .setAll(header.nodeId(), header.type(), reassembled.length());
+
+    if (reassembled.header().isCompressed()) {
+      final int uncompressedLength = RawMessageCompressor.uncompressedLength(reassembled.asBinaryMessage(), 0, reassembled.length());
+      if (uncompressedLength > maxMessageSize) {
+        throw new IllegalStateException("Reassembled message of " + uncompressedLength + " bytes exceeds " + maxMessageSize);
+      }
+      return RawMessageCompressor.decompress(reassembled, new RawMessage(uncompressedLength));
+    }
+
+    return reassembled;
+  }
+
+  private void ensureCapacity(final int required) {
+    final int capacity = assembly.asBinaryMessage().length;
+
+    if (required <= capacity) {
+      return;
+    }
+
+    if (required > maxMessageSize) {
+      assembly = null;
+      throw new IllegalStateException("Reassembled message of at least " + required + " bytes exceeds " + maxMessageSize);
+    }
+
+    final RawMessage larger = new RawMessage(Math.min(maxMessageSize, Math.max(required, capacity * 2)));
+    larger.append(assembly.asBinaryMessage(), 0, assembly.length());
+    assembly = larger;
+  }
+}
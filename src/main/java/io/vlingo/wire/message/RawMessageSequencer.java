@@ -0,0 +1,84 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stamps the headers of the messages written to one channel as version 2,
+ * with the next sequence number of the channel, and with a CRC32C checksum
+ * of the message bytes when the channel is checksummed. A trusted channel
+ * may be sequenced without being checksummed, paying nothing for it.
+ */
+public class RawMessageSequencer {
+  private final byte flags;
+  private int sequence;
+
+  public RawMessageSequencer(final boolean checksummed) {
+    this.flags = (byte) (RawMessageHeader.FLAG_SEQUENCED | (checksummed ? RawMessageHeader.FLAG_CHECKSUM : 0));
+    this.sequence = 0;
+  }
+
+  public boolean isChecksummed() {
+    return (flags & RawMessageHeader.FLAG_CHECKSUM) != 0;
+  }
+
+  /**
+   * Answers the sequence number of the last message stamped.
+   * @return int
+   */
+  public int sequence() {
+    return sequence;
+  }
+
+  /**
+   * Answers {@code message} after stamping its header with the next sequence
+   * number. The checksum is computed when the message is copied out.
+   * @param message the RawMessage to stamp
+   * @return RawMessage
+   */
+  public RawMessage stamp(final RawMessage message) {
+    stamp(message.header());
+    return message;
+  }
+
+  /**
+   * Answers {@code header} after stamping it with the next sequence number
+   * and {@code FLAG_SEQUENCED}, keeping its flags other than {@code FLAG_CHECKSUM}.
+   * @param header the RawMessageHeader to stamp
+   * @return RawMessageHeader
+   */
+  public RawMessageHeader stamp(final RawMessageHeader header) {
+    return header.version2((byte) ((header.flags() & ~RawMessageHeader.FLAG_CHECKSUM) | flags), ++sequence);
+  }
+
+  /**
+   * Answers {@code buffer} after stamping the version 2 header of each
+   * message between its position and limit with the next sequence number,
+   * and {@code FLAG_SEQUENCED}, as when the messages are written to my
+   * channel. The headers keep their other flags and their checksums, which
+   * are of the message bytes only, and version 1 headers are left as they are.
+   * @param buffer the ByteBuffer holding the messages to stamp
+   * @return ByteBuffer
+   */
+  public ByteBuffer stamp(final ByteBuffer buffer) {
+    for (int offset = buffer.position(); offset < buffer.limit(); ) {
+      final int required = RawMessageView.requiredLength(buffer, offset);
+      if (required < 0 || required > buffer.limit() - offset) {
+        break;
+      }
+      if (RawMessageHeader.bytesFor(buffer.getShort(offset)) == RawMessageHeader.BYTES_V2) {
+        final int flagsIndex = offset + RawMessageView.FlagsOffset;
+        buffer.put(flagsIndex, (byte) (buffer.get(flagsIndex) | RawMessageHeader.FLAG_SEQUENCED));
+        buffer.putInt(offset + RawMessageView.SequenceOffset, ++sequence);
+      }
+      offset += required;
+    }
+    return buffer;
+  }
+}
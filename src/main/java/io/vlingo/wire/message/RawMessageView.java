@@ -0,0 +1,277 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only flyweight over a complete message, header and bytes, that
+ * lies in a receive buffer at some offset. Nothing is copied: the header
+ * fields and the bytes are read straight from the buffer, so a view is
+ * valid only until the buffer is next read into. A consumer that must keep
+ * the message answers an owned copy with {@code toRawMessage()}. The bytes of
+ * a compressed message are decompressed when copied or read as text.
+ */
+public final class RawMessageView {
+  private static final int NodeIdOffset = 2;
+  private static final int TypeOffset = 4;
+  private static final int LengthOffset = 6;
+  static final int FlagsOffset = 10;
+  static final int SequenceOffset = 12;
+  private static final int ChecksumOffset = 16;
+
+  private final ByteBuffer buffer;
+  private final int headerBytes;
+  private final int length;
+  private final int offset;
+
+  /**
+   * Answers whether a complete message, header and bytes, lies in
+   * {@code buffer} at {@code offset}, bounded by the buffer's limit.
+   * @param buffer the ByteBuffer holding the message
+   * @param offset the int offset of the header in buffer
+   * @return boolean
+   */
+  public static boolean isWhole(final ByteBuffer buffer, final int offset) {
+    final int available = buffer.limit() - offset;
+    if (available < RawMessageHeader.BYTES) {
+      return false;
+    }
+    final int headerBytes = RawMessageHeader.bytesFor(buffer.getShort(offset));
+    if (headerBytes == 0 || available < headerBytes) {
+      return false;
+    }
+    final int length = buffer.getInt(offset + LengthOffset);
+    return length >= 0 && length <= available - headerBytes;
+  }
+
+  /**
+   * Answers the number of bytes at {@code offset} in {@code buffer} needed to
+   * view the message there, which is its total length when its header is
+   * available, or otherwise at least the bytes of a header, or {@code -1}
+   * when the header is invalid.
+   * @param buffer the ByteBuffer holding the message bytes up to its limit
+   * @param offset the int offset of the message
+   * @return int
+   */
+  static int requiredLength(final ByteBuffer buffer, final int offset) {
+    final int available = buffer.limit() - offset;
+    if (available < 2) {
+      return RawMessageHeader.BYTES;
+    }
+    final int headerBytes = RawMessageHeader.bytesFor(buffer.getShort(offset));
+    if (headerBytes == 0) {
+      return -1;
+    }
+    if (available < headerBytes) {
+      return headerBytes;
+    }
+    final int length = buffer.getInt(offset + LengthOffset);
+    return length < 0 ? -1 : headerBytes + length;
+  }
+
+  /**
+   * Answers a new {@code RawMessageView} of the message at {@code offset}
+   * in {@code buffer}, which must be whole.
+   * @param buffer the ByteBuffer holding the message
+   * @param offset the int offset of the header in buffer
+   * @return RawMessageView
+   * @throws IllegalArgumentException if the header is invalid or the message is not whole
+   */
+  public static RawMessageView wrap(final ByteBuffer buffer, final int offset) {
+    if (buffer.limit() - offset < RawMessageHeader.BYTES) {
+      throw new IllegalArgumentException("Incomplete raw message header at: " + offset);
+    }
+    final short headerId = buffer.getShort(offset);
+    if (RawMessageHeader.bytesFor(headerId) == 0) {
+      throw new IllegalArgumentException("Invalid raw message header: " + headerId);
+    }
+    if (!isWhole(buffer, offset)) {
+      throw new IllegalArgumentException("Incomplete raw message at: " + offset);
+    }
+    return new RawMessageView(buffer, offset, RawMessageHeader.bytesFor(headerId), buffer.getInt(offset + LengthOffset));
+  }
+
+  /**
+   * Answers a read-only {@code ByteBuffer} of the bytes of this message,
+   * without the header, sharing the content of the underlying buffer.
+   * @return ByteBuffer
+   */
+  public ByteBuffer asByteBuffer() {
+    final ByteBuffer bytes = buffer.asReadOnlyBuffer().order(buffer.order());
+    bytes.limit(offset + totalLength()).position(offset + headerBytes);
+    return bytes.slice().order(buffer.order());
+  }
+
+  public String asTextMessage() {
+    if (isCompressed()) {
+      return toRawMessage().asTextMessage();
+    }
+    if (buffer.hasArray()) {
+      return Converters.bytesToText(buffer.array(), buffer.arrayOffset() + offset + headerBytes, length);
+    }
+    final byte[] bytes = new byte[length];
+    asByteBuffer().get(bytes);
+    return Converters.bytesToText(bytes, 0, length);
+  }
+
+  /**
+   * Answers {@code text} after replacing its characters with the text of
+   * this message, which is decoded in place unless it is compressed.
+   * @param text the StringBuilder reused for the text
+   * @return StringBuilder
+   */
+  public StringBuilder asTextMessage(final StringBuilder text) {
+    if (isCompressed()) {
+      return toRawMessage().asTextMessage(text);
+    }
+    return Converters.bytesToText(buffer, offset + headerBytes, length, text);
+  }
+
+  public int checksum() {
+    return isVersion2() ? buffer.getInt(offset + ChecksumOffset) : 0;
+  }
+
+  /**
+   * Answers {@code message} after replacing its header and bytes with those
+   * of this view, such as to fill a reused or pooled message.
+   * @param message the RawMessage to fill, which must fit this view
+   * @return RawMessage
+   */
+  public RawMessage copyTo(final RawMessage message) {
+    message.reset();
+    message.header().read(buffer, offset);
+    if (isCompressed()) {
+      return RawMessageCompressor.decompress(message.header(), buffer, offset + headerBytes, length, message);
+    }
+    message.append(asByteBuffer(), length);
+    return message;
+  }
+
+  /**
+   * Answers the underlying buffer, which must not be modified, of which
+   * the bytes of this message begin at {@code bytesOffset()}.
+   * @return ByteBuffer
+   */
+  ByteBuffer buffer() {
+    return buffer;
+  }
+
+  int bytesOffset() {
+    return offset + headerBytes;
+  }
+
+  public byte flags() {
+    return isVersion2() ? buffer.get(offset + FlagsOffset) : 0;
+  }
+
+  public RawMessageHeader header() {
+    return new RawMessageHeader().read(buffer, offset);
+  }
+
+  /**
+   * Answers whether the bytes of this message match the checksum of its
+   * header, which is always so when the header has no checksum.
+   * @return boolean
+   */
+  public boolean isChecksumValid() {
+    if ((flags() & RawMessageHeader.FLAG_CHECKSUM) == 0) {
+      return true;
+    }
+    return checksum() == Crc32C.of(buffer, offset + headerBytes, length);
+  }
+
+  public boolean isCompressed() {
+    return (flags() & RawMessageHeader.FLAG_COMPRESSED) != 0;
+  }
+
+  public boolean isFragment() {
+    return (flags() & RawMessageHeader.FLAG_FRAGMENT) != 0;
+  }
+
+  public boolean isSequenced() {
+    return (flags() & RawMessageHeader.FLAG_SEQUENCED) != 0;
+  }
+
+  public boolean isVersion2() {
+    return headerBytes == RawMessageHeader.BYTES_V2;
+  }
+
+  public int length() {
+    return length;
+  }
+
+  public short nodeId() {
+    return buffer.getShort(offset + NodeIdOffset);
+  }
+
+  public int offset() {
+    return offset;
+  }
+
+  /**
+   * Answers a new {@code RawMessage} that owns a copy of this message, and
+   * so remains valid after the underlying buffer is reused. A compressed
+   * message is decompressed into at most the largest reassembled message.
+   * @return RawMessage
+   * @throws IllegalArgumentException when the uncompressed length is invalid or too large
+   */
+  public RawMessage toRawMessage() {
+    return toRawMessage(RawMessageReassembler.DefaultMaxMessageSize);
+  }
+
+  /**
+   * Answers a new {@code RawMessage} that owns a copy of this message, as
+   * does {@code toRawMessage()}, when it has at most {@code maxMessageSize}
+   * bytes once decompressed, since the uncompressed length is the peer's.
+   * @param maxMessageSize the int size of the largest message to copy
+   * @return RawMessage
+   * @throws IllegalArgumentException when the uncompressed length is invalid or exceeds maxMessageSize
+   */
+  public RawMessage toRawMessage(final int maxMessageSize) {
+    final int uncompressedLength = uncompressedLength();
+    if (uncompressedLength > maxMessageSize) {
+      throw new IllegalArgumentException("Message of " + uncompressedLength + " bytes exceeds " + maxMessageSize);
+    }
+    return copyTo(new RawMessage(uncompressedLength));
+  }
+
+  public int sequence() {
+    return isVersion2() ? buffer.getInt(offset + SequenceOffset) : 0;
+  }
+
+  @Override
+  public String toString() {
+    return "RawMessageView[offset=" + offset + " nodeId=" + nodeId() + " type=" + type() + " length=" + length + "]";
+  }
+
+  public int totalLength() {
+    return headerBytes + length;
+  }
+
+  public short type() {
+    return buffer.getShort(offset + TypeOffset);
+  }
+
+  /**
+   * Answers the length of the bytes of this message when decompressed,
+   * which is its {@code length()} when it is not compressed.
+   * @return int
+   * @throws IllegalArgumentException when the bytes are shorter than their length prefix, or it is negative
+   */
+  public int uncompressedLength() {
+    return isCompressed() ? RawMessageCompressor.uncompressedLength(buffer, offset + headerBytes, length) : length;
+  }
+
+  private RawMessageView(final ByteBuffer buffer, final int offset, final int headerBytes, final int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.headerBytes = headerBytes;
+    this.length = length;
+  }
+}
@@ -0,0 +1,197 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduler;
+
+/**
+ * A {@code ByteBufferPool} of several size classes, each of which is itself a
+ * {@code ByteBufferPool}. {@code accessFitting()} answers a buffer of the
+ * smallest class that fits, falling back to larger classes when it is
+ * exhausted, so small messages do not pin buffers of the max message size.
+ * Plain {@code access()} answers a buffer of the largest class, as would
+ * a single-size pool of {@code maxBufferSize}.
+ */
+public class TieredByteBufferPool extends ByteBufferPool {
+  public static final int[] StandardSizeClasses = { 256, 4 * 1024, 64 * 1024, 1024 * 1024 };
+
+  private final ByteBufferPool[] tiers;
+
+  /**
+   * Answers the standard size classes up to and including {@code maxBufferSize},
+   * where the last class is always exactly {@code maxBufferSize}.
+   * @param maxBufferSize the int size of the largest class
+   * @return int[]
+   */
+  public static int[] standardSizeClassesUpTo(final int maxBufferSize) {
+    int count = 0;
+    while (count < StandardSizeClasses.length && StandardSizeClasses[count] < maxBufferSize) {
+      ++count;
+    }
+    final int[] sizes = Arrays.copyOf(StandardSizeClasses, count + 1);
+    sizes[count] = maxBufferSize;
+    return sizes;
+  }
+
+  public TieredByteBufferPool(final int poolSizePerTier, final int maxBufferSize) {
+    this(poolSizePerTier, maxBufferSize, ByteBufferAllocator.isDirectMode());
+  }
+
+  public TieredByteBufferPool(final int poolSizePerTier, final int maxBufferSize, final boolean direct) {
+    this(tiersOf(poolSizePerTier, standardSizeClassesUpTo(maxBufferSize), direct));
+  }
+
+  public TieredByteBufferPool(final int[] poolSizes, final int[] bufferSizes) {
+    this(tiersOf(poolSizes, bufferSizes, ByteBufferAllocator.isDirectMode()));
+  }
+
+  public TieredByteBufferPool(final ByteBufferPool... tiers) {
+    super(0, largestOf(tiers));
+
+    this.tiers = Arrays.copyOf(tiers, tiers.length);
+
+    Arrays.sort(this.tiers, Comparator.comparingInt(tier -> tier.maxBufferSize));
+  }
+
+  @Override
+  public int available() {
+    int available = 0;
+    for (final ByteBufferPool tier : tiers) {
+      available += tier.available();
+    }
+    return available;
+  }
+
+  @Override
+  public Completes<PooledByteBuffer> accessAsync(final String tag, final int size, final Scheduler scheduler, final long timeout) {
+    final PooledByteBuffer buffer = accessFitting(tag, size, 1);
+    if (buffer != null) {
+      return Completes.withSuccess(buffer);
+    }
+    // a release by any tier that fits completes the wait, not only by the smallest
+    return awaitRelease(tag, scheduler, timeout, Arrays.copyOfRange(tiers, tierIndexFitting(size), tiers.length));
+  }
+
+  @Override
+  public PooledByteBuffer accessFor(final String tag, final int retries) {
+    return tiers[tiers.length - 1].accessFor(tag, retries);
+  }
+
+  @Override
+  public PooledByteBuffer accessFitting(final String tag, final int size, final int retries) {
+    final int first = tierIndexFitting(size);
+    final boolean unbounded = retries == Integer.MAX_VALUE;
+
+    for (int count = 0; unbounded || count < retries; ++count) {
+      for (int idx = first; idx < tiers.length; ++idx) {
+        final PooledByteBuffer buffer = tiers[idx].accessFor(tag, 1);
+        if (buffer != null) {
+          return buffer;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void leakDetector(final BufferLeakDetector detector) {
+    super.leakDetector(detector);
+    for (final ByteBufferPool tier : tiers) {
+      tier.leakDetector(detector);
+    }
+  }
+
+  @Override
+  public int allocated() {
+    int allocated = 0;
+    for (final ByteBufferPool tier : tiers) {
+      allocated += tier.allocated();
+    }
+    return allocated;
+  }
+
+  @Override
+  public int maxSize() {
+    int maxSize = 0;
+    for (final ByteBufferPool tier : tiers) {
+      maxSize += tier.maxSize();
+    }
+    return maxSize;
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (final ByteBufferPool tier : tiers) {
+      size += tier.size();
+    }
+    return size;
+  }
+
+  @Override
+  public int trim() {
+    int trimmed = 0;
+    for (final ByteBufferPool tier : tiers) {
+      trimmed += tier.trim();
+    }
+    return trimmed;
+  }
+
+  public int tierCount() {
+    return tiers.length;
+  }
+
+  public ByteBufferPool tier(final int index) {
+    return tiers[index];
+  }
+
+  //=========================================
+  // internal implementation
+  //=========================================
+
+  private static int largestOf(final ByteBufferPool[] tiers) {
+    if (tiers.length == 0) {
+      throw new IllegalArgumentException("At least one tier is required.");
+    }
+    int largest = 0;
+    for (final ByteBufferPool tier : tiers) {
+      largest = Math.max(largest, tier.maxBufferSize);
+    }
+    return largest;
+  }
+
+  private static ByteBufferPool[] tiersOf(final int poolSizePerTier, final int[] bufferSizes, final boolean direct) {
+    final int[] poolSizes = new int[bufferSizes.length];
+    Arrays.fill(poolSizes, poolSizePerTier);
+    return tiersOf(poolSizes, bufferSizes, direct);
+  }
+
+  private static ByteBufferPool[] tiersOf(final int[] poolSizes, final int[] bufferSizes, final boolean direct) {
+    if (poolSizes.length != bufferSizes.length) {
+      throw new IllegalArgumentException("Each tier requires both a pool size and a buffer size.");
+    }
+    final ByteBufferPool[] tiers = new ByteBufferPool[bufferSizes.length];
+    for (int idx = 0; idx < tiers.length; ++idx) {
+      tiers[idx] = new ByteBufferPool(poolSizes[idx], bufferSizes[idx], direct);
+    }
+    return tiers;
+  }
+
+  private int tierIndexFitting(final int size) {
+    for (int idx = 0; idx < tiers.length; ++idx) {
+      if (tiers[idx].maxBufferSize >= size) {
+        return idx;
+      }
+    }
+    throw new IllegalArgumentException("Requested size " + size + " exceeds the max buffer size " + maxBufferSize);
+  }
+}
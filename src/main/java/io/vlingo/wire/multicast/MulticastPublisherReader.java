@@ -11,11 +11,13 @@ import io.vlingo.actors.Logger;
 import io.vlingo.wire.channel.ChannelMessageDispatcher;
 import io.vlingo.wire.channel.ChannelPublisher;
 import io.vlingo.wire.channel.ChannelReaderConsumer;
+import io.vlingo.wire.channel.SelectorEventLoop;
 import io.vlingo.wire.channel.SocketChannelSelectionReader;
 import io.vlingo.wire.message.ByteBufferAllocator;
 import io.vlingo.wire.message.PublisherAvailability;
 import io.vlingo.wire.message.RawMessage;
 import io.vlingo.wire.message.RawMessageBuilder;
+import io.vlingo.wire.message.RawMessageFragmenter;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -35,12 +37,15 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
   private final DatagramChannel publisherChannel;
   private boolean closed;
   private final ChannelReaderConsumer consumer;
+  private SelectorEventLoop eventLoop;
+  private final RawMessageFragmenter fragmenter;
   private final InetSocketAddress groupAddress;
   private final Logger logger;
   private final ByteBuffer messageBuffer;
   private final Queue<RawMessage> messageQueue;
   private final String name;
   private final InetSocketAddress publisherAddress;
+  private final SelectionKey publisherKey;
   private final ServerSocketChannel readChannel;
   private final Selector selector;
   
@@ -52,12 +57,39 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
           final ChannelReaderConsumer consumer,
           final Logger logger)
   throws Exception {
+    this(name, group, incomingSocketPort, maxMessageSize, consumer, logger, false);
+  }
+
+  /**
+   * Constructs my default state, where my availability is published as a
+   * binary {@code PublisherAvailability} message when {@code binaryAvailability},
+   * which only subscribers that decode it by its header type understand,
+   * or otherwise as text.
+   * @param name the String name of this publisher
+   * @param group the Group to publish to
+   * @param incomingSocketPort the int port of my incoming socket
+   * @param maxMessageSize the int size of the largest message
+   * @param consumer the ChannelReaderConsumer of incoming messages
+   * @param logger the Logger
+   * @param binaryAvailability the boolean indicating whether my availability is binary
+   * @throws Exception when the channels cannot be opened
+   */
+  public MulticastPublisherReader(
+          final String name,
+          final Group group,
+          final int incomingSocketPort,
+          final int maxMessageSize,
+          final ChannelReaderConsumer consumer,
+          final Logger logger,
+          final boolean binaryAvailability)
+  throws Exception {
     
     this.name = name;
     this.groupAddress = new InetSocketAddress(InetAddress.getByName(group.address()), group.port());
     this.consumer = consumer;
     this.logger = logger;
-    this.messageBuffer = ByteBufferAllocator.allocate(maxMessageSize);
+    this.messageBuffer = ByteBufferAllocator.allocateForIO(maxMessageSize);
+    this.fragmenter = new RawMessageFragmenter(maxMessageSize);
     this.messageQueue = new LinkedList<>();
     this.publisherChannel = DatagramChannel.open();
     this.selector = Selector.open();
@@ -67,13 +99,13 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
     publisherChannel.bind(null);
     
     publisherChannel.configureBlocking(false);
-    this.publisherChannel.register(selector, SelectionKey.OP_WRITE);
+    this.publisherKey = this.publisherChannel.register(selector, SelectionKey.OP_WRITE);
     this.readChannel = ServerSocketChannel.open();
     readChannel.socket().bind(new InetSocketAddress(incomingSocketPort));
     readChannel.configureBlocking(false);
     this.readChannel.register(selector, SelectionKey.OP_ACCEPT);
     this.publisherAddress = (InetSocketAddress) readChannel.socket().getLocalSocketAddress();
-    this.availability = availabilityMessage();
+    this.availability = availabilityMessage(binaryAvailability);
   }
 
   //====================================
@@ -85,6 +117,10 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
     if (closed) return;
     
     closed = true;
+
+    if (eventLoop != null) {
+      eventLoop.close();
+    }
     
     try {
       selector.close();
@@ -110,7 +146,8 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
     if (closed) return;
     
     try {
-      if (selector.selectNow() > 0) {
+      // keys selected by the event loop are still to be processed
+      if (selector.selectNow() > 0 || !selector.selectedKeys().isEmpty()) {
         final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
 
         while (iterator.hasNext()) {
@@ -130,7 +167,30 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
       }
     } catch (IOException e) {
       logger.error("Failed to read channel selector for: '" + name + "'", e);
+    } finally {
+      if (eventLoop != null) {
+        eventLoop.resume();
+      }
+    }
+  }
+
+  /**
+   * Answers {@code true} after starting a {@code SelectorEventLoop} that runs
+   * {@code processRequester} whenever my channels are ready. My publisher
+   * channel is then selected for writes only while messages are queued.
+   * @param processRequester the Runnable that requests processChannel()
+   * @return boolean
+   */
+  @Override
+  public boolean processWhenReady(final Runnable processRequester) {
+    if (closed) return false;
+
+    if (eventLoop == null) {
+      interestInWrites(!messageQueue.isEmpty());
+      eventLoop = new SelectorEventLoop(name, selector, processRequester, logger).start();
     }
+
+    return true;
   }
 
   @Override
@@ -146,11 +206,17 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
       throw new IllegalArgumentException("The message length must be greater than zero.");
     }
 
-    if (length > messageBuffer.capacity()) {
-      throw new IllegalArgumentException("The message length is greater than " + messageBuffer.capacity());
+    // each fragment is a datagram of its own, rejoined by the subscribers
+    if (fragmenter.isFragmented(message.totalLength())) {
+      messageQueue.addAll(fragmenter.fragmentMessages(message, null));
+    } else {
+      messageQueue.add(message);
     }
 
-    messageQueue.add(message);
+    if (eventLoop != null) {
+      interestInWrites(true);
+      eventLoop.wakeup();
+    }
   }
 
   //====================================
@@ -183,6 +249,11 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
       final SocketChannel clientChannel = serverChannel.accept();
   
       clientChannel.configureBlocking(false);
+
+      if (eventLoop != null) {
+        // a channel registered while selecting is not selected until the next select
+        eventLoop.wakeup();
+      }
   
       final SelectionKey clientChannelKey = clientChannel.register(selector, SelectionKey.OP_READ);
   
@@ -190,13 +261,18 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
     }
   }
 
-  private RawMessage availabilityMessage() {
-    final String message =
+  private RawMessage availabilityMessage(final boolean binary) {
+    final PublisherAvailability publisherAvailability =
             new PublisherAvailability(
                     name,
                     publisherAddress.getHostName(),
-                    publisherAddress.getPort())
-            .toString();
+                    publisherAddress.getPort());
+
+    if (binary) {
+      return publisherAvailability.toBinaryMessage(0);
+    }
+
+    final String message = publisherAvailability.toString();
     
     final ByteBuffer buffer = ByteBufferAllocator.allocate(message.length());
     buffer.put(message.getBytes());
@@ -205,6 +281,12 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
     return RawMessage.readFromWithoutHeader(buffer);
   }
 
+  private void interestInWrites(final boolean interested) {
+    if (publisherKey.isValid()) {
+      publisherKey.interestOps(interested ? SelectionKey.OP_WRITE : 0);
+    }
+  }
+
   private void receive(final SelectionKey key) throws IOException {
     new SocketChannelSelectionReader(this, key).read();
   }
@@ -214,6 +296,9 @@ public class MulticastPublisherReader implements ChannelPublisher, ChannelMessag
       final RawMessage message = messageQueue.peek();
       
       if (message == null) {
+        if (eventLoop != null) {
+          interestInWrites(false);
+        }
         return;
       } else {
         if (publisherChannel.send(message.asByteBuffer(messageBuffer), groupAddress) > 0) {
@@ -13,6 +13,8 @@ import io.vlingo.wire.channel.ChannelReader;
 import io.vlingo.wire.channel.ChannelReaderConsumer;
 import io.vlingo.wire.message.ByteBufferAllocator;
 import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageReassembler;
+import io.vlingo.wire.message.RawMessageView;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -25,19 +27,26 @@ import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.MembershipKey;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class MulticastSubscriber implements ChannelReader, ChannelMessageDispatcher {
+  public static final int DefaultMaxFragmentsPerMessage = 64;
+  public static final int DefaultMaxReassemblingSenders = 64;
+
   private final ByteBuffer buffer;
   private boolean closed;
   private final DatagramChannel channel;
   private ChannelReaderConsumer consumer;
   private final InetAddress groupAddress;
   private final Logger logger;
+  private final int maxReassembledSize;
   private final int maxReceives;
   private final MembershipKey membershipKey;
   private final RawMessage message;
   private final String name;
   private final NetworkInterface networkInterface;
+  private final Map<SocketAddress, RawMessageReassembler> reassemblers;
 
   public MulticastSubscriber(
           final String name,
@@ -57,7 +66,56 @@ public class MulticastSubscriber implements ChannelReader, ChannelMessageDispatc
           final int maxReceives,
           final Logger logger)
   throws IOException {
+    this(name, group, networkInterfaceName, maxMessageSize, maxReceives, DefaultMaxReassemblingSenders, logger);
+  }
+
+  public MulticastSubscriber(
+          final String name,
+          final Group group,
+          final String networkInterfaceName,
+          final int maxMessageSize,
+          final int maxReceives,
+          final int maxReassemblingSenders,
+          final Logger logger)
+  throws IOException {
+    this(name, group, networkInterfaceName, maxMessageSize, maxReceives, maxReassemblingSenders, DefaultMaxFragmentsPerMessage, logger);
+  }
+
+  /**
+   * Constructs my default state, where the fragments of each sender are
+   * reassembled apart from those of others, as each sender numbers its own,
+   * for at most {@code maxReassemblingSenders} senders at once. When another
+   * sender begins a fragmented message, the sender that least recently sent
+   * a fragment abandons its message. A reassembled message is limited to
+   * {@code maxFragmentsPerMessage} datagrams of {@code maxMessageSize}.
+   * @param name the String name of this subscriber
+   * @param group the Group to join
+   * @param networkInterfaceName the String name of the network interface, or null for a best guess
+   * @param maxMessageSize the int size of the largest datagram
+   * @param maxReceives the int maximum number of receives of each probe
+   * @param maxReassemblingSenders the int maximum number of senders whose fragments are reassembled at once
+   * @param maxFragmentsPerMessage the int maximum number of datagrams of a reassembled message
+   * @param logger the Logger of failures
+   * @throws IOException when the group cannot be joined
+   */
+  public MulticastSubscriber(
+          final String name,
+          final Group group,
+          final String networkInterfaceName,
+          final int maxMessageSize,
+          final int maxReceives,
+          final int maxReassemblingSenders,
+          final int maxFragmentsPerMessage,
+          final Logger logger)
+  throws IOException {
     
+    if (maxReassemblingSenders <= 0) {
+      throw new IllegalArgumentException("The maximum number of reassembling senders must be positive.");
+    }
+    if (maxFragmentsPerMessage <= 0) {
+      throw new IllegalArgumentException("The maximum number of fragments per message must be positive.");
+    }
+
     this.name = name;
     this.logger = logger;
     
@@ -70,10 +128,20 @@ public class MulticastSubscriber implements ChannelReader, ChannelMessageDispatc
     
     this.channel.configureBlocking(false);
     
-    this.buffer = ByteBufferAllocator.allocate(maxMessageSize);
+    this.buffer = ByteBufferAllocator.allocateForIO(maxMessageSize);
     this.message = new RawMessage(maxMessageSize);
     
     this.maxReceives = maxReceives;
+    this.maxReassembledSize = (int) Math.min((long) maxMessageSize * maxFragmentsPerMessage, RawMessageReassembler.DefaultMaxMessageSize);
+
+    this.reassemblers = new LinkedHashMap<SocketAddress, RawMessageReassembler>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<SocketAddress, RawMessageReassembler> eldest) {
+        return size() > maxReassemblingSenders;
+      }
+    };
     
     logger.info("MulticastSubscriber joined: " + membershipKey);
   }
@@ -119,9 +187,11 @@ public class MulticastSubscriber implements ChannelReader, ChannelMessageDispatc
         final SocketAddress sourceAddress = channel.receive(buffer);
         if (sourceAddress != null) {
           buffer.flip();
-          message.from(buffer);
-          
-          consumer.consume(message);
+          if (RawMessageView.isWhole(buffer, 0)) {
+            dispatch(sourceAddress, RawMessageView.wrap(buffer, 0));
+          } else {
+            logger.error("Dropped incomplete message from: " + sourceAddress + " for: '" + name + "'");
+          }
         }
       }
     } catch (IOException e) {
@@ -147,6 +217,49 @@ public class MulticastSubscriber implements ChannelReader, ChannelMessageDispatc
   // internal implementation
   //=========================================
   
+  void dispatch(final SocketAddress sourceAddress, final RawMessageView view) {
+    // any host may send to the group, so its datagrams are checked as are those of channels
+    if (!view.isChecksumValid()) {
+      logger.error("Dropped message with invalid checksum from: " + sourceAddress + " for: '" + name + "': " + view);
+      return;
+    }
+
+    if (!view.isFragment()) {
+      // whole messages are consumed from one reused message, as none is kept
+      try {
+        consumer.consume(view.copyTo(message));
+      } catch (IllegalArgumentException e) {
+        logger.error("Dropped message from: " + sourceAddress + " for: '" + name + "'", e);
+      }
+      return;
+    }
+
+    RawMessageReassembler reassembler = reassemblers.get(sourceAddress);
+
+    if (reassembler == null) {
+      reassembler = new RawMessageReassembler(maxReassembledSize);
+      reassemblers.put(sourceAddress, reassembler);
+    }
+
+    try {
+      final RawMessage message = reassembler.reassemble(view);
+      if (message != null) {
+        consumer.consume(message);
+      }
+    } catch (IllegalStateException e) {
+      logger.error("Dropped fragmented message from: " + sourceAddress + " for: '" + name + "'", e);
+    }
+
+    // a sender is tracked only while reassembling
+    if (!reassembler.isReassembling()) {
+      reassemblers.remove(sourceAddress);
+    }
+  }
+
+  int reassemblingSenders() {
+    return reassemblers.size();
+  }
+
   private NetworkInterface assignNetworkInterfaceTo(
           final DatagramChannel channel,
           final String networkInterfaceName)
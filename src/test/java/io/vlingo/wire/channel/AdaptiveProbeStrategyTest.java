@@ -0,0 +1,81 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class AdaptiveProbeStrategyTest {
+  private final AdaptiveProbeStrategy strategy = new AdaptiveProbeStrategy(2, 5, 40);
+
+  @Test
+  public void testSpinThenBackOff() {
+    final ProbeStrategy prober = strategy.forProber("prober");
+
+    assertEquals(0, prober.nextProbeDelay(true));
+    assertEquals(0, prober.nextProbeDelay(false));
+    assertEquals(0, prober.nextProbeDelay(false));
+    assertEquals(5, prober.nextProbeDelay(false));
+    assertEquals(10, prober.nextProbeDelay(false));
+    assertEquals(20, prober.nextProbeDelay(false));
+    assertEquals(40, prober.nextProbeDelay(false));
+    assertEquals(40, prober.nextProbeDelay(false));
+  }
+
+  @Test
+  public void testActivitySnapsBack() {
+    final ProbeStrategy prober = strategy.forProber("prober");
+
+    for (int idx = 0; idx < 10; ++idx) {
+      prober.nextProbeDelay(false);
+    }
+
+    assertEquals(0, prober.nextProbeDelay(true));
+    assertEquals(0, prober.nextProbeDelay(false));
+    assertEquals(0, prober.nextProbeDelay(false));
+    assertEquals(5, prober.nextProbeDelay(false));
+  }
+
+  @Test
+  public void testMetricsOfEachProber() {
+    final ProbeStrategy first = strategy.forProber("first");
+    final ProbeStrategy second = strategy.forProber("second");
+
+    first.nextProbeDelay(true);
+    first.nextProbeDelay(false);
+    first.nextProbeDelay(false);
+    first.nextProbeDelay(false);
+    second.nextProbeDelay(false);
+
+    final List<ProbeMetrics> metrics = strategy.metrics();
+
+    assertEquals(2, metrics.size());
+
+    final ProbeMetrics firstMetrics = metrics.get(0);
+    assertEquals("first", firstMetrics.name);
+    assertEquals(4, firstMetrics.probes);
+    assertEquals(1, firstMetrics.activeProbes);
+    assertEquals(3, firstMetrics.spunProbes);
+    assertEquals(1, firstMetrics.parkedProbes);
+    assertEquals(3, firstMetrics.idleProbes);
+    assertEquals(5, firstMetrics.currentDelay);
+
+    assertEquals("second", metrics.get(1).name);
+    assertEquals(1, metrics.get(1).probes);
+    assertTrue(first.metrics().size() == 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMaxDelayBelowMinDelay() {
+    new AdaptiveProbeStrategy(2, 10, 5);
+  }
+}
@@ -0,0 +1,237 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.channel;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.actors.Logger;
+import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageBuilder;
+import io.vlingo.wire.message.RawMessageCompressor;
+import io.vlingo.wire.message.RawMessageFragmenter;
+import io.vlingo.wire.message.RawMessageHeader;
+import io.vlingo.wire.message.RawMessageSequencer;
+import io.vlingo.wire.message.RawMessageView;
+
+public class ChannelMessageDispatcherTest {
+  private final BatchingConsumer consumer = new BatchingConsumer();
+  private final ChannelMessageDispatcher dispatcher = new TestDispatcher(consumer);
+
+  @Test
+  public void testDispatchWholeMessagesAsBatch() {
+    final RawMessageBuilder builder = new RawMessageBuilder(1000);
+
+    message("one").copyBytesTo(builder.workBuffer());
+    message("two").copyBytesTo(builder.workBuffer());
+    message("three").copyBytesTo(builder.workBuffer());
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(Arrays.asList("[one, two, three]"), consumer.deliveries);
+    assertEquals(0, builder.workBuffer().position());
+  }
+
+  @Test
+  public void testDispatchMessageSpanningReads() {
+    final RawMessageBuilder builder = new RawMessageBuilder(1000);
+    final ByteBuffer spanning = message("spanning").asByteBuffer();
+
+    message("one").copyBytesTo(builder.workBuffer());
+    spanning.limit(20);
+    builder.workBuffer().put(spanning);
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    spanning.limit(spanning.capacity());
+    builder.workBuffer().put(spanning);
+    message("two").copyBytesTo(builder.workBuffer());
+    message("three").copyBytesTo(builder.workBuffer());
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(Arrays.asList("one", "[spanning, two, three]"), consumer.deliveries);
+  }
+
+  @Test
+  public void testPartialMessageKeptInPlace() {
+    final RawMessageBuilder builder = new RawMessageBuilder(1000);
+    final ByteBuffer partial = message("partial").asByteBuffer();
+
+    message("one").copyBytesTo(builder.workBuffer());
+    final int partialStart = builder.workBuffer().position();
+    partial.limit(20);
+    builder.workBuffer().put(partial);
+    final int written = builder.workBuffer().position();
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(written, builder.workBuffer().position());
+    assertEquals(builder.workBuffer().capacity(), builder.workBuffer().limit());
+    assertEquals('p', builder.workBuffer().get(partialStart + RawMessageHeader.BYTES));
+
+    partial.limit(partial.capacity());
+    builder.workBuffer().put(partial);
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(Arrays.asList("one", "partial"), consumer.deliveries);
+    assertEquals(0, builder.workBuffer().position());
+  }
+
+  @Test
+  public void testPartialMessageMovedWhenWrapping() {
+    final RawMessageBuilder builder = new RawMessageBuilder(40);
+    final ByteBuffer wrapping = message("wrapping message").asByteBuffer();
+
+    message("one").copyBytesTo(builder.workBuffer());
+    wrapping.limit(20);
+    builder.workBuffer().put(wrapping);
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(20, builder.workBuffer().position());
+    assertEquals('w', builder.workBuffer().get(RawMessageHeader.BYTES));
+
+    wrapping.limit(wrapping.capacity());
+    builder.workBuffer().put(wrapping);
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(Arrays.asList("one", "wrapping message"), consumer.deliveries);
+  }
+
+  @Test
+  public void testDropInvalidChecksum() {
+    final RawMessageBuilder builder = new RawMessageBuilder(1000);
+    final RawMessageSequencer sequencer = new RawMessageSequencer(true);
+
+    sequencer.stamp(message("one")).copyBytesTo(builder.workBuffer());
+    final int corrupt = builder.workBuffer().position() + RawMessageHeader.BYTES_V2;
+    sequencer.stamp(message("two")).copyBytesTo(builder.workBuffer());
+    sequencer.stamp(message("three")).copyBytesTo(builder.workBuffer());
+    builder.workBuffer().put(corrupt, (byte) 'T');
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(Arrays.asList("[one, three]"), consumer.deliveries);
+  }
+
+  @Test
+  public void testSequenceGapsAndReordersCounted() {
+    final RawMessageBuilder builder = new RawMessageBuilder(1000);
+    final RawMessageSequencer sequencer = new RawMessageSequencer(false);
+
+    final RawMessage one = sequencer.stamp(message("one"));
+    final RawMessage two = sequencer.stamp(message("two"));
+    final RawMessage three = sequencer.stamp(message("three"));
+    final RawMessage four = sequencer.stamp(message("four"));
+
+    one.copyBytesTo(builder.workBuffer());
+    three.copyBytesTo(builder.workBuffer());
+    two.copyBytesTo(builder.workBuffer());
+    four.copyBytesTo(builder.workBuffer());
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(Arrays.asList("[one, three, two, four]"), consumer.deliveries);
+    assertEquals(1, builder.sequenceGaps());
+    assertEquals(1, builder.sequenceReorders());
+  }
+
+  @Test
+  public void testUnsequencedVersion2NotFollowed() {
+    final RawMessageBuilder builder = new RawMessageBuilder(1000);
+    final RawMessageCompressor compressor = new RawMessageCompressor(10, 1);
+    final String one = "one one one one one one one one";
+    final String two = "two two two two two two two two";
+
+    compressor.compress(message(one)).copyBytesTo(builder.workBuffer());
+    compressor.compress(message(two)).copyBytesTo(builder.workBuffer());
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    assertEquals(Arrays.asList("[" + one + ", " + two + "]"), consumer.deliveries);
+    assertEquals(0, builder.sequenceGaps());
+    assertEquals(0, builder.sequenceReorders());
+  }
+
+  @Test
+  public void testDispatchReassembledFragments() {
+    final RawMessageBuilder builder = new RawMessageBuilder(100);
+    final RawMessageFragmenter fragmenter = new RawMessageFragmenter(60);
+    final StringBuilder text = new StringBuilder();
+    for (int index = 0; index < 20; ++index) {
+      text.append("fragment").append(index);
+    }
+
+    final List<RawMessage> fragments = fragmenter.fragmentMessages(message(text.toString()), null);
+    fragments.get(0).copyBytesTo(builder.workBuffer());
+    message("one").copyBytesTo(builder.workBuffer());
+
+    dispatcher.dispatchMessagesFor(builder);
+
+    for (final RawMessage fragment : fragments.subList(1, fragments.size())) {
+      fragment.copyBytesTo(builder.workBuffer());
+      dispatcher.dispatchMessagesFor(builder);
+    }
+
+    assertEquals(Arrays.asList("one", text.toString()), consumer.deliveries);
+  }
+
+  private RawMessage message(final String text) {
+    return RawMessage.from(1, 0, text);
+  }
+
+  private static class BatchingConsumer implements ChannelReaderConsumer {
+    final List<String> deliveries = new ArrayList<>();
+
+    @Override
+    public void consume(final RawMessage message) {
+      deliveries.add(message.asTextMessage());
+    }
+
+    @Override
+    public void consumeAll(final List<RawMessageView> views) {
+      final List<String> batch = new ArrayList<>();
+      for (final RawMessageView view : views) {
+        batch.add(view.asTextMessage());
+      }
+      deliveries.add(batch.toString());
+    }
+  }
+
+  private static class TestDispatcher implements ChannelMessageDispatcher {
+    private final ChannelReaderConsumer consumer;
+
+    TestDispatcher(final ChannelReaderConsumer consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public ChannelReaderConsumer consumer() {
+      return consumer;
+    }
+
+    @Override
+    public Logger logger() {
+      return Logger.basicLogger();
+    }
+
+    @Override
+    public String name() {
+      return "test";
+    }
+  }
+}
@@ -0,0 +1,179 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+import org.junit.Test;
+
+import io.vlingo.wire.message.ByteBufferPool;
+import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
+
+public class OutboundBacklogTest {
+  @Test
+  public void testPartialWritesResume() throws Exception {
+    final OutboundBacklog backlog = new OutboundBacklog(OutboundBacklog.Unbounded);
+    final PooledByteBuffer first = buffer("Hello, ");
+    final PooledByteBuffer second = buffer("Backlog");
+
+    assertTrue(backlog.add(first));
+    assertTrue(backlog.add(second));
+    assertEquals(14, backlog.size());
+
+    final TestChannel channel = new TestChannel();
+
+    channel.accepting = 5;
+    assertEquals(5, backlog.write(channel));
+    assertEquals(9, backlog.size());
+    assertTrue(first.isInUse());
+
+    channel.accepting = 4;
+    assertEquals(4, backlog.write(channel));
+    assertFalse(first.isInUse());
+    assertTrue(second.isInUse());
+
+    channel.accepting = 0;
+    assertEquals(0, backlog.write(channel));
+    assertEquals(5, backlog.size());
+
+    channel.accepting = 100;
+    assertEquals(5, backlog.write(channel));
+    assertFalse(backlog.hasRemaining());
+    assertFalse(second.isInUse());
+    assertEquals("Hello, Backlog", channel.written());
+  }
+
+  @Test
+  public void testCopiesOfReusedBuffers() throws Exception {
+    final OutboundBacklog backlog = new OutboundBacklog(OutboundBacklog.Unbounded);
+    final ByteBuffer buffer = ByteBuffer.wrap("reused".getBytes());
+
+    assertTrue(backlog.add(buffer));
+    buffer.clear();
+    buffer.put("XXXXXX".getBytes());
+
+    final TestChannel channel = new TestChannel();
+    channel.accepting = 100;
+    backlog.write(channel);
+
+    assertEquals("reused", channel.written());
+  }
+
+  @Test
+  public void testRefusedBeyondMaxSize() throws Exception {
+    final OutboundBacklog backlog = new OutboundBacklog(10);
+    final PooledByteBuffer first = buffer("123456");
+    final PooledByteBuffer second = buffer("789012");
+
+    assertTrue(backlog.add(first));
+    assertFalse(backlog.add(second));
+    assertEquals(6, backlog.size());
+    assertTrue(second.isInUse());
+
+    backlog.clear();
+
+    assertFalse(backlog.hasRemaining());
+    assertFalse(first.isInUse());
+  }
+
+  @Test
+  public void testEmptyBufferReleasedAtOnce() throws Exception {
+    final OutboundBacklog backlog = new OutboundBacklog(OutboundBacklog.Unbounded);
+    final PooledByteBuffer empty = buffer("");
+
+    assertTrue(backlog.add(empty));
+    assertFalse(empty.isInUse());
+    assertFalse(backlog.hasRemaining());
+
+    assertTrue(backlog.add(ByteBuffer.allocate(0)));
+    assertFalse(backlog.hasRemaining());
+  }
+
+  @Test
+  public void testManyBuffersGatheredAcrossWrites() throws Exception {
+    final OutboundBacklog backlog = new OutboundBacklog(OutboundBacklog.Unbounded);
+    final StringBuilder expected = new StringBuilder();
+
+    for (int idx = 0; idx < 40; ++idx) {
+      final String text = "message-" + idx + ";";
+      assertTrue(backlog.add(ByteBuffer.wrap(text.getBytes())));
+      expected.append(text);
+    }
+
+    final TestChannel channel = new TestChannel();
+
+    channel.accepting = 100;
+    assertEquals(100, backlog.write(channel));
+
+    channel.accepting = Integer.MAX_VALUE;
+    backlog.write(channel);
+
+    assertFalse(backlog.hasRemaining());
+    assertEquals(expected.toString(), channel.written());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMaxSizeNotPositive() {
+    new OutboundBacklog(0);
+  }
+
+  private final ByteBufferPool pool = new ByteBufferPool(4, 100);
+
+  private PooledByteBuffer buffer(final String text) {
+    final PooledByteBuffer buffer = pool.access();
+    buffer.put(text.getBytes()).flip();
+    return buffer;
+  }
+
+  private static class TestChannel implements GatheringByteChannel {
+    int accepting;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    String written() {
+      return new String(bytes.toByteArray());
+    }
+
+    @Override
+    public long write(final ByteBuffer[] sources, final int offset, final int length) {
+      long total = 0;
+      for (int idx = offset; idx < offset + length && accepting > 0; ++idx) {
+        while (sources[idx].hasRemaining() && accepting > 0) {
+          bytes.write(sources[idx].get());
+          --accepting;
+          ++total;
+        }
+      }
+      return total;
+    }
+
+    @Override
+    public long write(final ByteBuffer[] sources) {
+      return write(sources, 0, sources.length);
+    }
+
+    @Override
+    public int write(final ByteBuffer source) {
+      return (int) write(new ByteBuffer[] { source });
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -9,8 +9,15 @@ package io.vlingo.wire.fdx.bidirectional;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
@@ -18,16 +25,23 @@ import org.junit.Before;
 import org.junit.Test;
 
 import io.vlingo.actors.Logger;
+import io.vlingo.actors.Stage;
 import io.vlingo.actors.World;
 import io.vlingo.actors.testkit.TestUntil;
+import io.vlingo.wire.channel.AdaptiveProbeStrategy;
+import io.vlingo.wire.channel.ProbeMetrics;
+import io.vlingo.wire.channel.ProbeStrategy;
+import io.vlingo.wire.channel.RequestChannelConsumerProvider;
+import io.vlingo.wire.channel.SelectorEventLoop;
 import io.vlingo.wire.message.ByteBufferAllocator;
+import io.vlingo.wire.message.ByteBufferPool;
 import io.vlingo.wire.node.Address;
 import io.vlingo.wire.node.AddressType;
 import io.vlingo.wire.node.Host;
 
 public class SocketRequestResponseChannelTest {
   private static final int POOL_SIZE = 100;
-  private static AtomicInteger TEST_PORT = new AtomicInteger(37370);
+  private static AtomicInteger TEST_PORT = new AtomicInteger(37570);
 
   private ByteBuffer buffer;
   private ClientRequestResponseChannel client;
@@ -178,6 +192,179 @@ public class SocketRequestResponseChannelTest {
     }
   }
 
+  @Test
+  public void testEventDrivenRequestResponse() throws Exception {
+    requestResponseInWorldOfItsOwn("test-event-driven", (stage, provider, port) ->
+            ServerRequestResponseChannel.start(stage, provider, port, "test-event-driven-server", 1, POOL_SIZE, 10240, SelectorEventLoop.EventDriven));
+  }
+
+  @Test
+  public void testAdaptiveProbeRequestResponse() throws Exception {
+    final ProbeStrategy probeStrategy = new AdaptiveProbeStrategy(10, 1, 50);
+
+    requestResponseInWorldOfItsOwn("test-adaptive", (stage, provider, port) ->
+            ServerRequestResponseChannel.start(stage, provider, port, "test-adaptive-server", 1, POOL_SIZE, 10240, probeStrategy));
+
+    final List<ProbeMetrics> metrics = probeStrategy.metrics();
+
+    assertEquals(2, metrics.size());
+    assertEquals("test-adaptive-server", metrics.get(0).name);
+    assertEquals("test-adaptive-server-processor-0", metrics.get(1).name);
+    assertTrue(metrics.get(0).activeProbes >= 1);
+    assertTrue(metrics.get(1).activeProbes >= 1);
+    assertTrue(metrics.get(1).spunProbes > metrics.get(1).activeProbes);
+  }
+
+  @Test
+  public void testBoundedBacklogRequestResponse() throws Exception {
+    requestResponseInWorldOfItsOwn("test-bounded-backlog", (stage, provider, port) ->
+            ServerRequestResponseChannel.start(stage, provider, port, "test-bounded-backlog-server", 1, POOL_SIZE, 10240, 10L, 10240L));
+  }
+
+  @Test
+  public void testLeasedReadBuffersRequestResponse() throws Exception {
+    final ByteBufferPool readBufferPool = new ByteBufferPool(0, POOL_SIZE, 10240);
+
+    requestResponseInWorldOfItsOwn("test-leased-buffers", (stage, provider, port) ->
+            ServerRequestResponseChannel.start(stage, provider, port, "test-leased-buffers-server", 1, 10L, readBufferPool));
+
+    // every leased buffer is released by the consumer
+    assertTrue(readBufferPool.allocated() >= 1);
+    assertEquals(readBufferPool.maxSize(), readBufferPool.available());
+  }
+
+  @Test
+  public void testEventDrivenReadersParkedWithoutBuffers() throws Exception {
+    final ByteBufferPool readBufferPool = new ByteBufferPool(1, 10240);
+    final TestRequestChannelConsumerProvider ownProvider = new TestRequestChannelConsumerProvider();
+    final TestRequestChannelConsumer ownConsumer = (TestRequestChannelConsumer) ownProvider.consumer;
+    final int testPort = TEST_PORT.incrementAndGet();
+    final World ownWorld = World.startWithDefaults("test-parked-readers-channel");
+
+    final ServerRequestResponseChannel ownServer =
+            ServerRequestResponseChannel.start(ownWorld.stage(), ownProvider, testPort, "test-parked-readers-server", 1, SelectorEventLoop.EventDriven, readBufferPool);
+
+    final String request = "Hello, Request-Response";
+    final int clientCount = 3;
+
+    ownConsumer.currentExpectedRequestLength = request.length() + 1;
+    ownConsumer.untilConsume = TestUntil.happenings(clientCount);
+
+    final ClientRequestResponseChannel[] ownClients = new ClientRequestResponseChannel[clientCount];
+    final TestResponseChannelConsumer[] ownClientConsumers = new TestResponseChannelConsumer[clientCount];
+
+    // the only read buffer is held while the clients request
+    final ByteBufferPool.PooledByteBuffer held = readBufferPool.access();
+
+    for (int idx = 0; idx < clientCount; ++idx) {
+      ownClientConsumers[idx] = new TestResponseChannelConsumer();
+      ownClientConsumers[idx].currentExpectedResponseLength = ownConsumer.currentExpectedRequestLength;
+      ownClientConsumers[idx].untilConsume = TestUntil.happenings(1);
+      ownClients[idx] = new BasicClientRequestResponseChannel(Address.from(Host.of("localhost"), testPort,  AddressType.NONE), ownClientConsumers[idx], POOL_SIZE, 10240, Logger.basicLogger());
+      buffer.clear();
+      buffer.put((request + idx).getBytes());
+      buffer.flip();
+      ownClients[idx].requestWith(buffer);
+    }
+
+    Thread.sleep(200);
+
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    final long selectorThreadId = threadIdOf("test-parked-readers-server-processor-0-selector");
+    final long cpuBefore = threads.getThreadCpuTime(selectorThreadId);
+    Thread.sleep(500);
+    final long cpuWhileParked = threads.getThreadCpuTime(selectorThreadId) - cpuBefore;
+
+    assertEquals(0, ownConsumer.consumeCount);
+    assertTrue("Selector busy while readers parked: " + cpuWhileParked + "ns", cpuWhileParked < TimeUnit.MILLISECONDS.toNanos(50));
+
+    held.release();
+
+    ownConsumer.untilConsume.completes();
+
+    for (int idx = 0; idx < clientCount; ++idx) {
+      while (ownClientConsumers[idx].untilConsume.remaining() > 0) {
+        ownClients[idx].probeChannel();
+      }
+      assertEquals(ownConsumer.requests.get(0).substring(0, request.length()), ownClientConsumers[idx].responses.get(0).substring(0, request.length()));
+    }
+
+    assertEquals(clientCount, ownConsumer.consumeCount);
+
+    ownServer.close();
+    for (final ClientRequestResponseChannel ownClient : ownClients) {
+      ownClient.close();
+    }
+
+    try { Thread.sleep(1000); } catch (Exception e) {  }
+
+    ownWorld.terminate();
+  }
+
+  @Test
+  public void testEventDrivenWritesSelectedOnlyWhileQueued() throws Exception {
+    final TestRequestChannelConsumerProvider ownProvider = new TestRequestChannelConsumerProvider();
+    final TestRequestChannelConsumer ownConsumer = (TestRequestChannelConsumer) ownProvider.consumer;
+    final int testPort = TEST_PORT.incrementAndGet();
+    final World ownWorld = World.startWithDefaults("test-write-interest-channel");
+
+    final ServerRequestResponseChannel ownServer =
+            ServerRequestResponseChannel.start(ownWorld.stage(), ownProvider, testPort, "test-write-interest-server", 1, POOL_SIZE, 10240, SelectorEventLoop.EventDriven);
+
+    // an idle connection is always writable, so it would be selected at once if it were selected for writes
+    final SocketChannel idle = SocketChannel.open(new InetSocketAddress("localhost", testPort));
+
+    Thread.sleep(200);
+
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    final long selectorThreadId = threadIdOf("test-write-interest-server-processor-0-selector");
+    long cpuBefore = threads.getThreadCpuTime(selectorThreadId);
+    Thread.sleep(500);
+    final long cpuWhileIdle = threads.getThreadCpuTime(selectorThreadId) - cpuBefore;
+
+    assertTrue("Selector busy with an idle connection: " + cpuWhileIdle + "ns", cpuWhileIdle < TimeUnit.MILLISECONDS.toNanos(50));
+
+    final String request = "Hello, Request-Response";
+
+    ownConsumer.currentExpectedRequestLength = request.length() + 1;
+    ownConsumer.untilConsume = TestUntil.happenings(1);
+
+    final TestResponseChannelConsumer ownClientConsumer = new TestResponseChannelConsumer();
+    ownClientConsumer.currentExpectedResponseLength = ownConsumer.currentExpectedRequestLength;
+    ownClientConsumer.untilConsume = TestUntil.happenings(1);
+    final ClientRequestResponseChannel ownClient = new BasicClientRequestResponseChannel(Address.from(Host.of("localhost"), testPort,  AddressType.NONE), ownClientConsumer, POOL_SIZE, 10240, Logger.basicLogger());
+
+    buffer.clear();
+    buffer.put((request + 1).getBytes());
+    buffer.flip();
+    ownClient.requestWith(buffer);
+
+    ownConsumer.untilConsume.completes();
+
+    while (ownClientConsumer.untilConsume.remaining() > 0) {
+      ownClient.probeChannel();
+    }
+
+    assertEquals(ownConsumer.requests.get(0), ownClientConsumer.responses.get(0));
+
+    // once the queued response is written the connection is no longer selected for writes
+    Thread.sleep(200);
+
+    cpuBefore = threads.getThreadCpuTime(selectorThreadId);
+    Thread.sleep(500);
+    final long cpuAfterFlushed = threads.getThreadCpuTime(selectorThreadId) - cpuBefore;
+
+    assertTrue("Selector busy after responses written: " + cpuAfterFlushed + "ns", cpuAfterFlushed < TimeUnit.MILLISECONDS.toNanos(50));
+
+    ownServer.close();
+    ownClient.close();
+    idle.close();
+
+    try { Thread.sleep(1000); } catch (Exception e) {  }
+
+    ownWorld.terminate();
+  }
+
   @Before
   public void setUp() throws Exception {
     world = World.startWithDefaults("test-request-response-channel");
@@ -220,4 +407,69 @@ public class SocketRequestResponseChannelTest {
     buffer.flip();
     client.requestWith(buffer);
   }
+
+  private void requestResponseInWorldOfItsOwn(final String name, final ServerStarter starter) throws Exception {
+    final TestRequestChannelConsumerProvider ownProvider = new TestRequestChannelConsumerProvider();
+    final TestRequestChannelConsumer ownConsumer = (TestRequestChannelConsumer) ownProvider.consumer;
+    final int testPort = TEST_PORT.incrementAndGet();
+
+    // a world of its own, as no other actor of a world is run once its server stops
+    final World ownWorld = World.startWithDefaults(name + "-channel");
+
+    final ServerRequestResponseChannel ownServer = starter.start(ownWorld.stage(), ownProvider, testPort);
+
+    final TestResponseChannelConsumer ownClientConsumer = new TestResponseChannelConsumer();
+
+    final ClientRequestResponseChannel ownClient =
+            new BasicClientRequestResponseChannel(Address.from(Host.of("localhost"), testPort,  AddressType.NONE), ownClientConsumer, POOL_SIZE, 10240, Logger.basicLogger());
+
+    final String request = "Hello, Request-Response";
+
+    ownConsumer.currentExpectedRequestLength = request.length() + 1; // digits 0 - 9
+    ownClientConsumer.currentExpectedResponseLength = ownConsumer.currentExpectedRequestLength;
+
+    ownConsumer.untilConsume = TestUntil.happenings(10);
+    ownClientConsumer.untilConsume = TestUntil.happenings(10);
+
+    for (int idx = 0; idx < 10; ++idx) {
+      buffer.clear();
+      buffer.put((request + idx).getBytes());
+      buffer.flip();
+      ownClient.requestWith(buffer);
+    }
+
+    while (ownClientConsumer.untilConsume.remaining() > 0) {
+      ownClient.probeChannel();
+    }
+
+    ownConsumer.untilConsume.completes();
+    ownClientConsumer.untilConsume.completes();
+
+    assertEquals(10, ownConsumer.consumeCount);
+    assertEquals(10, ownClientConsumer.consumeCount);
+
+    for (int idx = 0; idx < 10; ++idx) {
+      assertEquals(ownClientConsumer.responses.get(idx), ownConsumer.requests.get(idx));
+    }
+
+    ownServer.close();
+    ownClient.close();
+
+    try { Thread.sleep(1000); } catch (Exception e) {  }
+
+    ownWorld.terminate();
+  }
+
+  private long threadIdOf(final String name) {
+    for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().equals(name)) {
+        return thread.getId();
+      }
+    }
+    throw new IllegalStateException("No thread named: " + name);
+  }
+
+  private interface ServerStarter {
+    ServerRequestResponseChannel start(final Stage stage, final RequestChannelConsumerProvider provider, final int port);
+  }
 }
@@ -10,6 +10,8 @@ package io.vlingo.wire.fdx.inbound;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -18,8 +20,15 @@ import io.vlingo.actors.Definition;
 import io.vlingo.actors.testkit.TestActor;
 import io.vlingo.actors.testkit.TestUntil;
 import io.vlingo.actors.testkit.TestWorld;
+import io.vlingo.wire.channel.ChannelReader;
+import io.vlingo.wire.channel.ChannelReaderConsumer;
 import io.vlingo.wire.channel.MockChannelReader;
+import io.vlingo.wire.channel.SelectorEventLoop;
 import io.vlingo.wire.message.AbstractMessageTool;
+import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageFragmenter;
+import io.vlingo.wire.message.RawMessagePool;
+import io.vlingo.wire.message.RawMessageReassembler;
 import io.vlingo.wire.node.AddressType;
 
 public class InboundStreamTest extends AbstractMessageTool {
@@ -45,6 +54,71 @@ public class InboundStreamTest extends AbstractMessageTool {
     assertEquals(count, reader.probeChannelCount.get());
   }
 
+  @Test
+  public void testInboundRecycled() throws Exception {
+    final RawMessagePool messagePool = new RawMessagePool(1, 100);
+    final MockInboundStreamInterest recycledInterest = new MockInboundStreamInterest();
+    recycledInterest.testResults.untilStops = TestUntil.happenings(2);
+
+    final Definition definition =
+            Definition.has(
+                    InboundStreamActor.class,
+                    Definition.parameters(recycledInterest, AddressType.OP, new MockChannelReader(), 10, messagePool),
+                    "test-inbound-recycled");
+
+    final TestActor<InboundStream> recycledStream = world.actorFor(InboundStream.class, definition);
+    recycledInterest.testResults.untilStops.completes();
+    recycledStream.actor().stop();
+
+    assertEquals(MockChannelReader.MessagePrefix + 1, recycledInterest.testResults.messages.get(0));
+    assertEquals(MockChannelReader.MessagePrefix + 2, recycledInterest.testResults.messages.get(1));
+  }
+
+  @Test
+  public void testEventDrivenReaderNotSelectingIsProbed() throws Exception {
+    final MockInboundStreamInterest eventDrivenInterest = new MockInboundStreamInterest();
+    eventDrivenInterest.testResults.untilStops = TestUntil.happenings(2);
+
+    final Definition definition =
+            Definition.has(
+                    InboundStreamActor.class,
+                    Definition.parameters(eventDrivenInterest, AddressType.OP, new MockChannelReader(), SelectorEventLoop.EventDriven),
+                    "test-inbound-event-driven");
+
+    final TestActor<InboundStream> eventDrivenStream = world.actorFor(InboundStream.class, definition);
+    eventDrivenInterest.testResults.untilStops.completes();
+    eventDrivenStream.actor().stop();
+
+    assertEquals(MockChannelReader.MessagePrefix + 1, eventDrivenInterest.testResults.messages.get(0));
+    assertEquals(MockChannelReader.MessagePrefix + 2, eventDrivenInterest.testResults.messages.get(1));
+  }
+
+  @Test
+  public void testInboundReassembledLargerThanPooled() throws Exception {
+    final RawMessagePool messagePool = new RawMessagePool(1, 100);
+    final MockInboundStreamInterest reassembledInterest = new MockInboundStreamInterest();
+    reassembledInterest.testResults.untilStops = TestUntil.happenings(2);
+
+    final StringBuilder text = new StringBuilder();
+    for (int idx = 0; idx < 50; ++idx) {
+      text.append("fragmented-").append(idx);
+    }
+
+    final Definition definition =
+            Definition.has(
+                    InboundStreamActor.class,
+                    Definition.parameters(reassembledInterest, AddressType.OP, new FragmentingChannelReader(text.toString()), 10, messagePool),
+                    "test-inbound-reassembled");
+
+    final TestActor<InboundStream> reassembledStream = world.actorFor(InboundStream.class, definition);
+    reassembledInterest.testResults.untilStops.completes();
+    reassembledStream.actor().stop();
+
+    assertEquals(text.toString(), reassembledInterest.testResults.messages.get(0));
+    assertEquals(MockChannelReader.MessagePrefix + 1, reassembledInterest.testResults.messages.get(1));
+    assertEquals(1, messagePool.available());
+  }
+
   @Before
   public void setUp() throws Exception {
     world = TestWorld.start("test-inbound-stream");
@@ -66,4 +140,47 @@ public class InboundStreamTest extends AbstractMessageTool {
   public void tearDown() {
     world.terminate();
   }
+
+  private static class FragmentingChannelReader implements ChannelReader {
+    private ChannelReaderConsumer consumer;
+    private final RawMessageFragmenter fragmenter = new RawMessageFragmenter(64);
+    private int probes;
+    private final RawMessageReassembler reassembler = new RawMessageReassembler();
+    private final String text;
+
+    FragmentingChannelReader(final String text) {
+      this.text = text;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String name() {
+      return "fragmenting";
+    }
+
+    @Override
+    public void openFor(final ChannelReaderConsumer consumer) throws IOException {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void probeChannel() {
+      ++probes;
+
+      if (probes == 1) {
+        // a message larger than those of the pool, rejoined from its fragments
+        for (final RawMessage fragment : fragmenter.fragmentMessages(RawMessage.from(0, 0, text), null)) {
+          final RawMessage reassembled = reassembler.reassemble(fragment);
+          if (reassembled != null) {
+            consumer.consume(reassembled);
+          }
+        }
+      } else if (probes == 2) {
+        consumer.consume(RawMessage.from(0, 0, MockChannelReader.MessagePrefix + 1));
+      }
+    }
+  }
 }
@@ -23,7 +23,10 @@ public class MockInboundStreamInterest extends AbstractMessageTool implements In
   
   @Override
   public void handleInboundStreamMessage(final AddressType addressType, final RawMessage message) {
-    final String textMessage = message.asTextMessage();
+    final String textMessage;
+    try (final RawMessage leased = message) {
+      textMessage = leased.asTextMessage();
+    }
     testResults.messages.add(textMessage);
     testResults.messageCount.incrementAndGet();
     System.out.println("INTEREST: " + textMessage + " list-size: " + testResults.messages.size() + " count: " + testResults.messageCount.get() + " count-down: " + testResults.untilStops.remaining());
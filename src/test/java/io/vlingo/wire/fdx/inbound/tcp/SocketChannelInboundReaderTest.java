@@ -26,6 +26,7 @@ import org.junit.Test;
 import java.nio.ByteBuffer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class SocketChannelInboundReaderTest extends AbstractMessageTool {
   private static final String AppMessage = "APP TEST ";
@@ -93,6 +94,28 @@ public class SocketChannelInboundReaderTest extends AbstractMessageTool {
     assertEquals(message2, consumerAccess.readFrom("message", 1));
   }
   
+  @Test
+  public void testEventDrivenInboundChannel() throws Exception {
+    final MockChannelReaderConsumer consumer = new MockChannelReaderConsumer();
+    final AccessSafely consumerAccess = consumer.afterCompleting(2);
+
+    opReader.openFor(consumer);
+
+    assertTrue(opReader.probeWhenReady(() -> opReader.probeChannel()));
+
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(1024);
+
+    final String message1 = OpMessage + 1;
+    opChannel.write(RawMessage.from(0, 0, message1).asByteBuffer(buffer));
+
+    final String message2 = OpMessage + 2;
+    opChannel.write(RawMessage.from(0, 0, message2).asByteBuffer(buffer));
+
+    assertEquals(2, (int)consumerAccess.readFrom("consumeCount"));
+    assertEquals(message1, consumerAccess.readFrom("message", 0));
+    assertEquals(message2, consumerAccess.readFrom("message", 1));
+  }
+
   @Before
   public void setUp() throws Exception {
     node = Node.with(Id.of(2), Name.of("node2"), Host.of("localhost"), 37373, 37374);
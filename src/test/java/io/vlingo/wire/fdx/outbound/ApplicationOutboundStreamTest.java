@@ -0,0 +1,84 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.fdx.outbound;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.actors.World;
+import io.vlingo.wire.message.AbstractMessageTool;
+import io.vlingo.wire.message.ByteBufferPool;
+import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
+import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.node.Id;
+
+public class ApplicationOutboundStreamTest extends AbstractMessageTool {
+  private static final String Message1 = "Message1";
+  private static final String Message2 = "Message2";
+
+  private MockManagedOutboundChannelProvider channelProvider;
+  private ByteBufferPool pool;
+  private World world;
+
+  @Test
+  public void testWaitsForReleasedBuffer() throws Exception {
+    final ApplicationOutboundStream stream = ApplicationOutboundStream.instance(world.stage(), channelProvider, pool, 5_000);
+
+    final PooledByteBuffer held = pool.access();
+
+    final Boolean[] written = new Boolean[2];
+    stream.trySendTo(RawMessage.from(0, 0, Message1), Id.of(2)).andThenConsume(outcome -> written[0] = outcome);
+    stream.trySendTo(RawMessage.from(0, 0, Message2), Id.of(2)).andThenConsume(outcome -> written[1] = outcome);
+
+    Thread.sleep(100);
+    assertEquals(null, written[0]);
+
+    held.release();
+
+    final boolean secondWritten = stream.trySendTo(RawMessage.from(0, 0, Message1), Id.of(2)).await(5_000);
+    assertTrue(secondWritten);
+    assertTrue(written[0]);
+    assertTrue(written[1]);
+
+    final MockManagedOutboundChannel mock = (MockManagedOutboundChannel) channelProvider.channelFor(Id.of(2));
+    assertEquals(Message1, mock.writes.get(0));
+    assertEquals(Message2, mock.writes.get(1));
+    assertEquals(1, pool.available());
+  }
+
+  @Test
+  public void testTimesOutWithoutBuffer() throws Exception {
+    final ApplicationOutboundStream stream = ApplicationOutboundStream.instance(world.stage(), channelProvider, pool, 100);
+
+    final PooledByteBuffer held = pool.access();
+
+    final boolean written = stream.tryBroadcast(RawMessage.from(0, 0, Message1)).await(5_000);
+    assertFalse(written);
+
+    held.release();
+
+    assertTrue(stream.tryBroadcast(RawMessage.from(0, 0, Message2)).await(5_000));
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    world = World.startWithDefaults("test-outbound-stream");
+    pool = new ByteBufferPool(1, 1024);
+    channelProvider = new MockManagedOutboundChannelProvider(Id.of(1), config);
+  }
+
+  @After
+  public void tearDown() {
+    world.terminate();
+  }
+}
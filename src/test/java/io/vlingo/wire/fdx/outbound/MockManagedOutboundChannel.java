@@ -17,6 +17,7 @@ import io.vlingo.wire.node.Id;
 
 public class MockManagedOutboundChannel implements ManagedOutboundChannel {
   public final Id id;
+  public final List<Integer> sequences = new ArrayList<>();
   public final List<String> writes = new ArrayList<>();
   
   public MockManagedOutboundChannel(final Id id) {
@@ -25,12 +26,14 @@ public class MockManagedOutboundChannel implements ManagedOutboundChannel {
 
   @Override
   public void close() {
+    sequences.clear();
     writes.clear();
   }
 
   @Override
   public void write(final ByteBuffer buffer) {
     final RawMessage message = RawMessage.readFromWithHeader(buffer);
+    sequences.add(message.header().sequence());
     writes.add(message.asTextMessage());
   }
 }
@@ -9,6 +9,8 @@ package io.vlingo.wire.fdx.outbound;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 
@@ -20,6 +22,7 @@ import io.vlingo.wire.message.ByteBufferPool;
 import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
 import io.vlingo.wire.message.ConsumerByteBuffer;
 import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageSequencer;
 import io.vlingo.wire.node.Id;
 import io.vlingo.wire.node.Node;
 
@@ -77,6 +80,39 @@ public class OutboundTest extends AbstractMessageTool {
     }
   }
   
+  @Test
+  public void testBroadcastReleasesSharedBufferOnce() throws Exception {
+    final PooledByteBuffer buffer = pool.access();
+    RawMessage.from(0, 0, Message1).asByteBuffer(buffer.asByteBuffer());
+
+    outbound.broadcast(buffer);
+
+    assertFalse(buffer.isInUse());
+    assertEquals(10, pool.available());
+
+    for (final ManagedOutboundChannel channel : channelProvider.allOtherNodeChannels().values()) {
+      assertEquals(Message1, ((MockManagedOutboundChannel) channel).writes.get(0));
+    }
+  }
+
+  @Test
+  public void testBroadcastLargeMessageGathered() throws Exception {
+    final StringBuilder builder = new StringBuilder();
+    while (builder.length() < Outbound.GatheringThreshold) {
+      builder.append(Message1);
+    }
+    final String largeMessage = builder.toString();
+    final RawMessage rawMessage = RawMessage.from(0, 0, largeMessage);
+
+    assertTrue(outbound.isGathered(rawMessage));
+
+    outbound.broadcast(rawMessage);
+
+    for (final ManagedOutboundChannel channel : channelProvider.allOtherNodeChannels().values()) {
+      assertEquals(largeMessage, ((MockManagedOutboundChannel) channel).writes.get(0));
+    }
+  }
+
   @Test
   public void testBroadcastToSelectNodes() throws Exception {
     final RawMessage rawMessage1 = RawMessage.from(0, 0, Message1);
@@ -141,6 +177,28 @@ public class OutboundTest extends AbstractMessageTool {
     assertEquals(Message3, mock.writes.get(2));
   }
   
+  @Test
+  public void testSequencedForEachChannel() throws Exception {
+    final Outbound sequenced = new Outbound(channelProvider, new ByteBufferPool(10, 10_000), new RawMessageSequencer(true));
+    final StringBuilder builder = new StringBuilder();
+    while (builder.length() < Outbound.GatheringThreshold) {
+      builder.append(Message3);
+    }
+    final String largeMessage = builder.toString();
+
+    sequenced.sendTo(RawMessage.from(0, 0, Message1), Id.of(3));
+    sequenced.broadcast(RawMessage.from(0, 0, Message2));
+    sequenced.broadcast(RawMessage.from(0, 0, largeMessage));
+
+    final MockManagedOutboundChannel mock2 = (MockManagedOutboundChannel) channelProvider.channelFor(Id.of(2));
+    final MockManagedOutboundChannel mock3 = (MockManagedOutboundChannel) channelProvider.channelFor(Id.of(3));
+
+    assertEquals(asList(Message2, largeMessage), mock2.writes);
+    assertEquals(asList(1, 2), mock2.sequences);
+    assertEquals(asList(Message1, Message2, largeMessage), mock3.writes);
+    assertEquals(asList(1, 2, 3), mock3.sequences);
+  }
+
   @Before
   public void setUp() throws Exception {
     pool = new ByteBufferPool(10, 1024);
@@ -0,0 +1,54 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.fdx.outbound.rsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.vlingo.wire.message.ByteBufferPool;
+import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
+
+public class ConsumerByteBufsTest {
+  private static final String Text = "Hello, shared buffer";
+
+  @Test
+  public void testWrapHeapBuffer() {
+    assertWrapsAndReleases(new ByteBufferPool(1, 100, false));
+  }
+
+  @Test
+  public void testWrapDirectBuffer() {
+    assertWrapsAndReleases(new ByteBufferPool(1, 100, true));
+  }
+
+  private void assertWrapsAndReleases(final ByteBufferPool pool) {
+    final PooledByteBuffer buffer = pool.access();
+    buffer.put(Text.getBytes(StandardCharsets.UTF_8)).flip();
+
+    final ByteBuf first = ConsumerByteBufs.wrap(buffer.retain());
+    final ByteBuf second = ConsumerByteBufs.wrap(buffer.retain());
+    buffer.release();
+
+    assertEquals(Text, first.toString(StandardCharsets.UTF_8));
+    assertEquals(Text, second.toString(StandardCharsets.UTF_8));
+    assertEquals(0, buffer.position());
+
+    first.release();
+    assertTrue(buffer.isInUse());
+
+    second.release();
+    assertFalse(buffer.isInUse());
+    assertEquals(1, pool.available());
+  }
+}
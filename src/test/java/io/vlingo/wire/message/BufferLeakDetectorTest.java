@@ -0,0 +1,83 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import io.vlingo.actors.Logger;
+import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
+
+public class BufferLeakDetectorTest {
+  @Test
+  public void testReportsLeaksByTag() throws Exception {
+    final ByteBufferPool pool = new ByteBufferPool(4, 100);
+    final BufferLeakDetector detector = pool.detectLeaks(1, 50);
+
+    final PooledByteBuffer leaked1 = pool.accessFor("leaky");
+    final PooledByteBuffer leaked2 = pool.accessFor("leaky");
+    pool.accessFor("released").release();
+
+    assertEquals(2, detector.sampled());
+    assertTrue(detector.leaks().isEmpty());
+
+    Thread.sleep(100);
+
+    assertEquals(2, detector.leaks().size());
+    assertEquals(Collections.singletonMap("leaky", 2), detector.leaksByTag());
+    assertEquals(2, detector.report(Logger.noOpLogger()));
+    assertTrue(detector.leaks().get(0).site.getStackTrace().length > 0);
+
+    leaked1.release();
+    leaked2.release();
+
+    assertTrue(detector.leaks().isEmpty());
+    assertEquals(0, detector.sampled());
+  }
+
+  @Test
+  public void testRetainedBufferNotReleasedUntilLastReference() throws Exception {
+    final ByteBufferPool pool = new ByteBufferPool(1, 100);
+    final BufferLeakDetector detector = pool.detectLeaks(1, 0);
+
+    final PooledByteBuffer buffer = pool.accessFor("shared");
+    buffer.retain();
+    buffer.release();
+
+    Thread.sleep(5);
+    assertEquals(1, detector.leaks().size());
+
+    buffer.release();
+    assertEquals(0, detector.sampled());
+  }
+
+  @Test
+  public void testTieredPoolSharesDetector() {
+    final TieredByteBufferPool pool = new TieredByteBufferPool(1, 4096);
+    final BufferLeakDetector detector = pool.detectLeaks(1, 1000);
+
+    final PooledByteBuffer small = pool.accessFitting("small", 10);
+    final PooledByteBuffer large = pool.accessFitting("large", 4000);
+
+    assertEquals(2, detector.sampled());
+
+    small.release();
+    large.release();
+
+    assertEquals(0, detector.sampled());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSamplingInterval() {
+    new BufferLeakDetector(0, 1000);
+  }
+}
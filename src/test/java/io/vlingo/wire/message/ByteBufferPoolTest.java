@@ -8,11 +8,24 @@
 package io.vlingo.wire.message;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
+import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduler;
+
 import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
 
 public class ByteBufferPoolTest {
@@ -38,6 +51,213 @@ public class ByteBufferPoolTest {
     assertEquals(10, pool.available());
   }
   
+  @Test
+  public void testExhaustedAndReclaimed() {
+    final ByteBufferPool pool = new ByteBufferPool(3, 100);
+
+    final Set<Integer> ids = new HashSet<>();
+    final PooledByteBuffer buffer1 = pool.accessFor("test", 1);
+    ids.add(buffer1.id());
+    ids.add(pool.accessFor("test", 1).id());
+    ids.add(pool.accessFor("test", 1).id());
+
+    assertEquals(3, ids.size());
+    assertEquals(0, pool.available());
+    assertNull(pool.accessFor("test", 10));
+
+    buffer1.release();
+
+    assertEquals(1, pool.available());
+    assertFalse(buffer1.isInUse());
+
+    final PooledByteBuffer reclaimed = pool.accessFor("test", 1);
+    assertNotNull(reclaimed);
+    assertEquals(buffer1.id(), reclaimed.id());
+    assertTrue(reclaimed.isInUse());
+    assertEquals(0, pool.available());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDoubleRelease() {
+    final ByteBufferPool pool = new ByteBufferPool(2, 100);
+
+    final PooledByteBuffer buffer = pool.access();
+    buffer.release();
+    buffer.release();
+  }
+
+  @Test
+  public void testElasticGrowsToMaxSize() {
+    final ByteBufferPool pool = new ByteBufferPool(1, 3, 100);
+
+    assertEquals(1, pool.allocated());
+    assertEquals(3, pool.size());
+    assertEquals(3, pool.maxSize());
+    assertEquals(3, pool.available());
+
+    final PooledByteBuffer buffer1 = pool.accessFor("test", 1);
+    final PooledByteBuffer buffer2 = pool.accessFor("test", 1);
+    final PooledByteBuffer buffer3 = pool.accessFor("test", 1);
+
+    assertNotNull(buffer3);
+    assertEquals(3, pool.allocated());
+    assertEquals(0, pool.available());
+    assertNull(pool.accessFor("test", 10));
+
+    buffer1.release();
+    buffer2.release();
+    buffer3.release();
+
+    assertEquals(3, pool.allocated());
+    assertEquals(3, pool.available());
+  }
+
+  @Test
+  public void testElasticTrimsAfterIdleTimeout() throws Exception {
+    final ByteBufferPool pool = new ByteBufferPool(1, 8, 2, 4, 50, 100, false);
+
+    final List<PooledByteBuffer> buffers = new ArrayList<>();
+    for (int count = 0; count < 8; ++count) {
+      buffers.add(pool.access());
+    }
+    assertEquals(8, pool.allocated());
+
+    for (final PooledByteBuffer buffer : buffers) {
+      buffer.release();
+    }
+
+    // still busy within the idle timeout, so nothing is dropped
+    assertEquals(8, pool.allocated());
+    assertEquals(0, pool.trim());
+
+    Thread.sleep(100);
+
+    assertEquals(6, pool.trim());
+    assertEquals(2, pool.allocated());
+    assertEquals(8, pool.available());
+
+    final PooledByteBuffer regrown = pool.access();
+    assertTrue(regrown.isInUse());
+    regrown.release();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWatermarks() {
+    new ByteBufferPool(1, 4, 3, 2, 1000, 100, false);
+  }
+
+  @Test
+  public void testThreadCacheTakesFromOtherThreads() throws Exception {
+    final ByteBufferPool pool = new ByteBufferPool(4, 100, false, 2);
+
+    // claimed and released on another thread, so all end up in its cache
+    final Thread other = new Thread(() -> {
+      final List<PooledByteBuffer> buffers = new ArrayList<>();
+      for (int count = 0; count < 4; ++count) {
+        buffers.add(pool.accessFor("other", 1));
+      }
+      for (final PooledByteBuffer buffer : buffers) {
+        buffer.release();
+      }
+    });
+    other.start();
+    other.join();
+
+    assertEquals(4, pool.available());
+
+    final Set<Integer> ids = new HashSet<>();
+    for (int count = 0; count < 4; ++count) {
+      ids.add(pool.accessFor("test", 1).id());
+    }
+
+    assertEquals(4, ids.size());
+    assertEquals(0, pool.available());
+    assertNull(pool.accessFor("test", 1));
+  }
+
+  @Test
+  public void testThreadCacheReleasedOnOtherThread() throws Exception {
+    final ByteBufferPool pool = new ByteBufferPool(8, 100, false, 2);
+    final BlockingQueue<PooledByteBuffer> handOff = new ArrayBlockingQueue<>(8);
+    final int total = 200_000;
+
+    final Thread releaser = new Thread(() -> {
+      try {
+        for (int count = 0; count < total; ++count) {
+          handOff.take().release();
+        }
+      } catch (InterruptedException e) {
+        // fall through
+      }
+    });
+    releaser.start();
+
+    for (int count = 0; count < total; ++count) {
+      handOff.put(pool.access());
+    }
+    releaser.join();
+
+    assertEquals(8, pool.available());
+  }
+
+  @Test
+  public void testAccessAsyncHandsOffReleasedBuffer() throws Exception {
+    final Scheduler scheduler = new Scheduler();
+    final ByteBufferPool pool = new ByteBufferPool(1, 100);
+
+    final PooledByteBuffer held = pool.access();
+
+    final Completes<PooledByteBuffer> waiting = pool.accessAsync("async", 10, scheduler, 5_000);
+    assertFalse(waiting.hasOutcome());
+
+    held.release();
+
+    final PooledByteBuffer handedOff = waiting.await(5_000);
+    assertEquals(held.id(), handedOff.id());
+    assertTrue(handedOff.isInUse());
+    assertEquals(0, pool.available());
+
+    final Completes<PooledByteBuffer> timingOut = pool.accessAsync("async", 10, scheduler, 50);
+    assertNull(timingOut.await(5_000));
+
+    handedOff.release();
+
+    assertEquals(1, pool.available());
+    assertNotNull(pool.accessAsync("async", 10, scheduler, 50).await(5_000));
+
+    scheduler.close();
+  }
+
+  @Test
+  public void testRetainedUntilLastRelease() {
+    final ByteBufferPool pool = new ByteBufferPool(1, 100);
+
+    final PooledByteBuffer buffer = pool.access();
+    buffer.retain().retain();
+
+    assertEquals(3, buffer.references());
+
+    buffer.release();
+    buffer.release();
+
+    assertTrue(buffer.isInUse());
+    assertEquals(0, pool.available());
+
+    buffer.release();
+
+    assertFalse(buffer.isInUse());
+    assertEquals(1, pool.available());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRetainUnclaimed() {
+    final ByteBufferPool pool = new ByteBufferPool(1, 100);
+
+    final PooledByteBuffer buffer = pool.access();
+    buffer.release();
+    buffer.retain();
+  }
+
   @Test
   public void testPooledByteBuffer() {
     final String testText = "Hello, PooledByteBuffer";
@@ -53,6 +273,27 @@ public class ByteBufferPoolTest {
     buffer1.release();
   }
   
+  @Test
+  public void testDirectPooledByteBuffer() {
+    final String testText = "Hello, direct PooledByteBuffer";
+
+    final ByteBufferPool pool = new ByteBufferPool(2, 100, true);
+
+    final PooledByteBuffer buffer = pool.access();
+
+    assertTrue(buffer.isDirect());
+    assertFalse(buffer.hasArray());
+
+    buffer.put(testText.getBytes()).flip();
+
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+
+    assertEquals(testText, new String(bytes));
+
+    buffer.release();
+  }
+
   @Test
   public void testAlwaysAccessible() throws Exception {
     final ByteBufferPool pool = new ByteBufferPool(1, 100);
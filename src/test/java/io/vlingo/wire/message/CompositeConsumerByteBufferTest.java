@@ -0,0 +1,112 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.Pipe;
+
+import org.junit.Test;
+
+import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
+
+public class CompositeConsumerByteBufferTest {
+  private static final String Text = "Gathered from the header and its body";
+
+  @Test
+  public void testGatheringWriteOfRawMessage() throws Exception {
+    final RawMessage message = RawMessage.from(1, 2, Text);
+    final CompositeConsumerByteBuffer composite = message.asCompositeByteBuffer();
+
+    assertEquals(2, composite.segmentCount());
+    assertEquals(message.totalLength(), composite.remaining());
+
+    final Pipe pipe = Pipe.open();
+    final ByteBuffer[] segments = composite.asByteBuffers();
+    long remaining = composite.remaining();
+    while (remaining > 0) {
+      remaining -= pipe.sink().write(segments);
+    }
+
+    final ByteBuffer received = ByteBufferAllocator.allocate(message.totalLength());
+    while (received.hasRemaining()) {
+      pipe.source().read(received);
+    }
+    received.flip();
+
+    assertEquals(Text, RawMessage.readFromWithHeader(received).asTextMessage());
+
+    // the views were consumed, but not the composite
+    assertEquals(message.totalLength(), composite.remaining());
+
+    pipe.sink().close();
+    pipe.source().close();
+  }
+
+  @Test
+  public void testFlattenedForNonGatheringConsumers() {
+    final RawMessage message = RawMessage.from(1, 2, Text);
+    final CompositeConsumerByteBuffer composite = message.asCompositeByteBuffer();
+
+    final RawMessage copy = RawMessage.readFromWithHeader(composite.asByteBuffer());
+
+    assertEquals(Text, copy.asTextMessage());
+    assertEquals(1, copy.header().nodeId());
+    assertEquals(2, copy.header().type());
+    assertSame(composite.asByteBuffer(), composite.asByteBuffer());
+  }
+
+  @Test
+  public void testGatheredByLengthOfLargerArray() {
+    final RawMessage message = new RawMessagePool(1, 1000).access().from(RawMessage.from(1, 2, Text));
+    final CompositeConsumerByteBuffer composite = message.asCompositeByteBuffer();
+
+    assertEquals(message.totalLength(), composite.remaining());
+
+    final ByteBuffer gathered = ByteBufferAllocator.allocate(1000);
+    for (final ByteBuffer segment : composite.asByteBuffers()) {
+      gathered.put(segment);
+    }
+    gathered.flip();
+
+    assertEquals(message.totalLength(), gathered.remaining());
+    assertEquals(Text, RawMessage.readFromWithHeader(gathered).asTextMessage());
+  }
+
+  @Test
+  public void testReleasesPartsOnLastRelease() {
+    final ByteBufferPool pool = new ByteBufferPool(2, 100);
+    final PooledByteBuffer header = pool.access();
+    final PooledByteBuffer body = pool.access();
+    header.put((byte) 1).flip();
+    body.put((byte) 2).flip();
+
+    final CompositeConsumerByteBuffer composite = CompositeConsumerByteBuffer.of(header, body);
+    composite.retain();
+
+    assertEquals(2, composite.remaining());
+
+    composite.release();
+    assertTrue(header.isInUse());
+
+    composite.release();
+    assertFalse(header.isInUse());
+    assertFalse(body.isInUse());
+    assertEquals(2, pool.available());
+  }
+
+  @Test(expected = ReadOnlyBufferException.class)
+  public void testReadOnly() {
+    RawMessage.from(1, 2, Text).asCompositeByteBuffer().put((byte) 0);
+  }
+}
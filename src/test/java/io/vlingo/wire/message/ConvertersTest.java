@@ -0,0 +1,104 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ConvertersTest {
+  private static final String Ascii = "DIR:PUB:node1:localhost:37371";
+  private static final String Mixed = "café €10 😀 done";
+
+  @Test
+  public void testEncodedLength() {
+    assertEquals(Converters.textToBytes(Ascii).length, Converters.encodedLength(Ascii));
+    assertEquals(Converters.textToBytes(Mixed).length, Converters.encodedLength(Mixed));
+  }
+
+  @Test
+  public void testUnpairedSurrogate() {
+    final String unpaired = "a\uD800b";
+
+    assertEquals(Converters.textToBytes(unpaired).length, Converters.encodedLength(unpaired));
+    assertEquals(Converters.textToBytes("a\uDC00b").length, Converters.encodedLength("a\uDC00b"));
+
+    final RawMessage message = RawMessage.from(1, 2, new StringBuilder(unpaired));
+
+    assertEquals(message.length(), message.header().length());
+    assertArrayEquals(Converters.textToBytes(unpaired), Arrays.copyOf(message.asBinaryMessage(), message.length()));
+  }
+
+  @Test
+  public void testTextDecodedInChunks() {
+    final StringBuilder builder = new StringBuilder();
+    for (int idx = 0; idx < 1000; ++idx) {
+      builder.append(Mixed);
+    }
+    final String large = builder.toString();
+    final byte[] bytes = Converters.textToBytes(large);
+
+    // many more chars than those decoded at once, with pairs split across chunks
+    assertEquals(large, Converters.bytesToText(bytes, 0, bytes.length, new StringBuilder()).toString());
+  }
+
+  @Test
+  public void testTextToBytesInPlace() {
+    final byte[] bytes = new byte[100];
+
+    final int asciiLength = Converters.textToBytes(Ascii, bytes, 0);
+    final int mixedLength = Converters.textToBytes(Mixed, bytes, asciiLength);
+
+    assertArrayEquals(Converters.textToBytes(Ascii + Mixed), Arrays.copyOf(bytes, asciiLength + mixedLength));
+  }
+
+  @Test
+  public void testTextToBytesDirectBuffer() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocateDirect(100);
+    buffer.put((byte) 1);
+
+    final int length = Converters.textToBytes(Mixed, buffer);
+
+    assertEquals(1 + length, buffer.position());
+
+    final StringBuilder text = new StringBuilder();
+    assertEquals(Mixed, Converters.bytesToText(buffer, 1, length, text).toString());
+    assertEquals(1 + length, buffer.position());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTextDoesNotFit() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    buffer.limit(10);
+
+    Converters.textToBytes(Mixed, buffer);
+  }
+
+  @Test
+  public void testTextMessageReused() {
+    final StringBuilder text = new StringBuilder();
+
+    final RawMessage ascii = RawMessage.from(1, 2, new StringBuilder(Ascii));
+    assertSame(text, ascii.asTextMessage(text));
+    assertEquals(Ascii, text.toString());
+
+    final RawMessage mixed = RawMessage.from(1, 2, Mixed);
+    assertEquals(Converters.textToBytes(Mixed).length, mixed.length());
+    assertEquals(Mixed, mixed.asTextMessage(text).toString());
+
+    final RawMessage reused = new RawMessage(100);
+    reused.appendText(Ascii);
+    reused.appendText(Mixed);
+    assertEquals(Ascii + Mixed, reused.asTextMessage(text).toString());
+  }
+}
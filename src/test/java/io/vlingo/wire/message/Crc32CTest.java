@@ -0,0 +1,42 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class Crc32CTest {
+  private static final byte[] Check = Converters.textToBytes("123456789");
+  private static final int CheckValue = 0xE3069283;
+
+  @Test
+  public void testChecksum() {
+    assertEquals(CheckValue, Crc32C.of(Check, 0, Check.length));
+  }
+
+  @Test
+  public void testTableDrivenChecksum() {
+    final Crc32C checksum = new Crc32C();
+    checksum.update(Check, 0, 4);
+    checksum.update(Check, 4, Check.length - 4);
+
+    assertEquals(CheckValue, (int) checksum.getValue());
+  }
+
+  @Test
+  public void testDirectBufferChecksum() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocateDirect(2000);
+    buffer.position(1000);
+    buffer.put(Check);
+
+    assertEquals(CheckValue, Crc32C.of(buffer, 1000, Check.length));
+  }
+}
@@ -0,0 +1,105 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.vlingo.wire.node.Address;
+import io.vlingo.wire.node.AddressType;
+import io.vlingo.wire.node.Host;
+import io.vlingo.wire.node.Id;
+import io.vlingo.wire.node.Name;
+import io.vlingo.wire.node.Node;
+
+public class MessagePartsBuilderTest {
+  private static final String Record1 = "id=1 nm=node1 op=localhost:37371 app=localhost:37372";
+  private static final String Record2 = "id=2 nm=node2 op=localhost:37381 app=localhost:37382";
+  private static final String Directory = "DIR\n" + Record1 + "\n" + Record1 + "\n" + Record2 + "\n";
+
+  @Test
+  public void testNodeFromRecord() {
+    final Node node = MessagePartsBuilder.nodeFromRecord("  " + Record1 + " ");
+
+    assertEquals(Id.of(1), node.id());
+    assertEquals(new Name("node1"), node.name());
+    assertEquals(Host.of("localhost"), node.operationalAddress().host());
+    assertEquals(37371, node.operationalAddress().port());
+    assertEquals(AddressType.OP, node.operationalAddress().type());
+    assertEquals(37372, node.applicationAddress().port());
+    assertEquals(AddressType.APP, node.applicationAddress().type());
+  }
+
+  @Test
+  public void testNodeFromRecordMissingParts() {
+    final Node node = MessagePartsBuilder.nodeFromRecord("id=3 nm=node3");
+
+    assertEquals(Id.of(3), node.id());
+    assertSame(Address.NO_NODE_ADDRESS, node.operationalAddress());
+    assertTrue(node.hasMissingPart());
+    assertSame(Node.NO_NODE, MessagePartsBuilder.nodeFrom("DIR\n"));
+  }
+
+  @Test
+  public void testNodesFromTextAndBytesInterned() {
+    final Set<Node> fromText = MessagePartsBuilder.nodesFrom(Directory);
+    final Set<Node> fromBytes = MessagePartsBuilder.nodesFrom(RawMessage.from(1, 0, Directory));
+
+    assertEquals(2, fromText.size());
+    assertEquals(fromText, fromBytes);
+
+    final Node node = MessagePartsBuilder.nodeFrom(Directory);
+    assertSame(node, MessagePartsBuilder.nodeFrom(RawMessage.from(1, 0, Directory)));
+    assertSame(node, MessagePartsBuilder.nodeFromRecord(Record1));
+    assertEquals(Id.of(1), node.id());
+  }
+
+  @Test
+  public void testNodeFromNonAsciiRecord() {
+    final String record = "id=4 nm=nœud4 op=hôte:1 app=hôte:2";
+
+    final Node node = MessagePartsBuilder.nodeFrom(RawMessage.from(1, 0, "DIR\n" + record));
+
+    assertEquals(new Name("nœud4"), node.name());
+    assertEquals(Host.of("hôte"), node.applicationAddress().host());
+    assertSame(node, MessagePartsBuilder.nodeFromRecord(record));
+  }
+
+  @Test
+  public void testBinaryNodesMessage() {
+    final Node node = MessagePartsBuilder.nodeFromRecord(Record1);
+    final Node other = MessagePartsBuilder.nodeFromRecord(Record2);
+    final Node incomplete = new Node(Id.of(5), new Name("node5"), Address.NO_NODE_ADDRESS, Address.NO_NODE_ADDRESS);
+
+    final RawMessage binary = MessagePartsBuilder.binaryNodesMessage(1, node, Arrays.asList(other, incomplete));
+
+    assertEquals(MessagePartsBuilder.BinaryNodesType, binary.header().type());
+    assertTrue(binary.length() < Directory.length());
+
+    final Node decoded = MessagePartsBuilder.nodeFrom(binary);
+    assertEquals(node, decoded);
+    assertEquals(node.operationalAddress().port(), decoded.operationalAddress().port());
+    assertEquals(node.applicationAddress().port(), decoded.applicationAddress().port());
+    assertSame(decoded, MessagePartsBuilder.nodeFrom(RawMessage.copy(binary)));
+
+    final Set<Node> nodes = MessagePartsBuilder.nodesFrom(binary);
+    assertEquals(new HashSet<>(Arrays.asList(other, incomplete)), nodes);
+    for (final Node each : nodes) {
+      if (each.id().equals(Id.of(5))) {
+        assertSame(Address.NO_NODE_ADDRESS, each.applicationAddress());
+      }
+    }
+  }
+}
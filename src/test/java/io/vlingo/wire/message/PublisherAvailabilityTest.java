@@ -47,4 +47,26 @@ public class PublisherAvailabilityTest {
     assertEquals(Address.from(Host.of("1.2.3.4"), 111, AddressType.MAIN), publisherAvailability.toAddress());
     assertEquals(Address.from(Host.of("1.2.3.4"), 111, AddressType.OP), publisherAvailability.toAddress(AddressType.OP));
   }
+
+  @Test
+  public void testBinaryMessage() {
+    final PublisherAvailability publisherAvailability =
+            new PublisherAvailability("test-dir", "1.2.3.4", 111);
+
+    final RawMessage binary = publisherAvailability.toBinaryMessage(1);
+
+    assertEquals(PublisherAvailability.BinaryType, binary.header().type());
+    assertTrue(binary.length() < textMessage.length());
+    assertEquals(publisherAvailability, PublisherAvailability.from(binary));
+    assertEquals(publisherAvailability, PublisherAvailability.from(RawMessage.from(1, 0, textMessage)));
+  }
+
+  @Test
+  public void testTruncatedBinaryMessageInvalid() {
+    final RawMessage binary = new PublisherAvailability("test-dir", "1.2.3.4", 111).toBinaryMessage(1);
+    final RawMessage truncated = new RawMessage(RawMessageHeader.from(1, PublisherAvailability.BinaryType, 10), 10);
+    truncated.append(binary.asBinaryMessage(), 0, 10);
+
+    assertFalse(PublisherAvailability.from(truncated).isValid());
+  }
 }
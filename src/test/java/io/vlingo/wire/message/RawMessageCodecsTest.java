@@ -0,0 +1,125 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class RawMessageCodecsTest {
+  private static final short PointType = 7;
+  private static final short HighType = (short) 0xFFFE;
+
+  private final PointCodec codec = new PointCodec();
+  private final RawMessageCodecs codecs = new RawMessageCodecs().register(PointType, codec);
+
+  @Test
+  public void testRegistered() {
+    codecs.register(HighType, codec);
+
+    assertSame(codec, codecs.codecFor(PointType));
+    assertSame(codec, codecs.codecFor(HighType));
+    assertTrue(codecs.isRegistered(HighType));
+    assertFalse(codecs.isRegistered((short) 8));
+    assertNull(codecs.codecFor((short) 8));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRegisteredTwice() {
+    codecs.register(PointType, codec);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnregisteredType() {
+    codecs.toRawMessage(1, (short) 8, new Point(1, 2, "p"));
+  }
+
+  @Test
+  public void testEncodePooledDecodeView() {
+    final ByteBufferPool pool = new ByteBufferPool(1, 100);
+    final Point point = new Point(3, -4, "pointé");
+
+    final ConsumerByteBuffer buffer = codecs.encode(1, PointType, point, pool);
+    final RawMessageView view = RawMessageView.wrap(buffer.asByteBuffer(), 0);
+
+    assertEquals(PointType, view.type());
+    assertEquals(1, view.nodeId());
+    assertEquals(buffer.limit(), view.totalLength());
+    assertEquals(point, codecs.decode(view));
+
+    buffer.release();
+  }
+
+  @Test
+  public void testEncodeBufferDecodeMessage() {
+    final Point point = new Point(5, 6, "point");
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    buffer.put((byte) 0);
+
+    final int length = codecs.encode(2, PointType, point, buffer);
+
+    assertEquals(1 + length, buffer.position());
+    assertEquals(point, codecs.decode(RawMessageView.wrap(buffer, 1)));
+
+    final RawMessage message = codecs.toRawMessage(2, PointType, point);
+
+    assertEquals(length, message.totalLength());
+    assertEquals(point, codecs.decode(message));
+  }
+
+  private static class Point {
+    final String label;
+    final int x;
+    final int y;
+
+    Point(final int x, final int y, final String label) {
+      this.x = x;
+      this.y = y;
+      this.label = label;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other == null || other.getClass() != Point.class) {
+        return false;
+      }
+      final Point otherPoint = (Point) other;
+      return x == otherPoint.x && y == otherPoint.y && label.equals(otherPoint.label);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (x + y + label.hashCode());
+    }
+  }
+
+  private static class PointCodec implements RawMessageCodec<Point> {
+    @Override
+    public Point decode(final ByteBuffer buffer, final int offset, final int length) {
+      return new Point(buffer.getInt(offset), buffer.getInt(offset + 4),
+              Converters.bytesToText(buffer, offset + 8, length - 8, new StringBuilder()).toString());
+    }
+
+    @Override
+    public void encode(final Point point, final ByteBuffer buffer) {
+      buffer.putInt(point.x).putInt(point.y);
+      Converters.textToBytes(point.label, buffer);
+    }
+
+    @Override
+    public int encodedLength(final Point point) {
+      return 8 + point.label.length() * 3;
+    }
+  }
+}
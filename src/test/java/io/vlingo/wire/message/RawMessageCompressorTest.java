@@ -0,0 +1,128 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class RawMessageCompressorTest {
+  private final RawMessageCompressor compressor = new RawMessageCompressor(100, 1);
+
+  @Test
+  public void testBelowThresholdUnchanged() {
+    final RawMessage message = RawMessage.from(1, 2, "small");
+
+    assertSame(message, compressor.compress(message));
+    assertFalse(message.header().isVersion2());
+  }
+
+  @Test
+  public void testIncompressibleUnchanged() {
+    final byte[] bytes = new byte[1000];
+    new Random(7).nextBytes(bytes);
+    final RawMessage message = new RawMessage(bytes);
+
+    assertSame(message, compressor.compress(message));
+  }
+
+  @Test
+  public void testCompressDecompress() {
+    final String text = repeated("state-transfer ", 100);
+    final RawMessage compressed = compressor.compress(RawMessage.from(1, 2, text));
+
+    assertTrue(compressed.header().isCompressed());
+    assertTrue(compressed.length() < text.length());
+
+    final RawMessage message = RawMessageCompressor.decompress(compressed, new RawMessage(2000));
+
+    assertFalse(message.header().isCompressed());
+    assertEquals(RawMessageHeader.from(1, 2, text.length()), message.header());
+    assertEquals(text, message.asTextMessage());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOversizedUncompressedLengthRejected() {
+    compressedView((byte) 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0).toRawMessage();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeUncompressedLengthRejected() {
+    compressedView((byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0).toRawMessage();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCompressedShorterThanLengthPrefixRejected() {
+    compressedView((byte) 0, (byte) 1).uncompressedLength();
+  }
+
+  @Test
+  public void testViewDecompressesIntoPooledMessage() {
+    final String text = repeated("state-transfer ", 100);
+    final RawMessageSequencer sequencer = new RawMessageSequencer(true);
+    final ByteBuffer buffer = ByteBufferAllocator.allocateDirect(2000);
+    sequencer.stamp(compressor.compress(RawMessage.from(1, 2, text))).copyBytesTo(buffer);
+    buffer.flip();
+
+    final RawMessageView view = RawMessageView.wrap(buffer, 0);
+
+    assertTrue(view.isCompressed());
+    assertTrue(view.isChecksumValid());
+    assertEquals(text.length(), view.uncompressedLength());
+    assertEquals(text, view.asTextMessage());
+
+    final RawMessagePool pool = new RawMessagePool(1, 2000);
+    try (final RawMessage message = view.copyTo(pool.access())) {
+      assertEquals(1, message.header().sequence());
+      assertTrue(message.isChecksumValid());
+      assertEquals(text, message.asTextMessage());
+    }
+  }
+
+  @Test
+  public void testBuilderDecompressesSpanningMessage() {
+    final String text = repeated("state-transfer ", 100);
+    final ByteBuffer compressed = compressor.compress(RawMessage.from(1, 2, text)).asByteBuffer();
+    final RawMessageBuilder builder = new RawMessageBuilder(2000);
+
+    compressed.limit(30);
+    builder.workBuffer().put(compressed);
+    builder.prepareContent().sync();
+
+    compressed.limit(compressed.capacity());
+    builder.workBuffer().put(compressed);
+    builder.prepareContent().sync();
+
+    assertTrue(builder.isCurrentMessageComplete());
+    assertTrue(builder.currentRawMessage().header().isCompressed());
+    assertEquals(text, builder.currentDecompressedMessage().asTextMessage());
+  }
+
+  private String repeated(final String text, final int times) {
+    final StringBuilder builder = new StringBuilder();
+    for (int count = 0; count < times; ++count) {
+      builder.append(text);
+    }
+    return builder.toString();
+  }
+
+  private RawMessageView compressedView(final byte... bytes) {
+    final RawMessage message = new RawMessage(bytes);
+    message.header().version2(RawMessageHeader.FLAG_COMPRESSED, 0).setAll((short) 1, (short) 2, bytes.length);
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    message.copyBytesTo(buffer);
+    buffer.flip();
+    return RawMessageView.wrap(buffer, 0);
+  }
+}
@@ -0,0 +1,145 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RawMessageFragmenterTest {
+  private final RawMessageFragmenter fragmenter = new RawMessageFragmenter(100);
+
+  @Test
+  public void testFragmentMessages() {
+    final RawMessage message = RawMessage.from(1, 2, text(250));
+
+    assertTrue(fragmenter.isFragmented(message.totalLength()));
+
+    final List<RawMessage> fragments = fragmenter.fragmentMessages(message, null);
+
+    assertEquals(4, fragments.size());
+    for (int index = 0; index < fragments.size(); ++index) {
+      final RawMessageHeader header = fragments.get(index).header();
+      assertTrue(header.isFragment());
+      assertTrue(fragments.get(index).totalLength() <= 100);
+      assertEquals(index == 0, (header.flags() & RawMessageHeader.FLAG_FIRST_FRAGMENT) != 0);
+      assertEquals(index == 3, (header.flags() & RawMessageHeader.FLAG_LAST_FRAGMENT) != 0);
+    }
+
+    final RawMessageReassembler reassembler = new RawMessageReassembler();
+    for (int index = 0; index < 3; ++index) {
+      assertNull(reassembler.reassemble(fragments.get(index)));
+      assertTrue(reassembler.isReassembling());
+    }
+
+    final RawMessage reassembled = reassembler.reassemble(fragments.get(3));
+
+    assertNotNull(reassembled);
+    assertFalse(reassembler.isReassembling());
+    assertFalse(reassembled.header().isFragment());
+    assertEquals(1, reassembled.header().nodeId());
+    assertEquals(2, reassembled.header().type());
+    assertEquals(message.asTextMessage(), reassembled.asTextMessage());
+  }
+
+  @Test
+  public void testFragmentCompositeOfChecksummedViews() {
+    final RawMessage message = RawMessage.from(1, 2, text(250));
+    final RawMessageSequencer sequencer = new RawMessageSequencer(true);
+
+    final ByteBuffer bytes = ByteBufferAllocator.allocate(1000);
+    for (final ByteBuffer segment : fragmenter.fragment(message, sequencer).asByteBuffers()) {
+      bytes.put(segment);
+    }
+    bytes.flip();
+
+    final RawMessageReassembler reassembler = new RawMessageReassembler();
+    RawMessage reassembled = null;
+    while (bytes.hasRemaining()) {
+      final RawMessageView view = RawMessageView.wrap(bytes, bytes.position());
+      assertTrue(view.isFragment());
+      assertTrue(view.isChecksumValid());
+      reassembled = reassembler.reassemble(view);
+      bytes.position(bytes.position() + view.totalLength());
+    }
+
+    assertEquals(4, sequencer.sequence());
+    assertNotNull(reassembled);
+    assertEquals(message.asTextMessage(), reassembled.asTextMessage());
+  }
+
+  @Test
+  public void testCompressedFragmentsDecompressed() {
+    final RawMessage message = RawMessage.from(1, 2, repeated(5000));
+    final RawMessage compressed = new RawMessageCompressor(100, 1).compress(message);
+    final RawMessageFragmenter smallFragmenter = new RawMessageFragmenter(30);
+
+    assertTrue(compressed.header().isCompressed());
+
+    final RawMessageReassembler reassembler = new RawMessageReassembler();
+    RawMessage reassembled = null;
+    for (final RawMessage fragment : smallFragmenter.fragmentMessages(compressed, null)) {
+      reassembled = reassembler.reassemble(fragment);
+    }
+
+    assertNotNull(reassembled);
+    assertFalse(reassembled.header().isCompressed());
+    assertEquals(message.asTextMessage(), reassembled.asTextMessage());
+  }
+
+  @Test
+  public void testLostFragmentAbandonsMessage() {
+    final List<RawMessage> fragments = fragmenter.fragmentMessages(RawMessage.from(1, 2, text(250)), null);
+    final RawMessageReassembler reassembler = new RawMessageReassembler();
+
+    assertNull(reassembler.reassemble(fragments.get(0)));
+    assertNull(reassembler.reassemble(fragments.get(2)));
+    assertFalse(reassembler.isReassembling());
+    assertNull(reassembler.reassemble(fragments.get(3)));
+
+    final RawMessage next = RawMessage.from(1, 2, text(150));
+    RawMessage reassembled = null;
+    for (final RawMessage fragment : fragmenter.fragmentMessages(next, null)) {
+      reassembled = reassembler.reassemble(fragment);
+    }
+
+    assertEquals(next.asTextMessage(), reassembled.asTextMessage());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testReassembledBoundExceeded() {
+    final RawMessageReassembler reassembler = new RawMessageReassembler(200);
+
+    for (final RawMessage fragment : fragmenter.fragmentMessages(RawMessage.from(1, 2, text(250)), null)) {
+      reassembler.reassemble(fragment);
+    }
+  }
+
+  private String repeated(final int length) {
+    final StringBuilder builder = new StringBuilder(length);
+    while (builder.length() < length) {
+      builder.append("fragment ");
+    }
+    return builder.substring(0, length);
+  }
+
+  private String text(final int length) {
+    final StringBuilder builder = new StringBuilder(length);
+    for (int index = 0; index < length; ++index) {
+      builder.append((char) ('a' + index % 26));
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,88 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import io.vlingo.wire.message.RawMessagePool.PooledRawMessage;
+
+public class RawMessagePoolTest {
+  @Test
+  public void testLeaseAndClose() {
+    final RawMessagePool pool = new RawMessagePool(2, 100);
+
+    assertEquals(2, pool.available());
+
+    final PooledRawMessage message1 = pool.access();
+    final PooledRawMessage message2 = pool.access();
+
+    assertTrue(message1.isInUse());
+    assertEquals(0, pool.available());
+    assertNull(pool.access());
+
+    message1.close();
+
+    assertFalse(message1.isInUse());
+    assertEquals(1, pool.available());
+    assertSame(message1, pool.access());
+
+    message1.close();
+    message2.close();
+
+    assertEquals(2, pool.available());
+  }
+
+  @Test
+  public void testRecycledContent() {
+    final RawMessagePool pool = new RawMessagePool(1, 100);
+
+    try (final RawMessage message = pool.access().from(RawMessage.from(1, 2, "Hello, pool"))) {
+      assertEquals(RawMessageHeader.from(1, 2, 11), message.header());
+      assertEquals("Hello, pool", message.asTextMessage());
+    }
+
+    try (final RawMessage message = pool.access().from(RawMessage.from(3, 4, "Bye"))) {
+      assertEquals(RawMessageHeader.from(3, 4, 3), message.header());
+      assertEquals("Bye", message.asTextMessage());
+    }
+
+    assertEquals(1, pool.available());
+  }
+
+  @Test
+  public void testLeasedWrittenByLength() {
+    final RawMessagePool pool = new RawMessagePool(1, 100);
+
+    try (final RawMessage message = pool.access().from(RawMessage.from(1, 2, "Hello, pool"))) {
+      final ByteBuffer bytes = message.asByteBuffer();
+
+      assertEquals(message.totalLength(), bytes.remaining());
+      assertEquals("Hello, pool", RawMessage.readFromWithHeader(bytes).asTextMessage());
+
+      final ByteBuffer exact = ByteBufferAllocator.allocate(message.totalLength());
+      message.copyBytesTo(exact);
+
+      assertFalse(exact.hasRemaining());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCloseUnleased() {
+    final PooledRawMessage message = new RawMessagePool(1, 100).access();
+    message.close();
+    message.close();
+  }
+}
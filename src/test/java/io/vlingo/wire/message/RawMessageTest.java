@@ -0,0 +1,110 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class RawMessageTest {
+  private final String text = "Hello, RawMessage";
+
+  @Test
+  public void testPutFromDirectBuffer() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocateDirect(100);
+    buffer.put(Converters.textToBytes(text));
+
+    final RawMessage message = new RawMessage(100);
+    message.put(buffer);
+
+    assertEquals(text, message.asTextMessage());
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void testReadFromWithHeaderDirectBuffer() {
+    final RawMessage original = RawMessage.from(1, 2, text);
+
+    final ByteBuffer buffer = ByteBufferAllocator.allocateDirect(100);
+    original.asByteBuffer(buffer);
+
+    final RawMessage message = RawMessage.readFromWithHeader(buffer);
+
+    assertEquals(original.header(), message.header());
+    assertEquals(text, message.asTextMessage());
+  }
+
+  @Test
+  public void testBuildFromDirectWorkBuffer() {
+    final RawMessageBuilder builder = new RawMessageBuilder(100, true);
+
+    assertTrue(builder.workBuffer().isDirect());
+
+    RawMessage.from(1, 2, text).copyBytesTo(builder.workBuffer());
+
+    builder.prepareContent().sync();
+
+    assertTrue(builder.isCurrentMessageComplete());
+    assertEquals(text, builder.currentRawMessage().asTextMessage());
+  }
+
+  @Test
+  public void testVersion2RoundTrip() {
+    final RawMessageSequencer sequencer = new RawMessageSequencer(true);
+    final RawMessage original = sequencer.stamp(RawMessage.from(1, 2, text));
+    sequencer.stamp(original);
+
+    assertEquals(RawMessageHeader.BYTES_V2 + text.length(), original.totalLength());
+
+    final RawMessageBuilder builder = new RawMessageBuilder(100);
+    original.copyBytesTo(builder.workBuffer());
+    builder.prepareContent().sync();
+
+    final RawMessage message = builder.currentRawMessage();
+
+    assertTrue(message.header().isVersion2());
+    assertEquals(2, message.header().sequence());
+    assertTrue(message.header().hasChecksum());
+    assertTrue(message.isChecksumValid());
+    assertEquals(text, message.asTextMessage());
+  }
+
+  @Test
+  public void testVersion2ChecksumMismatch() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    new RawMessageSequencer(true).stamp(RawMessage.from(1, 2, text)).copyBytesTo(buffer);
+    buffer.put(RawMessageHeader.BYTES_V2, (byte) 'J');
+    buffer.flip();
+
+    final RawMessageView view = RawMessageView.wrap(buffer, 0);
+
+    assertEquals(1, view.sequence());
+    assertFalse(view.isChecksumValid());
+    assertFalse(view.toRawMessage().isChecksumValid());
+  }
+
+  @Test
+  public void testVersion2WithoutChecksum() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    final RawMessageSequencer sequencer = new RawMessageSequencer(false);
+    sequencer.stamp(RawMessage.from(1, 2, text)).copyBytesTo(buffer);
+    buffer.flip();
+
+    final RawMessageView view = RawMessageView.wrap(buffer, 0);
+
+    assertTrue(view.isVersion2());
+    assertEquals(0, view.checksum());
+    assertTrue(view.isChecksumValid());
+    assertEquals(text, view.asTextMessage());
+    assertEquals(RawMessage.from(1, 2, text).header(), RawMessageHeader.from(buffer));
+  }
+}
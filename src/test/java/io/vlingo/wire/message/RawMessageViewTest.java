@@ -0,0 +1,146 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class RawMessageViewTest {
+  private final String text1 = "Hello, RawMessageView";
+  private final String text2 = "Goodbye, RawMessageView";
+
+  @Test
+  public void testViewInPlace() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    buffer.position(7);
+    RawMessage.from(1, 2, text1).copyBytesTo(buffer);
+    buffer.flip();
+
+    final RawMessageView view = RawMessageView.wrap(buffer, 7);
+
+    assertEquals(1, view.nodeId());
+    assertEquals(2, view.type());
+    assertEquals(text1.length(), view.length());
+    assertEquals(RawMessageHeader.BYTES + text1.length(), view.totalLength());
+    assertEquals(text1, view.asTextMessage());
+    assertTrue(view.asByteBuffer().isReadOnly());
+    assertEquals(text1.length(), view.asByteBuffer().remaining());
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void testViewDirectBuffer() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocateDirect(100);
+    RawMessage.from(3, 4, text1).copyBytesTo(buffer);
+    buffer.flip();
+
+    final RawMessageView view = RawMessageView.wrap(buffer, 0);
+
+    assertEquals(RawMessageHeader.from(3, 4, text1.length()), view.header());
+    assertEquals(text1, view.asTextMessage());
+  }
+
+  @Test
+  public void testToRawMessageOwnsCopy() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    RawMessage.from(1, 2, text1).copyBytesTo(buffer);
+    buffer.flip();
+
+    final RawMessage owned = RawMessageView.wrap(buffer, 0).toRawMessage();
+
+    buffer.clear();
+    RawMessage.from(5, 6, text2).copyBytesTo(buffer);
+
+    assertEquals(RawMessageHeader.from(1, 2, text1.length()), owned.header());
+    assertEquals(text1, owned.asTextMessage());
+  }
+
+  @Test
+  public void testIncomplete() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    RawMessage.from(1, 2, text1).copyBytesTo(buffer);
+    buffer.flip();
+    buffer.limit(buffer.limit() - 1);
+
+    assertFalse(RawMessageView.isWhole(buffer, 0));
+    assertFalse(RawMessageView.isWhole(buffer, buffer.limit() - 3));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidHeader() {
+    final ByteBuffer buffer = ByteBufferAllocator.allocate(100);
+    buffer.putShort((short) 1).putShort((short) 2).putShort((short) 3).putInt(0).putShort((short) 0).putShort((short) 0);
+    buffer.flip();
+
+    RawMessageView.wrap(buffer, 0);
+  }
+
+  @Test
+  public void testBuilderViewsWholeMessagesThenSyncs() {
+    final RawMessageBuilder builder = new RawMessageBuilder(200);
+    final ByteBuffer workBuffer = builder.workBuffer();
+    final RawMessage second = RawMessage.from(1, 2, text2);
+
+    RawMessage.from(1, 2, text1).copyBytesTo(workBuffer);
+    second.copyBytesTo(workBuffer);
+    workBuffer.position(workBuffer.position() - 5);
+
+    builder.prepareContent();
+
+    final RawMessageView view = builder.nextView();
+    assertEquals(text1, view.asTextMessage());
+    assertNull(builder.nextView());
+    assertTrue(builder.hasRemainingContent());
+
+    builder.sync();
+    assertFalse(builder.isCurrentMessageComplete());
+    assertNull(builder.nextView());
+
+    final ByteBuffer rest = second.asByteBuffer();
+    rest.position(rest.limit() - 5);
+    workBuffer.put(rest);
+
+    builder.prepareContent().sync();
+
+    assertTrue(builder.isCurrentMessageComplete());
+    assertEquals(text2, builder.currentRawMessage().asTextMessage());
+  }
+
+  @Test
+  public void testBuilderKeepsPartialHeader() {
+    final RawMessageBuilder builder = new RawMessageBuilder(200);
+    final ByteBuffer workBuffer = builder.workBuffer();
+    final ByteBuffer second = RawMessage.from(1, 2, text2).asByteBuffer();
+
+    RawMessage.from(1, 2, text1).copyBytesTo(workBuffer);
+    second.limit(5);
+    workBuffer.put(second);
+
+    builder.prepareContent();
+
+    assertEquals(text1, builder.nextView().asTextMessage());
+    assertNull(builder.nextView());
+
+    builder.sync();
+    assertTrue(builder.hasContent());
+
+    second.limit(second.capacity());
+    workBuffer.put(second);
+
+    builder.prepareContent();
+
+    assertEquals(text2, builder.nextView().asTextMessage());
+    assertFalse(builder.hasRemainingContent());
+  }
+}
@@ -0,0 +1,100 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.wire.message;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduler;
+import io.vlingo.wire.message.ByteBufferPool.PooledByteBuffer;
+
+public class TieredByteBufferPoolTest {
+  @Test
+  public void testStandardSizeClasses() {
+    assertArrayEquals(new int[] { 100 }, TieredByteBufferPool.standardSizeClassesUpTo(100));
+    assertArrayEquals(new int[] { 256, 4096, 10_000 }, TieredByteBufferPool.standardSizeClassesUpTo(10_000));
+    assertArrayEquals(new int[] { 256, 4096, 65536 }, TieredByteBufferPool.standardSizeClassesUpTo(65536));
+  }
+
+  @Test
+  public void testAccessSmallestFitting() {
+    final TieredByteBufferPool pool = new TieredByteBufferPool(2, 10_000);
+
+    assertEquals(3, pool.tierCount());
+    assertEquals(6, pool.size());
+    assertEquals(10_000, pool.maxBufferSize);
+
+    final PooledByteBuffer heartbeat = pool.accessFitting(40);
+    assertEquals(256, heartbeat.capacity());
+
+    final PooledByteBuffer medium = pool.accessFitting(257);
+    assertEquals(4096, medium.capacity());
+
+    final PooledByteBuffer large = pool.access();
+    assertEquals(10_000, large.capacity());
+
+    assertEquals(3, pool.available());
+
+    heartbeat.release();
+    medium.release();
+    large.release();
+
+    assertEquals(6, pool.available());
+  }
+
+  @Test
+  public void testFallsBackToLargerTier() {
+    final TieredByteBufferPool pool = new TieredByteBufferPool(new int[] { 1, 1 }, new int[] { 256, 1024 });
+
+    final PooledByteBuffer small = pool.accessFitting("test", 10, 1);
+    assertEquals(256, small.capacity());
+
+    final PooledByteBuffer fallback = pool.accessFitting("test", 10, 1);
+    assertEquals(1024, fallback.capacity());
+
+    assertNull(pool.accessFitting("test", 10, 1));
+
+    small.release();
+
+    assertEquals(256, pool.accessFitting("test", 10, 1).capacity());
+  }
+
+  @Test
+  public void testAccessAsyncHandedOffByLargerTier() throws Exception {
+    final Scheduler scheduler = new Scheduler();
+    final TieredByteBufferPool pool = new TieredByteBufferPool(new int[] { 1, 1 }, new int[] { 256, 1024 });
+
+    final PooledByteBuffer small = pool.accessFitting("test", 10, 1);
+    final PooledByteBuffer large = pool.accessFitting("test", 10, 1);
+
+    final Completes<PooledByteBuffer> waiting = pool.accessAsync("async", 10, scheduler, 5_000);
+    assertFalse(waiting.hasOutcome());
+
+    large.release();
+
+    final PooledByteBuffer handedOff = waiting.await(5_000);
+    assertEquals(1024, handedOff.capacity());
+
+    // the waiter is no longer queued on the smaller tier
+    small.release();
+    assertEquals(1, pool.tier(0).available());
+
+    handedOff.release();
+    scheduler.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooLarge() {
+    new TieredByteBufferPool(1, 1024).accessFitting(1025);
+  }
+}
@@ -8,11 +8,23 @@
 package io.vlingo.wire.multicast;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import io.vlingo.actors.Logger;
 import io.vlingo.actors.testkit.AccessSafely;
 import io.vlingo.wire.channel.MockChannelReaderConsumer;
+import io.vlingo.wire.message.RawMessage;
+import io.vlingo.wire.message.RawMessageFragmenter;
+import io.vlingo.wire.message.RawMessageHeader;
+import io.vlingo.wire.message.RawMessageSequencer;
+import io.vlingo.wire.message.RawMessageView;
 import org.junit.Test;
 
 public class MulticastTest {
@@ -56,5 +68,168 @@ public class MulticastTest {
     assertEquals( 0, (int)consumerAccess.readFrom( "consumeCount" ));
     assertTrue( ((int)subscriberAccess.readFrom( "consumeCount" )) >= 1 );
   }
+
+  @Test
+  public void testFragmentsReassembledForEachSender() throws Exception {
+    final MulticastSubscriber subscriber =
+            new MulticastSubscriber(
+                    "test-reassembling-subscriber",
+                    new Group("237.37.37.1", 37391),
+                    null,
+                    1024,
+                    10,
+                    2,
+                    Logger.basicLogger());
+
+    final MockChannelReaderConsumer subscriberConsumer = new MockChannelReaderConsumer();
+    final AccessSafely subscriberAccess = subscriberConsumer.afterCompleting(2);
+    subscriber.openFor(subscriberConsumer);
+
+    final InetSocketAddress firstSender = new InetSocketAddress("localhost", 37392);
+    final InetSocketAddress secondSender = new InetSocketAddress("localhost", 37393);
+
+    // each sender numbers its fragments from the same sequence
+    final List<RawMessage> first = new RawMessageFragmenter(64).fragmentMessages(RawMessage.from(1, 0, text("first", 20)), null);
+    final List<RawMessage> second = new RawMessageFragmenter(64).fragmentMessages(RawMessage.from(2, 0, text("second", 20)), null);
+
+    assertTrue(first.size() > 1);
+    assertEquals(first.size(), second.size());
+
+    for (int idx = 0; idx < first.size(); ++idx) {
+      subscriber.dispatch(firstSender, viewOf(first.get(idx)));
+      subscriber.dispatch(secondSender, viewOf(second.get(idx)));
+    }
+
+    assertEquals(text("first", 20), subscriberAccess.readFrom("message", 0));
+    assertEquals(text("second", 20), subscriberAccess.readFrom("message", 1));
+    assertEquals(0, subscriber.reassemblingSenders());
+
+    // beyond the bound, the least recent sender abandons its message
+    final MulticastSubscriber boundedSubscriber =
+            new MulticastSubscriber(
+                    "test-bounded-subscriber",
+                    new Group("237.37.37.1", 37391),
+                    null,
+                    1024,
+                    10,
+                    1,
+                    Logger.basicLogger());
+    boundedSubscriber.openFor(new MockChannelReaderConsumer());
+
+    boundedSubscriber.dispatch(firstSender, viewOf(first.get(0)));
+    boundedSubscriber.dispatch(secondSender, viewOf(second.get(0)));
+
+    assertEquals(1, boundedSubscriber.reassemblingSenders());
+
+    subscriber.close();
+    boundedSubscriber.close();
+  }
+
+  @Test
+  public void testReassembledSizeLimitedByConfiguration() throws Exception {
+    final MulticastSubscriber subscriber =
+            new MulticastSubscriber(
+                    "test-limited-subscriber",
+                    new Group("237.37.37.1", 37391),
+                    null,
+                    64,
+                    10,
+                    2,
+                    4,
+                    Logger.basicLogger());
+
+    final MockChannelReaderConsumer subscriberConsumer = new MockChannelReaderConsumer();
+    final AccessSafely subscriberAccess = subscriberConsumer.afterCompleting(1);
+    subscriber.openFor(subscriberConsumer);
+
+    final InetSocketAddress sender = new InetSocketAddress("localhost", 37392);
+
+    // four datagrams of 64 bytes limit a message to 256 bytes
+    final RawMessageFragmenter fragmenter = new RawMessageFragmenter(64);
+    for (final RawMessage fragment : fragmenter.fragmentMessages(RawMessage.from(1, 0, text("oversized", 30)), null)) {
+      subscriber.dispatch(sender, viewOf(fragment));
+    }
+    assertEquals(0, subscriber.reassemblingSenders());
+
+    for (final RawMessage fragment : fragmenter.fragmentMessages(RawMessage.from(1, 0, text("fits", 20)), null)) {
+      subscriber.dispatch(sender, viewOf(fragment));
+    }
+
+    assertEquals(1, (int) subscriberAccess.readFrom("consumeCount"));
+    assertEquals(text("fits", 20), subscriberAccess.readFrom("message", 0));
+
+    subscriber.close();
+  }
+
+  @Test
+  public void testWholeMessagesConsumedFromReusedMessage() throws Exception {
+    final MulticastSubscriber subscriber =
+            new MulticastSubscriber(
+                    "test-reusing-subscriber",
+                    new Group("237.37.37.1", 37391),
+                    1024,
+                    10,
+                    Logger.basicLogger());
+
+    final List<RawMessage> consumed = new ArrayList<>();
+    final List<String> texts = new ArrayList<>();
+    subscriber.openFor(message -> { consumed.add(message); texts.add(message.asTextMessage()); });
+
+    final InetSocketAddress sender = new InetSocketAddress("localhost", 37392);
+
+    subscriber.dispatch(sender, viewOf(RawMessage.from(1, 0, "first")));
+    subscriber.dispatch(sender, viewOf(RawMessage.from(1, 0, "second")));
+
+    assertEquals(Arrays.asList("first", "second"), texts);
+    assertSame(consumed.get(0), consumed.get(1));
+
+    subscriber.close();
+  }
+
+  @Test
+  public void testInvalidChecksumDropped() throws Exception {
+    final MulticastSubscriber subscriber =
+            new MulticastSubscriber(
+                    "test-checksum-subscriber",
+                    new Group("237.37.37.1", 37391),
+                    1024,
+                    10,
+                    Logger.basicLogger());
+
+    final MockChannelReaderConsumer subscriberConsumer = new MockChannelReaderConsumer();
+    final AccessSafely subscriberAccess = subscriberConsumer.afterCompleting(1);
+    subscriber.openFor(subscriberConsumer);
+
+    final InetSocketAddress sender = new InetSocketAddress("localhost", 37392);
+    final RawMessageSequencer sequencer = new RawMessageSequencer(true);
+
+    final ByteBuffer corrupted = ByteBuffer.allocate(1024);
+    sequencer.stamp(RawMessage.from(1, 0, "corrupted")).copyBytesTo(corrupted);
+    corrupted.flip();
+    corrupted.put(RawMessageHeader.BYTES_V2, (byte) 'C');
+
+    subscriber.dispatch(sender, RawMessageView.wrap(corrupted, 0));
+    subscriber.dispatch(sender, viewOf(sequencer.stamp(RawMessage.from(1, 0, "valid"))));
+
+    assertEquals(1, (int) subscriberAccess.readFrom("consumeCount"));
+    assertEquals("valid", subscriberAccess.readFrom("message", 0));
+
+    subscriber.close();
+  }
+
+  private String text(final String prefix, final int count) {
+    final StringBuilder text = new StringBuilder();
+    for (int idx = 0; idx < count; ++idx) {
+      text.append(prefix).append('-').append(idx);
+    }
+    return text.toString();
+  }
+
+  private RawMessageView viewOf(final RawMessage message) {
+    final ByteBuffer buffer = ByteBuffer.allocate(1024);
+    message.copyBytesTo(buffer);
+    buffer.flip();
+    return RawMessageView.wrap(buffer, 0);
+  }
   
 }